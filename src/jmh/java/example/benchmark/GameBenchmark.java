@@ -0,0 +1,40 @@
+package example.benchmark;
+
+import example.game.Game;
+import example.game.GameListener;
+import example.game.Wall;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 整局層級：全電腦無介面對局、牌數守恆檢查
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    private final Wall wall = new Wall();
+    private long seed;
+    private Game finishedGame;
+
+    @Setup
+    public void setUp() {
+        finishedGame = new Game(Game.computerPlayers(), GameListener.NONE, 99L);
+        finishedGame.startGame();
+    }
+
+    @Benchmark
+    public int headlessComputerGame() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed++, wall);
+        game.startGame();
+        return game.getTurnCount();
+    }
+
+    @Benchmark
+    public List<String> checkTotalTiles() {
+        return finishedGame.checkTotalTiles();
+    }
+}
@@ -0,0 +1,139 @@
+package example.benchmark;
+
+import example.game.Game;
+import example.game.GameListener;
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 手牌相關熱點：胡牌判定、吃碰槓判定、排序
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    private static final int HANDS = 256;   // 輪流使用的手牌數，避免分支預測只學到一手牌
+
+    private Game game;
+    private Player[] winningHands;
+    private Player[] randomHands;
+    private Tile[] claimTiles;
+    private List<Tile>[] unsortedHands;
+    private Player sortTarget;
+    private int cursor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(12345L);
+        game = new Game(Game.computerPlayers(), GameListener.NONE, 1L);
+        winningHands = new Player[HANDS];
+        randomHands = new Player[HANDS];
+        claimTiles = new Tile[HANDS];
+        unsortedHands = new List[HANDS];
+        for (int i = 0; i < HANDS; i++) {
+            winningHands[i] = winningHand(random);
+            randomHands[i] = randomHand(random, 16);
+            claimTiles[i] = TileCatalog.get(random.nextInt(TileCatalog.KIND_COUNT));
+            unsortedHands[i] = List.copyOf(randomHand(random, 17).getHand());
+        }
+        sortTarget = new Player("Sort", false);
+    }
+
+    private Player next(Player[] hands) {
+        cursor = (cursor + 1) & (HANDS - 1);
+        return hands[cursor];
+    }
+
+    @Benchmark
+    public boolean checkWinWinning() {
+        return game.checkWin(next(winningHands));
+    }
+
+    @Benchmark
+    public boolean checkWinRandom() {
+        return game.checkWin(next(randomHands));
+    }
+
+    @Benchmark
+    public Object chiOptions() {
+        Player player = next(randomHands);
+        return player.getChiOptions(claimTiles[cursor]);
+    }
+
+    @Benchmark
+    public Object pongIndices() {
+        Player player = next(randomHands);
+        return player.getPongIndices(claimTiles[cursor]);
+    }
+
+    @Benchmark
+    public Object concealedKongOptions() {
+        return next(randomHands).getConcealedKongOptions();
+    }
+
+    @Benchmark
+    public void sortHand(Blackhole blackhole) {
+        cursor = (cursor + 1) & (HANDS - 1);
+        List<Tile> hand = sortTarget.getHand();
+        hand.clear();
+        hand.addAll(unsortedHands[cursor]);
+        sortTarget.sortHand();
+        blackhole.consume(hand.get(0));
+    }
+
+    // 隨機的 5 組面子 + 1 對將
+    private static Player winningHand(SplittableRandom random) {
+        Player player = new Player("Win", false);
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        int sets = 0;
+        while (sets < 5) {
+            int id = random.nextInt(TileCatalog.KIND_COUNT);
+            if (random.nextBoolean() && TileCatalog.isSuited(id) && id % 9 <= 6) {
+                if (counts[id] < 4 && counts[id + 1] < 4 && counts[id + 2] < 4) {
+                    for (int d = 0; d < 3; d++) {
+                        counts[id + d]++;
+                        player.addTile(TileCatalog.get(id + d));
+                    }
+                    sets++;
+                }
+            } else if (counts[id] <= 1) {
+                counts[id] += 3;
+                for (int d = 0; d < 3; d++) {
+                    player.addTile(TileCatalog.get(id));
+                }
+                sets++;
+            }
+        }
+        while (true) {
+            int id = random.nextInt(TileCatalog.KIND_COUNT);
+            if (counts[id] <= 2) {
+                player.addTile(TileCatalog.get(id));
+                player.addTile(TileCatalog.get(id));
+                player.sortHand();
+                return player;
+            }
+        }
+    }
+
+    private static Player randomHand(SplittableRandom random, int size) {
+        Player player = new Player("Random", false);
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        while (player.getHandSize() < size) {
+            int id = random.nextInt(TileCatalog.KIND_COUNT);
+            if (counts[id] < 4) {
+                counts[id]++;
+                player.addTile(TileCatalog.get(id));
+            }
+        }
+        return player;
+    }
+}
@@ -0,0 +1,102 @@
+package example.game;
+
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+
+// 合法動作產生器：把目前狀態的所有合法動作以 GameAction 編碼寫入呼叫端的 int[]，回傳個數，不配置物件
+//   DISCARDING：當前玩家打出手上每種牌各一個、每組四張相同的牌可以暗槓
+//   RESPONDING：三家依座位順序，各自的胡、槓、碰、吃（每種順子一個），最後一個代表所有人都不要的 PASS
+//              （座位為打牌的人）；沒有人有選項時不列出任何動作
+//   其他狀態沒有需要決定的動作
+// 吃牌的順序與 Player.getChiOptions 相同，第 n 個 CHI 對應人類指令 Cn
+public final class ActionGenerator {
+    public static final int MAX_ACTIONS = 32;  // 17 種打牌 + 4 組暗槓，或三家的胡、槓、碰、三種吃 + 不要
+
+    private ActionGenerator() {
+    }
+
+    public static int generate(Game game, int[] out) {
+        switch (game.getCurrentState()) {
+            case DISCARDING -> {
+                int seat = game.getCurrentPlayerIndex();
+                return turnActions(game.getPlayers()[seat], seat, out, 0);
+            }
+            case RESPONDING -> {
+                Tile tile = game.getLastDiscardedTile();
+                if (tile == null) {
+                    return 0;
+                }
+                int discarder = game.getLastDiscardedByIndex();
+                Player[] players = game.getPlayers();
+                int n = 0;
+                for (int i = 1; i <= 3; i++) {
+                    int seat = (discarder + i) % 4;
+                    n = claimActions(players[seat], seat, tile.getId(), i == 1, out, n);
+                }
+                if (n > 0) {
+                    out[n++] = GameAction.of(GameAction.PASS, discarder, tile.getId());
+                }
+                return n;
+            }
+            default -> {
+                return 0;
+            }
+        }
+    }
+
+    // 當前玩家：打牌（每種牌一個，依手牌順序）與暗槓
+    static int turnActions(Player player, int seat, int[] out, int n) {
+        int[] counts = player.getTileCounts();
+        long seen = 0L;
+        for (int i = 0; i < player.getHand().size(); i++) {
+            int id = player.getHand().get(i).getId();
+            if ((seen >>> id & 1L) == 0) {
+                seen |= 1L << id;
+                out[n++] = GameAction.of(GameAction.DISCARD, seat, id);
+            }
+        }
+        for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+            if (counts[id] == 4) {
+                out[n++] = GameAction.of(GameAction.CONCEALED_KONG, seat, id);
+            }
+        }
+        return n;
+    }
+
+    // 一個座位對別人打出的牌可以做的回應（不含 PASS）
+    static int claimActions(Player player, int seat, int id, boolean nextSeat, int[] out, int n) {
+        int count = player.getTileCount(id);
+        if ((WaitingTiles.of(player) >>> id & 1L) != 0) {
+            out[n++] = GameAction.of(GameAction.WIN, seat, id);
+        }
+        if (count >= 3) {
+            out[n++] = GameAction.of(GameAction.KONG, seat, id);
+        }
+        if (count >= 2) {
+            out[n++] = GameAction.of(GameAction.PONG, seat, id);
+        }
+        if (nextSeat && TileCatalog.isSuited(id)) {
+            int[] counts = player.getTileCounts();
+            int pos = id % TileCatalog.SUIT_SIZE;
+            // 後吃、中吃、前吃
+            for (int first = pos - 2; first <= pos; first++) {
+                if (first >= 0 && first + 2 < TileCatalog.SUIT_SIZE
+                        && hasOthers(counts, id - pos + first, id)) {
+                    out[n++] = GameAction.chi(seat, id, id - pos + first);
+                }
+            }
+        }
+        return n;
+    }
+
+    // 順子 startId..startId+2 除了 claimed 以外的兩張都在手上
+    private static boolean hasOthers(int[] counts, int startId, int claimed) {
+        for (int id = startId; id < startId + 3; id++) {
+            if (id != claimed && counts[id] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package example.game;
+
+// 對別人打出的牌的宣告，priority 越大越優先（胡 > 槓、碰 > 吃）
+public enum ClaimAction {
+    PASS(0),  // 不要
+    CHI(1),   // 吃（只有下家）
+    PONG(2),  // 碰
+    KONG(2),  // 明槓
+    WIN(3);   // 胡
+
+    private final int priority;
+
+    ClaimAction(int priority) {
+        this.priority = priority;
+    }
+
+    public int priority() {
+        return priority;
+    }
+}
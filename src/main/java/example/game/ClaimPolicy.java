@@ -0,0 +1,16 @@
+package example.game;
+
+import example.model.MeldType;
+import example.model.Player;
+import example.model.Tile;
+
+import java.util.SplittableRandom;
+
+// 電腦玩家是否要吃、碰、槓別人打出的牌（能胡時一定胡，不經過策略）
+// 依序詢問槓、碰，最後詢問下家是否吃；吃的組合固定為第一個選項
+public interface ClaimPolicy {
+    // 原本的簡單 AI：總是槓，隨機碰、吃
+    ClaimPolicy RANDOM = (game, player, type, tile, random) -> type == MeldType.KONG || random.nextBoolean();
+
+    boolean shouldClaim(Game game, Player player, MeldType type, Tile tile, SplittableRandom random);
+}
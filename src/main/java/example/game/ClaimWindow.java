@@ -0,0 +1,258 @@
+package example.game;
+
+import example.model.MeldType;
+import example.model.Player;
+import example.model.Tile;
+
+import java.util.List;
+
+// 打牌後的回應窗口：同時收集三家的胡、槓、碰、吃宣告，依優先順序（胡 > 槓碰 > 吃，同級依座位順序）裁決
+// 人類玩家的宣告非同步送達；電腦玩家在裁決需要時才詢問策略，結果快取到窗口關閉
+// 只要還沒回應的人不可能勝過目前最好的宣告就立刻裁決，不必等最慢的玩家
+// 窗口本身不看時鐘：deadline 供排程者在時間到時呼叫 Game.expireClaims
+// 開窗口時只用 ActionGenerator 記下各座位有哪些選項；手牌索引等到執行或顯示時才計算
+public final class ClaimWindow {
+    public static final int UNRESOLVED = -2;  // 還在等人類玩家
+    public static final int NONE = -1;        // 沒有人宣告
+
+    private static final int ASKED = 1;
+    private static final int CLAIMED = 2;
+
+    private final Game game;
+    private boolean open;
+    private int serial;         // 每開一次窗口加一，用來辨認過期的逾時
+    private long deadline;      // System.nanoTime() 的截止時間，0 表示不限時
+    private int discarder;
+    private Tile tile;
+
+    private final boolean[] canWin = new boolean[4];
+    private final boolean[] canKong = new boolean[4];
+    private final boolean[] canPong = new boolean[4];
+    private final int[] chiCount = new int[4];
+    private final int[] actions = new int[ActionGenerator.MAX_ACTIONS];
+    private final boolean[] pending = new boolean[4];        // 人類玩家還沒回應
+    private final ClaimAction[] intents = new ClaimAction[4];
+    private final int[] chiChoice = new int[4];
+    private final int[] computerLevels = new int[4 * 4];     // 電腦玩家每個優先級的決定（ASKED / CLAIMED）
+    private boolean prompted;                                 // 有人類玩家被詢問過
+
+    ClaimWindow(Game game) {
+        this.game = game;
+    }
+
+    // 開啟窗口：計算三家可用的選項，有選項的人類玩家進入等待
+    void open(int discarder, Tile tile, Player[] players, long deadline) {
+        this.open = true;
+        this.serial++;
+        this.discarder = discarder;
+        this.tile = tile;
+        this.prompted = false;
+        for (int seat = 0; seat < 4; seat++) {
+            intents[seat] = ClaimAction.PASS;
+            chiChoice[seat] = -1;
+            pending[seat] = false;
+            for (int level = 0; level < 4; level++) {
+                computerLevels[seat * 4 + level] = 0;
+            }
+            canWin[seat] = false;
+            canKong[seat] = false;
+            canPong[seat] = false;
+            chiCount[seat] = 0;
+            if (seat == discarder) {
+                continue;
+            }
+            Player player = players[seat];
+            int count = ActionGenerator.claimActions(player, seat, tile.getId(),
+                    seat == (discarder + 1) % 4, actions, 0);
+            for (int i = 0; i < count; i++) {
+                switch (GameAction.type(actions[i])) {
+                    case GameAction.WIN -> canWin[seat] = true;
+                    case GameAction.KONG -> canKong[seat] = true;
+                    case GameAction.PONG -> canPong[seat] = true;
+                    case GameAction.CHI -> chiCount[seat]++;
+                    default -> {
+                    }
+                }
+            }
+            if (player.isHuman() && hasOptions(seat)) {
+                pending[seat] = true;
+                prompted = true;
+            }
+        }
+        this.deadline = hasPending() ? deadline : 0;
+    }
+
+    void close() {
+        open = false;
+        tile = null;
+        for (int seat = 0; seat < 4; seat++) {
+            pending[seat] = false;
+        }
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public int getSerial() {
+        return serial;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public Tile getTile() {
+        return tile;
+    }
+
+    public int getDiscarder() {
+        return discarder;
+    }
+
+    public boolean isPending(int seat) {
+        return open && pending[seat];
+    }
+
+    public boolean hasPending() {
+        for (int seat = 0; seat < 4; seat++) {
+            if (isPending(seat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean canWin(int seat) {
+        return canWin[seat];
+    }
+
+    public boolean hasOptions(int seat) {
+        return canWin[seat] || canKong[seat] || canPong[seat] || chiCount[seat] > 0;
+    }
+
+    boolean canKong(int seat) {
+        return canKong[seat];
+    }
+
+    boolean canPong(int seat) {
+        return canPong[seat];
+    }
+
+    int chiCount(int seat) {
+        return chiCount[seat];
+    }
+
+    // 以下在執行或顯示時才計算手牌索引（窗口開著時手牌不會變）
+    List<Integer> kongIndices(int seat) {
+        return game.getPlayers()[seat].getKongIndices(tile);
+    }
+
+    // 碰只拿兩張，手上有三張時留一張
+    List<Integer> pongIndices(int seat) {
+        return game.getPlayers()[seat].getPongIndices(tile).subList(0, 2);
+    }
+
+    List<List<Integer>> chiOptions(int seat) {
+        return game.getPlayers()[seat].getChiOptions(tile);
+    }
+
+    boolean wasPrompted() {
+        return prompted;
+    }
+
+    // 人類玩家的宣告；不可用的動作視為不要。回傳 false 表示這個座位不在等待中
+    boolean submit(int seat, ClaimAction action, int chiOption) {
+        if (!isPending(seat)) {
+            return false;
+        }
+        pending[seat] = false;
+        intents[seat] = isAvailable(seat, action, chiOption) ? action : ClaimAction.PASS;
+        chiChoice[seat] = action == ClaimAction.CHI ? chiOption : -1;
+        return true;
+    }
+
+    // 逾時：還沒回應的人類玩家都視為不要
+    void expire() {
+        for (int seat = 0; seat < 4; seat++) {
+            pending[seat] = false;
+        }
+    }
+
+    // 裁決：回傳得到這張牌的座位、NONE 或 UNRESOLVED
+    int resolve() {
+        for (int level = ClaimAction.WIN.priority(); level > 0; level--) {
+            for (int i = 1; i <= 3; i++) {
+                int seat = (discarder + i) % 4;
+                if (!hasOptionAt(seat, level)) {
+                    continue;
+                }
+                if (game.getPlayers()[seat].isHuman()) {
+                    if (pending[seat]) {
+                        return UNRESOLVED;  // 這個人可能宣告同級或更高的動作
+                    }
+                    if (intents[seat].priority() == level) {
+                        return seat;
+                    }
+                } else if (computerClaims(seat, level)) {
+                    return seat;
+                }
+            }
+        }
+        return NONE;
+    }
+
+    // 得到這張牌的座位要執行的動作
+    ClaimAction action(int seat) {
+        return intents[seat];
+    }
+
+    List<Integer> chiIndices(int seat) {
+        return chiOptions(seat).get(chiChoice[seat]);
+    }
+
+    private boolean isAvailable(int seat, ClaimAction action, int chiOption) {
+        return switch (action) {
+            case PASS -> true;
+            case WIN -> canWin[seat];
+            case KONG -> canKong[seat];
+            case PONG -> canPong[seat];
+            case CHI -> chiOption >= 0 && chiOption < chiCount[seat];
+        };
+    }
+
+    private boolean hasOptionAt(int seat, int level) {
+        if (level == ClaimAction.WIN.priority()) {
+            return canWin[seat];
+        }
+        if (level == ClaimAction.PONG.priority()) {
+            return canKong[seat] || canPong[seat];
+        }
+        return chiCount[seat] > 0;
+    }
+
+    // 電腦玩家：胡牌一定胡，其餘詢問該座位的鳴牌策略（每級只問一次）
+    private boolean computerClaims(int seat, int level) {
+        int index = seat * 4 + level;
+        if (computerLevels[index] == 0) {
+            ClaimAction action = ClaimAction.PASS;
+            if (level == ClaimAction.WIN.priority()) {
+                action = ClaimAction.WIN;
+            } else if (level == ClaimAction.PONG.priority()) {
+                if (canKong[seat] && game.shouldAIClaim(seat, MeldType.KONG)) {
+                    action = ClaimAction.KONG;
+                } else if (canPong[seat] && game.shouldAIClaim(seat, MeldType.PONG)) {
+                    action = ClaimAction.PONG;
+                }
+            } else if (game.shouldAIClaim(seat, MeldType.CHI)) {
+                action = ClaimAction.CHI;
+                chiChoice[seat] = 0;
+            }
+            computerLevels[index] = action == ClaimAction.PASS ? ASKED : CLAIMED;
+            if (action != ClaimAction.PASS) {
+                intents[seat] = action;
+            }
+        }
+        return computerLevels[index] == CLAIMED;
+    }
+}
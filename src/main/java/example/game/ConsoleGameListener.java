@@ -0,0 +1,154 @@
+package example.game;
+
+import example.model.Meld;
+import example.model.Player;
+import example.model.Tile;
+
+import java.io.PrintStream;
+import java.util.List;
+
+// 文字介面：把遊戲事件輸出到主控台
+public class ConsoleGameListener implements GameListener {
+    private final PrintStream out;
+
+    public ConsoleGameListener() {
+        this(System.out);
+    }
+
+    public ConsoleGameListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onGameStarted(Game game) {
+        out.println("Game started!");
+    }
+
+    @Override
+    public void onTurnStarted(Game game, Player player) {
+        out.println("\nCurrent player: " + player.getName());
+
+        // 顯示所有玩家丟棄的牌
+        out.println("\nDiscarded tiles:");
+        for (Player p : game.getPlayers()) {
+            out.println(p.getName() + ": " + p.getDiscarded());
+        }
+
+        // 顯示鳴牌組
+        out.println("\nMelds:");
+        for (Player p : game.getPlayers()) {
+            out.println(p.getName() + ": " + p.getMelds());
+        }
+    }
+
+    @Override
+    public void onConcealedKongOptions(Player player, List<List<Integer>> options) {
+        out.println("Concealed Kong options available:");
+        for (int i = 0; i < options.size(); i++) {
+            List<Integer> indices = options.get(i);
+            out.println(i + ": " + indices.stream()
+                    .map(idx -> player.getHand().get(idx))
+                    .toList());
+        }
+        out.println("Enter K followed by option number to kong, or any other key to skip");
+    }
+
+    @Override
+    public void onDiscardRequested(Player player) {
+        out.println("Your hand: " + player.getHandString());
+        out.println("Your flowers: " + player.getFlowers());
+        out.println("Please select a tile to discard (0-" +
+                (player.getHand().size() - 1) + ")");
+    }
+
+    @Override
+    public void onTileDiscarded(Player player, Tile tile) {
+        if (player.isHuman()) {
+            out.println("You discarded: " + tile);
+        } else {
+            out.println(player.getName() + " discarded: " + tile);
+        }
+    }
+
+    @Override
+    public void onWinAvailable(Player player, Tile tile) {
+        // 顯示當前手牌
+        out.println("\nYour current hand:");
+        out.println(player.getHandString());
+        out.println("\nDiscarded tile: " + tile);
+        out.println("\nYou can win! Enter 'W' to win, or any other key to skip");
+    }
+
+    @Override
+    public void onClaimOptions(Player player, Tile tile, List<String> options) {
+        // 先顯示當前手牌
+        out.println("\nYour current hand:");
+        out.println(player.getHandString());
+        // 顯示打出的牌
+        out.println("\nDiscarded tile: " + tile);
+        // 顯示可用選項
+        out.println("\nAvailable actions:");
+        for (String option : options) {
+            out.println(option);
+        }
+        out.println("\nEnter your choice, or any other key to skip");
+    }
+
+    @Override
+    public void onMeldClaimed(Player player, Meld meld) {
+        String action = switch (meld.getType()) {
+            case CHI -> "chi";
+            case PONG -> "pong";
+            case KONG, CONCEALED_KONG -> "kong";
+        };
+        out.println(player.getName() + " " + action + "!");
+    }
+
+    @Override
+    public void onActionSkipped() {
+        out.println("Action skipped.");
+    }
+
+    @Override
+    public void onInvalidCommand(String message) {
+        out.println(message);
+    }
+
+    @Override
+    public void onWin(Player player, WinType winType) {
+        String how = switch (winType) {
+            case SELF_DRAW -> " wins by self-draw!";
+            case KONG_REPLACEMENT -> " wins after Kong!";
+            case FLOWER_REPLACEMENT -> " wins after drawing flower!";
+            case DISCARD -> " wins!";
+        };
+        out.println(player.getName() + how);
+    }
+
+    @Override
+    public void onGameOver(Game game) {
+        out.println("\n=== Game Over ===");
+        if (game.getEndType() == EndType.WIN) {
+            out.println("Winner: " + game.getWinner().getName());
+            out.println("Score: " + game.getScore().getTotal() + " 台 " + game.getScore().getPoints());
+        } else {
+            out.println("Game ended in a draw (流局)");
+        }
+
+        for (String line : game.checkTotalTiles()) {
+            out.println(line);
+        }
+
+        out.println("\n=== Final State for Each Player ===");
+        for (Player player : game.getPlayers()) {
+            out.println("\n" + player.getName() + ":");
+            out.println("Hand: " + player.getHandString());
+            out.println("Flowers: " + player.getFlowers());
+            out.println("Melds: " + player.getMelds());
+            out.println("Discarded: " + player.getDiscarded());
+        }
+
+        out.println("\nRemaining tiles in wall: " + game.getRemainingTiles());
+        out.println("===============================");
+    }
+}
@@ -0,0 +1,14 @@
+package example.game;
+
+import example.model.Player;
+
+import java.util.SplittableRandom;
+
+// 電腦玩家的打牌策略：回傳要打出的手牌索引
+// random 為該局共用的亂數，策略需要亂數時只能使用它，才能以種子重現整局
+public interface DiscardPolicy {
+    // 隨機打出一張（原本的簡單 AI）
+    DiscardPolicy RANDOM = (game, player, random) -> random.nextInt(player.getHand().size());
+
+    int chooseDiscard(Game game, Player player, SplittableRandom random);
+}
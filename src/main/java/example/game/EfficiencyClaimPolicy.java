@@ -0,0 +1,41 @@
+package example.game;
+
+import example.model.MeldType;
+import example.model.Player;
+import example.model.Tile;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// 牌效鳴牌：鳴牌後的向聽數比不鳴時更小才吃碰，不變差就槓；搭配 EfficiencyDiscardPolicy 使用
+public class EfficiencyClaimPolicy implements ClaimPolicy {
+
+    @Override
+    public boolean shouldClaim(Game game, Player player, MeldType type, Tile tile, SplittableRandom random) {
+        int[] counts = player.getTileCounts().clone();
+        int meldCount = player.getMelds().size();
+        int before = ShantenCalculator.shanten(counts, meldCount);
+
+        int id = tile.getId();
+        switch (type) {
+            case KONG -> counts[id] -= 3;
+            case PONG -> counts[id] -= 2;
+            case CHI -> {
+                List<List<Integer>> options = player.getChiOptions(tile);
+                if (options.isEmpty()) {
+                    return false;
+                }
+                for (int index : options.get(0)) {
+                    counts[player.getHand().get(index).getId()]--;
+                }
+            }
+            default -> {
+                return false;
+            }
+        }
+        int after = ShantenCalculator.shanten(counts, meldCount + 1);
+        // 吃碰後要打一張，張數型態是「摸牌後」，其向聽數等於打出最佳一張後的向聽數，可直接比較；
+        // 槓完還會補一張，不變差就槓
+        return type == MeldType.KONG ? after <= before : after < before;
+    }
+}
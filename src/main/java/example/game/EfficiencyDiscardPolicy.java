@@ -0,0 +1,178 @@
+package example.game;
+
+import example.model.Meld;
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// 牌效打法：打出後向聽數最小的牌；向聽數相同時選進張（能讓向聽數前進的剩餘張數）最多的
+// 剩餘張數扣除自己手牌與所有人看得到的牌（打出的牌、鳴牌）；進張再相同時先打字牌、再打么九牌
+// 試算時只重算變動的那一門，其餘三門的合併結果每個候選牌只算一次；不使用亂數
+public class EfficiencyDiscardPolicy implements DiscardPolicy {
+    private static final int COMPONENTS = ShantenCalculator.HONORS + 1;
+
+    @Override
+    public int chooseDiscard(Game game, Player player, SplittableRandom random) {
+        return indexOf(player, rankDiscards(game, player)[0]);
+    }
+
+    // 打出後向聽數最小的候選牌 ID，依進張數由多到少排序（同分時字牌、么九牌在前）
+    static int[] rankDiscards(Game game, Player player) {
+        int[] counts = player.getTileCounts().clone();
+        int meldCount = player.getMelds().size();
+        int[] live = liveCounts(game, counts);
+
+        long[] components = new long[COMPONENTS];
+        for (int c = 0; c < COMPONENTS; c++) {
+            components[c] = ShantenCalculator.component(counts, c);
+        }
+        long[] rest = new long[COMPONENTS];
+
+        int[] ids = new int[TileCatalog.KIND_COUNT];
+        int[] ukeires = new int[TileCatalog.KIND_COUNT];
+        int size = 0;
+        int bestShanten = Integer.MAX_VALUE;
+        for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+            if (counts[id] == 0) {
+                continue;
+            }
+            int c = ShantenCalculator.componentOf(id);
+            long saved = components[c];
+            counts[id]--;
+            components[c] = ShantenCalculator.component(counts, c);
+            restOf(components, rest);
+            int shanten = ShantenCalculator.finish(
+                    ShantenCalculator.combine(rest[c], components[c]), meldCount);
+            if (shanten <= bestShanten) {
+                if (shanten < bestShanten) {
+                    bestShanten = shanten;
+                    size = 0;
+                }
+                ids[size] = id;
+                ukeires[size] = ukeire(counts, meldCount, shanten, live, rest);
+                // 插入排序：進張多者在前，同分時依打牌順序，再依牌 ID
+                int i = size++;
+                while (i > 0 && isBetter(ids[i], ukeires[i], ids[i - 1], ukeires[i - 1])) {
+                    swap(ids, i, i - 1);
+                    swap(ukeires, i, i - 1);
+                    i--;
+                }
+            }
+            counts[id]++;
+            components[c] = saved;
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    private static boolean isBetter(int id, int ukeire, int otherId, int otherUkeire) {
+        if (ukeire != otherUkeire) {
+            return ukeire > otherUkeire;
+        }
+        if (discardOrder(id) != discardOrder(otherId)) {
+            return discardOrder(id) < discardOrder(otherId);
+        }
+        return id < otherId;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    // 打出後手牌的進張數；rest[c] 為除了第 c 門以外的合併分量
+    private static int ukeire(int[] counts, int meldCount, int shanten, int[] live, long[] rest) {
+        int total = 0;
+        for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+            if (live[id] == 0 || !isConnected(counts, id)) {
+                continue;
+            }
+            int c = ShantenCalculator.componentOf(id);
+            counts[id]++;
+            long combined = ShantenCalculator.combine(rest[c], ShantenCalculator.component(counts, c));
+            if (ShantenCalculator.finish(combined, meldCount) < shanten) {
+                total += live[id];
+            }
+            counts[id]--;
+        }
+        return total;
+    }
+
+    // rest[c] = 其餘三個分量的合併
+    private static void restOf(long[] components, long[] rest) {
+        for (int c = 0; c < COMPONENTS; c++) {
+            long combined = 0;
+            boolean first = true;
+            for (int other = 0; other < COMPONENTS; other++) {
+                if (other == c) {
+                    continue;
+                }
+                combined = first ? components[other] : ShantenCalculator.combine(combined, components[other]);
+                first = false;
+            }
+            rest[c] = combined;
+        }
+    }
+
+    // 每種牌還沒被看到的張數
+    static int[] liveCounts(Game game, int[] handCounts) {
+        int[] live = new int[TileCatalog.KIND_COUNT];
+        for (int id = 0; id < live.length; id++) {
+            live[id] = TileCatalog.COPIES_PER_KIND - handCounts[id];
+        }
+        for (Player p : game.getPlayers()) {
+            subtract(live, p.getDiscarded());
+            for (Meld meld : p.getMelds()) {
+                subtract(live, meld.getTiles());
+            }
+        }
+        for (int id = 0; id < live.length; id++) {
+            live[id] = Math.max(live[id], 0);
+        }
+        return live;
+    }
+
+    private static void subtract(int[] live, List<Tile> tiles) {
+        for (int i = 0; i < tiles.size(); i++) {
+            int id = tiles.get(i).getId();
+            if (id < live.length) {
+                live[id]--;
+            }
+        }
+    }
+
+    // 摸到後可能與手牌組成搭子或面子的牌；孤張不會改變向聽數
+    private static boolean isConnected(int[] counts, int id) {
+        if (counts[id] > 0) {
+            return true;
+        }
+        if (!TileCatalog.isSuited(id)) {
+            return false;
+        }
+        int pos = id % TileCatalog.SUIT_SIZE;
+        for (int d = -2; d <= 2; d++) {
+            int p = pos + d;
+            if (d != 0 && p >= 0 && p < TileCatalog.SUIT_SIZE && counts[id + d] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 同分時的打牌順序：字牌、么九牌、其他
+    private static int discardOrder(int id) {
+        if (!TileCatalog.isSuited(id)) {
+            return 0;
+        }
+        int number = TileCatalog.numberOf(id);
+        return number == 1 || number == 9 ? 1 : 2;
+    }
+
+    private static int indexOf(Player player, int id) {
+        return player.getHand().indexOf(TileCatalog.get(id));
+    }
+}
@@ -0,0 +1,75 @@
+package example.game;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// 依序讀取事件記錄檔中的每一局，只在記憶體中保留目前讀取的區塊
+public class EventLogReader implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+
+    public EventLogReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE).flip();
+        if (!fill(EventLogWriter.HEADER_BYTES)
+                || buffer.getInt() != EventLogWriter.MAGIC) {
+            channel.close();
+            throw new IOException("Not a game event log: " + path);
+        }
+        int version = buffer.get() & 0xFF;
+        if (version != EventLogWriter.VERSION) {
+            channel.close();
+            throw new IOException("Unsupported event log version: " + version);
+        }
+    }
+
+    // 下一局記錄；已到檔尾時回傳 null
+    public RecordedGame next() throws IOException {
+        if (!fill(4)) {
+            if (buffer.hasRemaining()) {
+                throw new EOFException("Truncated record length");
+            }
+            return null;
+        }
+        int length = buffer.getInt();
+        if (length < 0 || !fill(length)) {
+            throw new EOFException("Truncated record");
+        }
+        byte[] data = new byte[length];
+        buffer.get(data);
+        return RecordedGame.parse(data);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // 確保緩衝區內至少有 needed 個位元組尚未讀取
+    private boolean fill(int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return true;
+        }
+        if (buffer.capacity() < needed) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(needed, buffer.capacity() * 2));
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= needed;
+    }
+}
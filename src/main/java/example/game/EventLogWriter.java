@@ -0,0 +1,84 @@
+package example.game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// 只附加的事件記錄檔：檔頭（MAGIC、版本）之後是一筆筆「長度 + 一局記錄」
+// 記錄先累積在直接緩衝區，滿了才一次寫入檔案；可由多個執行緒（例如每桌一個 GameRecorder）共用
+public class EventLogWriter implements Closeable {
+    public static final int MAGIC = 0x4D4A4C47;   // "MJLG"
+    public static final int VERSION = 1;
+    static final int HEADER_BYTES = 5;
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long recordCount;
+
+    public EventLogWriter(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE);
+    }
+
+    public EventLogWriter(Path path, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, HEADER_BYTES));
+        if (channel.size() == 0) {
+            buffer.putInt(MAGIC);
+            buffer.put((byte) VERSION);
+        }
+    }
+
+    // 附加一局記錄
+    public synchronized void append(byte[] record, int offset, int length) throws IOException {
+        if (buffer.remaining() < length + 4) {
+            flushBuffer();
+        }
+        if (buffer.remaining() < length + 4) {
+            // 比整個緩衝區還大的記錄直接寫入
+            ByteBuffer header = ByteBuffer.allocate(4).putInt(length).flip();
+            writeFully(header);
+            writeFully(ByteBuffer.wrap(record, offset, length));
+        } else {
+            buffer.putInt(length);
+            buffer.put(record, offset, length);
+        }
+        recordCount++;
+    }
+
+    // 已附加的記錄筆數
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    // 把緩衝區內容寫入檔案
+    public synchronized void flush() throws IOException {
+        flushBuffer();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
@@ -2,9 +2,14 @@ package example.game;
 
 import example.model.*;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Game {
-    private final List<Tile> wall;        // 牌山
+    private static final GameState[] STATES = GameState.values();
+    private static final EndType[] END_TYPES = EndType.values();
+    private static final WinType[] WIN_TYPES = WinType.values();
+
+    private final Wall wall;              // 牌山
     private final Player[] players;        // 玩家
     private int currentPlayerIndex;        // 當前玩家索引
     private GameState currentState;        // 當前遊戲狀態
@@ -12,56 +17,99 @@ public class Game {
     private int lastDiscardedByIndex;      // 最後打出牌的玩家索引
     private Player winner = null;  // 贏家
     private EndType endType = null;  // 結束類型
+    private WinType winType;               // 胡牌方式
+    private Score score;                   // 贏家的台數
+    private GameListener listener;         // 遊戲事件輸出（apply 執行中暫時換成 NONE）
+    private int turnCount;                 // 已進行的回合數
+    private final long seed;               // 亂數種子，同一種子可重現整局
+    private final SplittableRandom random; // 洗牌與電腦決策共用的亂數
+    private boolean awaitingResponse;      // 已提示人類玩家吃碰槓胡，等待 handleResponse
+    private boolean driving;               // run() 執行中，避免重入
+    private boolean searching;             // apply 執行中：不通知監聽者、不計數、不送 JFR 事件，undo 才能完整還原
+    private boolean simulated;             // 搜尋用的模擬對局（GameCodec 以電腦玩家還原）：不送 JFR 事件
+    private final ClaimWindow claims = new ClaimWindow(this);  // 打牌後的回應窗口
+    private long claimTimeoutNanos;        // 回應窗口時限，0 為不限時
+    private GameMetrics metrics = GameMetrics.global();  // 計數器與各階段計時
+    private JfrGameEvent gameEvent;        // 整局的 JFR 事件，結束時送出
+    private final TileLedger ledger = new TileLedger();  // 每種牌在各位置的張數，隨每次移動更新
+    private UndoJournal journal;           // apply 的復原紀錄，第一次 apply 時建立
+    private final int[] legalActions = new int[ActionGenerator.MAX_ACTIONS];  // apply 檢查合法性用
+    private final DiscardPolicy[] discardPolicies = {   // 各座位電腦玩家的打牌策略
+            DiscardPolicy.RANDOM, DiscardPolicy.RANDOM, DiscardPolicy.RANDOM, DiscardPolicy.RANDOM};
+    private final ClaimPolicy[] claimPolicies = {       // 各座位電腦玩家的吃碰槓策略
+            ClaimPolicy.RANDOM, ClaimPolicy.RANDOM, ClaimPolicy.RANDOM, ClaimPolicy.RANDOM};
 
     public Game() {
-        this.wall = new ArrayList<>();
-        this.players = new Player[4];
-        this.currentPlayerIndex = 0;  // 莊家從0開始
-        this.currentState = GameState.WAITING;
+        this(GameListener.NONE);
+    }
 
-        // 初始化玩家（0號為人類玩家）
-        players[0] = new Player("Player", true);
-        for (int i = 1; i < 4; i++) {
-            players[i] = new Player("Computer " + i, false);
-        }
+    public Game(GameListener listener) {
+        this(defaultPlayers(), listener);
+    }
 
-        initializeTiles();
+    // 指定座位上的玩家（0號為莊家），例如全部電腦玩家的模擬對局
+    public Game(Player[] players, GameListener listener) {
+        this(players, listener, ThreadLocalRandom.current().nextLong());
     }
 
-    private void initializeTiles() {
-        // 初始化數字牌 (萬、筒、條)
-        for (Tile.TileType type : new Tile.TileType[]{Tile.TileType.WAN, Tile.TileType.TONG, Tile.TileType.TIAO}) {
-            for (int number = 1; number <= 9; number++) {
-                for (int i = 0; i < 4; i++) {
-                    wall.add(new Tile(type, number));
-                }
-            }
-        }
+    // 指定亂數種子：相同的玩家設定與種子會得到完全相同的對局
+    public Game(Player[] players, GameListener listener, long seed) {
+        this(players, listener, seed, new Wall());
+    }
 
-        // 初始化風牌
-        for (int number = 1; number <= 4; number++) {
-            for (int i = 0; i < 4; i++) {
-                wall.add(new Tile(Tile.TileType.WIND, number));
-            }
+    // 使用既有的牌山（例如模擬時每個執行緒重複使用同一個），開局時會重新洗牌
+    public Game(Player[] players, GameListener listener, long seed, Wall wall) {
+        if (players.length != 4) {
+            throw new IllegalArgumentException("A game needs exactly 4 players, got " + players.length);
         }
+        this.listener = listener;
+        this.wall = wall;
+        this.players = players.clone();
+        this.currentPlayerIndex = 0;  // 莊家從0開始
+        this.currentState = GameState.WAITING;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
 
-        // 初始化三元牌
-        for (int number = 1; number <= 3; number++) {
-            for (int i = 0; i < 4; i++) {
-                wall.add(new Tile(Tile.TileType.DRAGON, number));
-            }
+        initializeTiles();
+    }
+
+    // 預設座位：0號為人類玩家，其餘為電腦
+    private static Player[] defaultPlayers() {
+        Player[] players = new Player[4];
+        players[0] = new Player("Player", true);
+        for (int i = 1; i < 4; i++) {
+            players[i] = new Player("Computer " + i, false);
         }
+        return players;
+    }
 
-        // 初始化花牌
-        for (int number = 1; number <= 8; number++) {
-            wall.add(new Tile(Tile.TileType.FLOWER, number));
+    // 四個座位都是電腦玩家
+    public static Player[] computerPlayers() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            players[i] = new Player("Computer " + i, false);
         }
+        return players;
+    }
 
-        // 洗牌
-        Collections.shuffle(wall);
+    private void initializeTiles() {
+        // 牌山內含萬、筒、條、風、三元各四張，花牌各一張；以本局的亂數洗牌
+        wall.shuffle(random);
+        ledger.setStrict(Boolean.getBoolean("mahjong.ledger.strict"));
+        ledger.rebuild(wall, players);
     }
 
     public void startGame() {
+        prepareGame();
+        run();
+    }
+
+    // 發牌與補花，進入第一個摸牌階段但不推進遊戲；之後可用 step() 逐步執行
+    public void prepareGame() {
+        metrics.gameStarted();
+        gameEvent = new JfrGameEvent();
+        gameEvent.begin();
+        listener.onDealStarted(this);
         dealInitialTiles();
         // 發完牌後檢查所有玩家的花牌
         for (Player player : players) {
@@ -71,8 +119,7 @@ public class Game {
             player.sortHand(); // 初始手牌排序
         }
         currentState = GameState.DRAWING;
-        System.out.println("Game started!");
-        playTurn();
+        listener.onGameStarted(this);
     }
 
     public void dealInitialTiles() {
@@ -85,54 +132,307 @@ public class Game {
     }
 
     private void drawAndAssignTile(Player player) {
+        drawAndAssignTile(player, false);
+    }
+
+    private void drawAndAssignTile(Player player, boolean replacement) {
+        long start = metrics.start();
+        drawTiles(player, replacement);
+        metrics.record(GamePhase.DRAW, start);
+    }
+
+    private void drawTiles(Player player, boolean replacement) {
         if (!wall.isEmpty()) {
-            Tile tile = wall.remove(wall.size() - 1);
+            Tile tile = replacement ? wall.drawReplacement() : wall.draw();
             player.addTile(tile);
+            ledger.move(this, tile.getId(), TileLocation.WALL, 0,
+                    tile.getType() == Tile.TileType.FLOWER ? TileLocation.FLOWER : TileLocation.HAND,
+                    getPlayerIndex(player));
+            listener.onTileDrawn(player, tile, replacement);
 
             // 如果是花牌，需要補牌
             if (tile.getType() == Tile.TileType.FLOWER && !wall.isEmpty()) {
-                drawAndAssignTile(player);
+                drawTiles(player, true);
             }
             player.sortHand(); // 每次摸牌後排序
         }
     }
 
-    // 執行當前回合
-    private void playTurn() {
-        Player currentPlayer = getCurrentPlayer();
-        System.out.println("\nCurrent player: " + currentPlayer.getName());
+    // 推進一步：摸牌、電腦打牌或處理打出的牌；需要等待人類輸入或遊戲結束時回傳 false
+    public boolean step() {
+        // 步驟中（例如電腦吃碰後）呼叫的 run() 不再往下推進，一次只走一步
+        boolean outer = driving;
+        driving = true;
+        try {
+            return advance();
+        } finally {
+            driving = outer;
+        }
+    }
+
+    private boolean advance() {
+        switch (currentState) {
+            case DRAWING -> {
+                long start = metrics.start();
+                JfrTurnEvent event = new JfrTurnEvent();
+                event.begin();
+                playTurn();
+                metrics.record(GamePhase.TURN, start);
+                if (recording() && event.shouldCommit()) {
+                    event.seat = currentPlayerIndex;
+                    event.turn = turnCount;
+                    event.handSize = getCurrentPlayer().getHand().size();
+                    event.commit();
+                }
+            }
+            case DISCARDING -> {
+                Player player = getCurrentPlayer();
+                if (player.isHuman()) {
+                    return false;
+                }
+                autoDiscard(player);
+                currentState = GameState.RESPONDING;
+                awaitingResponse = false;
+            }
+            case RESPONDING -> {
+                if (awaitingResponse) {
+                    return false;
+                }
+                long start = metrics.start();
+                checkResponses();
+                metrics.record(GamePhase.RESPONSES, start);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 一直推進直到需要人類輸入或遊戲結束（迴圈執行，堆疊深度固定）
+    public void run() {
+        if (driving) {
+            return;  // 已在外層迴圈中，由外層繼續推進
+        }
+        driving = true;
+        try {
+            while (step()) {
+                // 每一步都在 step() 內完成
+            }
+        } finally {
+            driving = false;
+        }
+    }
+
+    // 是否正在等待人類玩家打牌或回應
+    public boolean isAwaitingHuman() {
+        return (currentState == GameState.DISCARDING && getCurrentPlayer().isHuman())
+                || (currentState == GameState.RESPONDING && awaitingResponse);
+    }
+
+    // 可逆走步（搜尋用）：執行一個 ActionGenerator 產生的動作，之後自動摸牌、補花、檢查自摸，
+    // 推進到下一個需要決定的狀態（有人能吃碰槓胡的 RESPONDING、DISCARDING 或 FINISHED）
+    // 不詢問任何策略、不使用亂數；RESPONDING 的 PASS 代表所有人都不要
+    // 執行期間不通知監聽者、不更新計數器、不送 JFR 事件（這些無法被 undo 收回）
+    // undo() 還原到 apply 之前的完整狀態（包括手牌順序與打出牌堆）；兩者之間不可用其他方式推進遊戲
+    public void apply(int action) {
+        if (!isLegal(action)) {
+            throw new IllegalArgumentException("Illegal action in state " + currentState + ": "
+                    + GameAction.toString(action));
+        }
+        if (journal == null) {
+            journal = new UndoJournal();
+        }
+        saveUndo();
+
+        Player player = players[GameAction.seat(action)];
+        boolean outer = driving;
+        boolean outerSearching = searching;
+        GameListener outerListener = listener;
+        GameMetrics outerMetrics = metrics;
+        driving = true;  // 讓 execute* 結尾的 run() 不自動推進
+        searching = true;
+        listener = GameListener.NONE;
+        metrics = GameMetrics.disabled();
+        try {
+            switch (GameAction.type(action)) {
+                case GameAction.DISCARD -> {
+                    discard(player, indexOf(player, GameAction.tile(action)));
+                    currentState = GameState.RESPONDING;
+                    awaitingResponse = false;
+                }
+                case GameAction.CONCEALED_KONG -> {
+                    for (List<Integer> indices : player.getConcealedKongOptions()) {
+                        if (player.getHand().get(indices.get(0)).getId() == GameAction.tile(action)) {
+                            executeConcealedKong(player, indices);
+                            break;
+                        }
+                    }
+                }
+                default -> {
+                    claims.close();
+                    awaitingResponse = false;
+                    applyClaim(player, action);
+                }
+            }
+            settle();
+        } finally {
+            driving = outer;
+            searching = outerSearching;
+            listener = outerListener;
+            metrics = outerMetrics;
+        }
+    }
 
-        // 顯示所有玩家丟棄的牌
-        System.out.println("\nDiscarded tiles:");
-        for (Player p : players) {
-            System.out.println(p.getName() + ": " + p.getDiscarded());
+    // 撤銷最近一次 apply
+    public void undo() {
+        if (journal == null || journal.depth() == 0) {
+            throw new IllegalStateException("Nothing to undo");
         }
+        int pos = journal.top();
+        currentPlayerIndex = journal.get(pos++);
+        currentState = STATES[journal.get(pos++)];
+        int lastId = journal.get(pos++);
+        lastDiscardedTile = lastId < 0 ? null : TileCatalog.get(lastId);
+        lastDiscardedByIndex = journal.get(pos++);
+        int winnerIndex = journal.get(pos++);
+        winner = winnerIndex < 0 ? null : players[winnerIndex];
+        int endOrdinal = journal.get(pos++);
+        endType = endOrdinal < 0 ? null : END_TYPES[endOrdinal];
+        int winOrdinal = journal.get(pos++);
+        winType = winOrdinal < 0 ? null : WIN_TYPES[winOrdinal];
+        score = (Score) journal.topRef();
+        turnCount = journal.get(pos++);
+        boolean wasAwaiting = journal.get(pos++) != 0;
+        int head = journal.get(pos++);
+        wall.setCursors(head, journal.get(pos++));
+        int ledgerMark = journal.get(pos++);
+        ledger.rollback(ledgerMark, journal.get(pos++));
+        for (Player player : players) {
+            pos = journal.restorePlayer(player, pos);
+        }
+        journal.end();
+
+        awaitingResponse = false;
+        claims.close();
+        if (wasAwaiting && currentState == GameState.RESPONDING) {
+            // 與 restoreState 相同：重新開啟回應窗口（不再提示）
+            claims.open(lastDiscardedByIndex, lastDiscardedTile, players, 0);
+            awaitingResponse = claims.hasPending();
+        }
+    }
+
+    // 可以撤銷的步數
+    public int getUndoDepth() {
+        return journal == null ? 0 : journal.depth();
+    }
 
-        // 顯示鳴牌組
-        System.out.println("\nMelds:");
-        for (Player p : players) {
-            System.out.println(p.getName() + ": " + p.getMelds());
+    private boolean isLegal(int action) {
+        int count = ActionGenerator.generate(this, legalActions);
+        for (int i = 0; i < count; i++) {
+            if (legalActions[i] == action) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    // 記錄 apply 會改變的狀態（順序必須與 undo 的讀取順序一致）
+    private void saveUndo() {
+        journal.begin(score);
+        journal.push(currentPlayerIndex);
+        journal.push(currentState.ordinal());
+        journal.push(lastDiscardedTile == null ? -1 : lastDiscardedTile.getId());
+        journal.push(lastDiscardedByIndex);
+        journal.push(getWinnerIndex());
+        journal.push(endType == null ? -1 : endType.ordinal());
+        journal.push(winType == null ? -1 : winType.ordinal());
+        journal.push(turnCount);
+        journal.push(awaitingResponse ? 1 : 0);
+        journal.push(wall.head());
+        journal.push(wall.tail());
+        journal.push(ledger.mark());
+        journal.push(ledger.getViolations());
+        for (Player player : players) {
+            journal.pushPlayer(player);
+        }
+    }
+
+    // 回應動作：胡、槓、碰、吃某個順子，或所有人都不要
+    private void applyClaim(Player player, int action) {
+        switch (GameAction.type(action)) {
+            case GameAction.WIN -> winByDiscard(player);
+            case GameAction.KONG -> executeKong(player, player.getKongIndices(lastDiscardedTile));
+            case GameAction.PONG -> executePong(player, player.getPongIndices(lastDiscardedTile).subList(0, 2));  // 有三張時留一張在手上
+            case GameAction.CHI -> {
+                int claimed = lastDiscardedTile.getId();
+                for (List<Integer> indices : player.getChiOptions(lastDiscardedTile)) {
+                    int first = Math.min(claimed, player.getHand().get(indices.get(0)).getId());
+                    if (first == GameAction.chiStart(action)) {
+                        executeChi(player, indices);
+                        return;
+                    }
+                }
+            }
+            default -> nextTurn();
+        }
+    }
+
+    // 自動推進不需要決定的步驟：沒有人能回應就換下一家，摸牌階段直接摸牌
+    private void settle() {
+        while (true) {
+            if (currentState == GameState.RESPONDING && !anyoneCanClaim()) {
+                nextTurn();
+            } else if (currentState == GameState.DRAWING) {
+                playTurn();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private boolean anyoneCanClaim() {
+        if (lastDiscardedTile == null) {
+            return false;
+        }
+        for (int i = 1; i <= 3; i++) {
+            Player player = players[(lastDiscardedByIndex + i) % 4];
+            if (canWinWith(player, lastDiscardedTile) || player.canPong(lastDiscardedTile)
+                    || (i == 1 && player.canChi(lastDiscardedTile))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(Player player, int id) {
+        List<Tile> hand = player.getHand();
+        for (int i = 0; i < hand.size(); i++) {
+            if (hand.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // 執行當前回合（摸牌階段）
+    private void playTurn() {
+        Player currentPlayer = getCurrentPlayer();
+        turnCount++;
+        listener.onTurnStarted(this, currentPlayer);
 
         if (wall.isEmpty()) {
             endType = EndType.DRAW;  // 設置結束類型為流局
             currentState = GameState.FINISHED;
-            displayFinalState();  // 調用顯示最終狀態
+            gameFinished();
+            listener.onGameOver(this);  // 顯示最終狀態
             return;
         }
 
         // 檢查是否可以暗槓
         if (currentPlayer.isHuman()) {
-            List<List<Integer>> kongOptions = currentPlayer.getConcealedKongOptions();
-            if (!kongOptions.isEmpty()) {
-                System.out.println("Concealed Kong options available:");
-                for (int i = 0; i < kongOptions.size(); i++) {
-                    List<Integer> indices = kongOptions.get(i);
-                    System.out.println(i + ": " + indices.stream()
-                            .map(idx -> currentPlayer.getHand().get(idx))
-                            .toList());
-                }
-                System.out.println("Enter K followed by option number to kong, or any other key to skip");
+            if (currentPlayer.hasConcealedKong()) {
+                listener.onConcealedKongOptions(currentPlayer, currentPlayer.getConcealedKongOptions());
             }
         }
 
@@ -146,240 +446,235 @@ public class Game {
 
             // 在這裡加入自摸檢查
             if (checkWin(currentPlayer)) {
-                System.out.println(currentPlayer.getName() + " wins by self-draw!");
-                declareWin(currentPlayer);
+                declareWin(currentPlayer, WinType.SELF_DRAW);
                 return;
             }
 
             currentState = GameState.DISCARDING;
 
             if (currentPlayer.isHuman()) {
-                System.out.println("Your hand: " + currentPlayer.getHandString());
-                System.out.println("Your flowers: " + currentPlayer.getFlowers());
-                System.out.println("Please select a tile to discard (0-" +
-                        (currentPlayer.getHand().size()-1) + ")");
-            } else {
-                autoDiscard(currentPlayer);
-                checkResponses();
+                listener.onDiscardRequested(currentPlayer);
             }
         }
     }
 
+    // 處理打出的牌：開啟回應窗口，同時詢問三家，依優先順序裁決
     private void checkResponses() {
-        if (lastDiscardedTile == null) return;
+        if (lastDiscardedTile == null) {
+            nextTurn();
+            return;
+        }
         currentState = GameState.RESPONDING;
+        long deadline = claimTimeoutNanos > 0 ? System.nanoTime() + claimTimeoutNanos : 0;
+        claims.open(lastDiscardedByIndex, lastDiscardedTile, players, deadline);
 
-        // 先檢查其他玩家是否可以胡牌
+        // 先提示所有有選項的人類玩家，之後不論誰先回應都能裁決
         for (int i = 1; i <= 3; i++) {
             int playerIndex = (lastDiscardedByIndex + i) % 4;
-            Player player = players[playerIndex];
-
-            // 加入這張牌看看是否能胡
-            player.addTile(lastDiscardedTile);
-            if (checkWin(player)) {
-                if (player.isHuman()) {
-                    // 顯示當前手牌
-                    System.out.println("\nYour current hand:");
-                    System.out.println(player.getHandString());
-                    System.out.println("\nDiscarded tile: " + lastDiscardedTile);
-                    System.out.println("\nYou can win! Enter 'W' to win, or any other key to skip");
-                    player.getHand().remove(player.getHand().size() - 1);
-                    return;
+            if (claims.isPending(playerIndex)) {
+                Player player = players[playerIndex];
+                if (claims.canWin(playerIndex)) {
+                    listener.onWinAvailable(player, lastDiscardedTile);
                 } else {
-                    // AI 總是選擇胡牌
-                    declareWin(player);
-                    return;
+                    listener.onClaimOptions(player, lastDiscardedTile, claimOptions(playerIndex));
                 }
             }
-            player.getHand().remove(player.getHand().size() - 1);
-
-            // 對於人類玩家，顯示所有可用選項
-            if (player.isHuman()) {
-                List<String> options = new ArrayList<>();
-
-                // 檢查槓
-                List<Integer> kongIndices = player.getKongIndices(lastDiscardedTile);
-                if (!kongIndices.isEmpty()) {
-                    options.add("K - Kong (槓)");
-                }
+        }
+        resolveClaims();
+    }
 
-                // 檢查碰
-                List<Integer> pongIndices = player.getPongIndices(lastDiscardedTile);
-                if (!pongIndices.isEmpty()) {
-                    options.add("P - Pong (碰)");
+    // 裁決回應窗口；還在等人類玩家時保持 awaitingResponse
+    private void resolveClaims() {
+        int seat = claims.resolve();
+        if (seat == ClaimWindow.UNRESOLVED) {
+            awaitingResponse = true;
+            return;
+        }
+        awaitingResponse = false;
+        boolean prompted = claims.wasPrompted();
+        ClaimAction action = seat == ClaimWindow.NONE ? ClaimAction.PASS : claims.action(seat);
+        List<Integer> indices = switch (action) {
+            case KONG -> claims.kongIndices(seat);
+            case PONG -> claims.pongIndices(seat);
+            case CHI -> claims.chiIndices(seat);
+            default -> null;
+        };
+        claims.close();
+
+        switch (action) {
+            case WIN -> winByDiscard(players[seat]);
+            case KONG -> executeKong(players[seat], indices);
+            case PONG -> executePong(players[seat], indices);
+            case CHI -> executeChi(players[seat], indices);
+            case PASS -> {
+                // 如果沒有人響應，進入下一回合
+                if (prompted) {
+                    listener.onActionSkipped();
                 }
+                nextTurn();
+            }
+        }
+    }
 
-                // 檢查吃（只有下家才能吃）
-                if (playerIndex == (lastDiscardedByIndex + 1) % 4) {
-                    List<List<Integer>> chiOptions = player.getChiOptions(lastDiscardedTile);
-                    for (int j = 0; j < chiOptions.size(); j++) {
-                        // 獲取當前吃牌組合的牌
-                        List<Integer> indices = chiOptions.get(j);
-                        List<Tile> chiTiles = indices.stream()
-                                .map(idx -> player.getHand().get(idx))
-                                .collect(java.util.stream.Collectors.toList());
-
-                        // 根據當前打出的牌，重組完整的吃牌組合
-                        List<Tile> fullCombination = new ArrayList<>();
-                        for (Tile tile : chiTiles) {
-                            fullCombination.add(tile);
-                        }
-                        // 找到正確的位置插入打出的牌
-                        int insertPos = 0;
-                        for (int k = 0; k < 2; k++) {
-                            if (fullCombination.get(k).getNumber() + 1 == lastDiscardedTile.getNumber()) {
-                                insertPos = k + 1;
-                                break;
-                            } else if (fullCombination.get(k).getNumber() - 2 == lastDiscardedTile.getNumber()) {
-                                insertPos = 0;
-                                break;
-                            } else if (fullCombination.get(k).getNumber() - 1 == lastDiscardedTile.getNumber()) {
-                                insertPos = k;
-                                break;
-                            }
-                        }
-                        fullCombination.add(insertPos, lastDiscardedTile);
-
-                        // 生成可讀性更好的選項描述
-                        String optionDesc = String.format("C%d - Chi: %s %s %s (吃)",
-                                j,
-                                fullCombination.get(0),
-                                fullCombination.get(1),
-                                fullCombination.get(2));
-                        options.add(optionDesc);
-                    }
-                }
+    // 人類玩家可用選項的顯示文字
+    private List<String> claimOptions(int playerIndex) {
+        Player player = players[playerIndex];
+        List<String> options = new ArrayList<>();
 
-                if (!options.isEmpty()) {
-                    // 先顯示當前手牌
-                    System.out.println("\nYour current hand:");
-                    System.out.println(player.getHandString());
-                    // 顯示打出的牌
-                    System.out.println("\nDiscarded tile: " + lastDiscardedTile);
-                    // 顯示可用選項
-                    System.out.println("\nAvailable actions:");
-                    for (String option : options) {
-                        System.out.println(option);
-                    }
-                    System.out.println("\nEnter your choice, or any other key to skip");
-                    return;
-                }
-            } else {
-                // 電腦玩家維持原有的優先順序邏輯
-                List<Integer> kongIndices = player.getKongIndices(lastDiscardedTile);
-                if (!kongIndices.isEmpty() && shouldAIKong()) {
-                    executeKong(player, kongIndices);
-                    return;
-                }
+        // 檢查槓
+        if (claims.canKong(playerIndex)) {
+            options.add("K - Kong (槓)");
+        }
 
-                List<Integer> pongIndices = player.getPongIndices(lastDiscardedTile);
-                if (!pongIndices.isEmpty() && shouldAIPong()) {
-                    executePong(player, pongIndices);
-                    return;
-                }
-            }
+        // 檢查碰
+        if (claims.canPong(playerIndex)) {
+            options.add("P - Pong (碰)");
         }
 
-        // 檢查下家是否可以吃（只對電腦玩家）
-        Player nextPlayer = players[(lastDiscardedByIndex + 1) % 4];
-        if (!nextPlayer.isHuman()) {
-            List<List<Integer>> chiOptions = nextPlayer.getChiOptions(lastDiscardedTile);
-            if (!chiOptions.isEmpty() && shouldAIChi()) {
-                executeChi(nextPlayer, chiOptions.get(0));
-                return;
+        // 檢查吃（只有下家才能吃）
+        List<List<Integer>> chiOptions = claims.chiOptions(playerIndex);
+        for (int j = 0; j < chiOptions.size(); j++) {
+            // 獲取當前吃牌組合的牌
+            List<Integer> indices = chiOptions.get(j);
+            List<Tile> chiTiles = indices.stream()
+                    .map(idx -> player.getHand().get(idx))
+                    .collect(java.util.stream.Collectors.toList());
+
+            // 根據當前打出的牌，重組完整的吃牌組合
+            List<Tile> fullCombination = new ArrayList<>();
+            for (Tile tile : chiTiles) {
+                fullCombination.add(tile);
+            }
+            // 找到正確的位置插入打出的牌
+            int insertPos = 0;
+            for (int k = 0; k < 2; k++) {
+                if (fullCombination.get(k).getNumber() + 1 == lastDiscardedTile.getNumber()) {
+                    insertPos = k + 1;
+                    break;
+                } else if (fullCombination.get(k).getNumber() - 2 == lastDiscardedTile.getNumber()) {
+                    insertPos = 0;
+                    break;
+                } else if (fullCombination.get(k).getNumber() - 1 == lastDiscardedTile.getNumber()) {
+                    insertPos = k;
+                    break;
+                }
             }
+            fullCombination.add(insertPos, lastDiscardedTile);
+
+            // 生成可讀性更好的選項描述
+            String optionDesc = String.format("C%d - Chi: %s %s %s (吃)",
+                    j,
+                    fullCombination.get(0),
+                    fullCombination.get(1),
+                    fullCombination.get(2));
+            options.add(optionDesc);
         }
-
-        // 如果沒有人響應，進入下一回合
-        currentState = GameState.DRAWING;
-        nextTurn();
+        return options;
     }
 
-    // AI決策方法
-    private boolean shouldAIKong() {
-        return true; // 簡單AI總是槓
-    }
-
-    private boolean shouldAIPong() {
-        return new Random().nextBoolean(); // 簡單AI隨機碰
-    }
-
-    private boolean shouldAIChi() {
-        return new Random().nextBoolean(); // 簡單AI隨機吃
+    // AI決策方法：交給該座位的鳴牌策略
+    boolean shouldAIClaim(int seat, MeldType type) {
+        JfrClaimEvent event = new JfrClaimEvent();
+        event.begin();
+        boolean claim = claimPolicies[seat].shouldClaim(this, players[seat], type, lastDiscardedTile, random);
+        if (recording() && event.shouldCommit()) {
+            event.seat = seat;
+            event.action = type.name();
+            event.tile = lastDiscardedTile.toString();
+            event.claimed = claim;
+            event.handSize = players[seat].getHand().size();
+            event.commit();
+        }
+        return claim;
     }
 
     // 執行吃牌
     public void executeChi(Player player, List<Integer> indices) {
+        long start = metrics.start();
         // 先從最後打牌玩家的打出牌堆中移除這張牌
-        Player lastDiscarder = players[lastDiscardedByIndex];
-        lastDiscarder.getDiscarded().remove(lastDiscarder.getDiscarded().size() - 1);
+        takeLastDiscard();
 
         player.chi(lastDiscardedTile, indices);
+        recordMeldMoves(player);
         currentPlayerIndex = getPlayerIndex(player);
         currentState = GameState.DISCARDING;
         lastDiscardedTile = null;
-        System.out.println(player.getName() + " chi!");
+        listener.onMeldClaimed(player, lastMeld(player));
 
         if (player.isHuman()) {
-            System.out.println("Your hand: " + player.getHandString());
-            System.out.println("Please select a tile to discard (0-" +
-                    (player.getHand().size()-1) + ")");
-        } else {
-            autoDiscard(player);
-            checkResponses();
+            listener.onDiscardRequested(player);
         }
+        metrics.claimed(MeldType.CHI);
+        metrics.record(GamePhase.CHI, start);
+        run();
     }
     // 執行碰牌
     public void executePong(Player player, List<Integer> indices) {
+        long start = metrics.start();
         // 先從最後打牌玩家的打出牌堆中移除這張牌
-        Player lastDiscarder = players[lastDiscardedByIndex];
-        lastDiscarder.getDiscarded().remove(lastDiscarder.getDiscarded().size() - 1);
+        takeLastDiscard();
 
         // 執行原本的碰牌邏輯
         player.pong(lastDiscardedTile, indices);
+        recordMeldMoves(player);
         currentPlayerIndex = getPlayerIndex(player);
         currentState = GameState.DISCARDING;
         lastDiscardedTile = null;
-        System.out.println(player.getName() + " pong!");
+        listener.onMeldClaimed(player, lastMeld(player));
 
         if (player.isHuman()) {
-            System.out.println("Your hand: " + player.getHandString());
-            System.out.println("Please select a tile to discard (0-" +
-                    (player.getHand().size()-1) + ")");
-        } else {
-            autoDiscard(player);
-            checkResponses();
+            listener.onDiscardRequested(player);
         }
+        metrics.claimed(MeldType.PONG);
+        metrics.record(GamePhase.PONG, start);
+        run();
     }
 
     // 執行槓牌
-// 執行槓牌
     public void executeKong(Player player, List<Integer> indices) {
+        long start = metrics.start();
         // 先從最後打牌玩家的打出牌堆中移除這張牌
-        Player lastDiscarder = players[lastDiscardedByIndex];
-        lastDiscarder.getDiscarded().remove(lastDiscarder.getDiscarded().size() - 1);
+        takeLastDiscard();
 
         player.kong(lastDiscardedTile, indices);
+        recordMeldMoves(player);
+        metrics.claimed(MeldType.KONG);
         currentPlayerIndex = getPlayerIndex(player);
+        listener.onMeldClaimed(player, lastMeld(player));  // 先通知槓，補牌與槓上開花都在其後
+        drawAfterKong(player, start);
+    }
+
+    // 執行暗槓（當前玩家手上的四張相同的牌）
+    public void executeConcealedKong(Player player, List<Integer> indices) {
+        long start = metrics.start();
+        player.concealedKong(indices);
+        ledger.concealedKong(this, getPlayerIndex(player), lastMeld(player).getTiles());
+        metrics.claimed(MeldType.CONCEALED_KONG);
+        currentPlayerIndex = getPlayerIndex(player);
+        listener.onMeldClaimed(player, lastMeld(player));
+        drawAfterKong(player, start);
+    }
 
+    // 槓後從補牌端補牌並檢查胡牌，沒有胡就輪到槓牌的玩家打牌
+    private void drawAfterKong(Player player, long start) {
         // 補牌並檢查胡牌
         if (!wall.isEmpty()) {
-            drawAndAssignTile(player); // 槓牌要補牌
+            drawAndAssignTile(player, true); // 槓牌要從補牌端補牌
 
             // 檢查補牌後是否胡牌（槓上開花）
             if (checkWin(player)) {
-                System.out.println(player.getName() + " wins after Kong!");
-                declareWin(player);
+                metrics.record(GamePhase.KONG, start);
+                declareWin(player, WinType.KONG_REPLACEMENT);
                 return;
             }
 
             // 處理補牌可能抽到的花牌
             while (player.hasFlower() && !wall.isEmpty()) {
-                drawAndAssignTile(player);
+                drawAndAssignTile(player, true);
                 // 檢查補花後是否胡牌
                 if (checkWin(player)) {
-                    System.out.println(player.getName() + " wins after drawing flower!");
-                    declareWin(player);
+                    metrics.record(GamePhase.KONG, start);
+                    declareWin(player, WinType.FLOWER_REPLACEMENT);
                     return;
                 }
             }
@@ -387,110 +682,118 @@ public class Game {
 
         currentState = GameState.DISCARDING;
         lastDiscardedTile = null;
-        System.out.println(player.getName() + " kong!");
 
         if (player.isHuman()) {
-            System.out.println("Your hand: " + player.getHandString());
-            System.out.println("Please select a tile to discard (0-" +
-                    (player.getHand().size()-1) + ")");
-        } else {
-            autoDiscard(player);
-            checkResponses();
+            listener.onDiscardRequested(player);
         }
+        metrics.record(GamePhase.KONG, start);
+        run();
     }
 
-    // AI 自動打牌（簡單版本：隨機）
+    // AI 自動打牌（依該座位的打牌策略）
     private void autoDiscard(Player player) {
         if (!player.getHand().isEmpty()) {
-            int randomIndex = new Random().nextInt(player.getHand().size());
-            Tile discarded = player.getHand().get(randomIndex);
-            player.discardTile(randomIndex);
-            lastDiscardedTile = discarded;
-            lastDiscardedByIndex = currentPlayerIndex;
-            System.out.println(player.getName() + " discarded: " + discarded);
+            int index = discardPolicies[currentPlayerIndex].chooseDiscard(this, player, random);
+            if (index < 0 || index >= player.getHand().size()) {
+                throw new IllegalStateException("Discard policy chose invalid index " + index);
+            }
+            discard(player, index);
         }
     }
 
+    // 當前玩家打出手牌中第 index 張
+    private void discard(Player player, int index) {
+        Tile discarded = player.getHand().get(index);
+        player.discardTile(index);
+        ledger.move(this, discarded.getId(), TileLocation.HAND, currentPlayerIndex,
+                TileLocation.DISCARD, currentPlayerIndex);
+        lastDiscardedTile = discarded;
+        lastDiscardedByIndex = currentPlayerIndex;
+        metrics.discarded();
+        listener.onTileDiscarded(player, discarded);
+    }
+
     // 人類玩家打牌
     public void humanDiscard(int index) {
         Player player = getCurrentPlayer();
         if (player.isHuman() && currentState == GameState.DISCARDING) {
             if (index >= 0 && index < player.getHand().size()) {
-                Tile discarded = player.getHand().get(index);
-                player.discardTile(index);
-                lastDiscardedTile = discarded;
-                lastDiscardedByIndex = currentPlayerIndex;
-                System.out.println("You discarded: " + discarded);
-                checkResponses();
+                discard(player, index);
+                currentState = GameState.RESPONDING;
+                awaitingResponse = false;
+                run();
             } else {
-                System.out.println("Invalid tile index!");
+                listener.onInvalidCommand("Invalid tile index!");
             }
         }
     }
 
-    // 處理人類玩家的吃碰槓選擇
+    // 處理人類玩家的吃碰槓選擇（交給第一個還在等待回應的人類玩家）
     public void handleResponse(String command) {
-        if (currentState != GameState.RESPONDING || lastDiscardedTile == null) {
-            return;
-        }
-
-        // 對每個玩家依序檢查
         for (int i = 1; i <= 3; i++) {
             int playerIndex = (lastDiscardedByIndex + i) % 4;
-            Player player = players[playerIndex];
-
-            // 只處理人類玩家的響應
-            if (!player.isHuman()) {
-                continue;
-            }
-
-            // 先處理胡牌
-            if (command.equals("W")) {
-                player.addTile(lastDiscardedTile);
-                if (checkWin(player)) {
-                    System.out.println(player.getName() + " wins!");
-                    declareWin(player);
-                    return;
-                }
-                player.getHand().remove(player.getHand().size() - 1);
-            }
-
-            // 檢查是否有可用的動作
-            List<Integer> kongIndices = player.getKongIndices(lastDiscardedTile);
-            List<Integer> pongIndices = player.getPongIndices(lastDiscardedTile);
-            List<List<Integer>> chiOptions = new ArrayList<>();
-            if (playerIndex == (lastDiscardedByIndex + 1) % 4) {
-                chiOptions = player.getChiOptions(lastDiscardedTile);
-            }
-
-            // 根據玩家的選擇執行相應動作
-            if (command.equals("K") && !kongIndices.isEmpty()) {
-                executeKong(player, kongIndices);
+            if (claims.isPending(playerIndex)) {
+                handleResponse(playerIndex, command);
                 return;
             }
+        }
+    }
 
-            if (command.equals("P") && !pongIndices.isEmpty()) {
-                executePong(player, pongIndices);
-                return;
+    // 某個座位的人類玩家回應：W 胡、K 槓、P 碰、Cn 吃第 n 個選項，其他輸入為不要
+    // 所有人都回應（或不可能勝過已有的宣告）時才裁決並繼續遊戲
+    public void handleResponse(int seat, String command) {
+        if (currentState != GameState.RESPONDING || !claims.isPending(seat)) {
+            return;
+        }
+        ClaimAction action = ClaimAction.PASS;
+        int chiOption = -1;
+        if (command.equals("W")) {
+            action = ClaimAction.WIN;
+        } else if (command.equals("K")) {
+            action = ClaimAction.KONG;
+        } else if (command.equals("P")) {
+            action = ClaimAction.PONG;
+        } else if (command.startsWith("C") && claims.chiCount(seat) > 0) {
+            try {
+                chiOption = Integer.parseInt(command.substring(1));
+                action = ClaimAction.CHI;
+            } catch (NumberFormatException e) {
+                listener.onInvalidCommand("Invalid chi command format!");
             }
+        }
+        JfrClaimEvent event = new JfrClaimEvent();
+        if (recording() && event.shouldCommit()) {
+            event.seat = seat;
+            event.action = action.name();
+            event.tile = lastDiscardedTile.toString();
+            event.claimed = action != ClaimAction.PASS;
+            event.human = true;
+            event.handSize = players[seat].getHand().size();
+            event.commit();
+        }
+        claims.submit(seat, action, chiOption);
+        resolveClaims();
+        run();
+    }
 
-            if (command.startsWith("C") && !chiOptions.isEmpty()) {
-                try {
-                    int option = Integer.parseInt(command.substring(1));
-                    if (option >= 0 && option < chiOptions.size()) {
-                        executeChi(player, chiOptions.get(option));
-                        return;
-                    }
-                } catch (NumberFormatException e) {
-                    System.out.println("Invalid chi command format!");
-                }
-            }
+    // 回應窗口逾時：還沒回應的人類玩家視為不要；serial 不是目前的窗口時不做事
+    public void expireClaims(int serial) {
+        if (currentState != GameState.RESPONDING || !claims.isOpen() || claims.getSerial() != serial) {
+            return;
         }
+        claims.expire();
+        resolveClaims();
+        run();
+    }
 
-        // 如果沒有任何操作被執行，進入下一回合
-        System.out.println("Action skipped.");
-        currentState = GameState.DRAWING;
-        nextTurn();
+    // 目前的回應窗口（唯讀查詢：誰還沒回應、截止時間）
+    public ClaimWindow getClaimWindow() {
+        return claims;
+    }
+
+    // 人類玩家回應的時限，0 表示一直等待（主控台模式）
+    public void setClaimTimeoutMillis(long millis) {
+        claimTimeoutNanos = Math.max(0, millis) * 1_000_000L;
     }
 
     private int getPlayerIndex(Player player) {
@@ -500,11 +803,10 @@ public class Game {
         return -1;
     }
 
-    // 進入下一回合
+    // 進入下一回合（由 step() 在下一步摸牌）
     private void nextTurn() {
         nextPlayer();
         currentState = GameState.DRAWING;
-        playTurn();
     }
 
     public Player getCurrentPlayer() {
@@ -516,7 +818,7 @@ public class Game {
     }
 
     public int getRemainingTiles() {
-        return wall.size();
+        return wall.remaining();
     }
 
     public GameState getCurrentState() {
@@ -527,317 +829,267 @@ public class Game {
         return players;
     }
 
-    public boolean checkWin(Player player) {
-        // 1. 先算已經有的組數（來自吃、碰、槓）
-        int completeSets = player.getMelds().size();
-
-        // 2. 找手牌中的刻子和順子
-        List<Tile> hand = new ArrayList<>(player.getHand());
-
-        // 先找刻子
-        boolean foundTriplet;
-        do {
-            foundTriplet = false;
-            // 每次找到刻子後重新開始，避免索引越界
-            for (int i = 0; i < hand.size() - 2 && !foundTriplet; i++) {
-                for (int j = i + 1; j < hand.size() - 1 && !foundTriplet; j++) {
-                    for (int k = j + 1; k < hand.size(); k++) {
-                        Tile t1 = hand.get(i);
-                        Tile t2 = hand.get(j);
-                        Tile t3 = hand.get(k);
-
-                        if (isSameTile(t1, t2) && isSameTile(t2, t3)) {
-                            completeSets++;
-                            hand.remove(k);
-                            hand.remove(j);
-                            hand.remove(i);
-                            foundTriplet = true;
-                            break;
-                        }
-                    }
-                }
-            }
-        } while (foundTriplet && hand.size() >= 3);
-
-        // 再找順子
-        boolean foundSequence;
-        do {
-            foundSequence = false;
-            // 每次找到順子後重新開始
-            outerLoop:
-            for (int i = 0; i < hand.size(); i++) {
-                Tile t1 = hand.get(i);
-                if (t1.getType() == Tile.TileType.DRAGON ||
-                        t1.getType() == Tile.TileType.WIND ||
-                        t1.getType() == Tile.TileType.FLOWER) {
-                    continue;
-                }
+    public Player getWinner() {
+        return winner;
+    }
 
-                // 找第二張牌
-                for (int j = 0; j < hand.size(); j++) {
-                    if (i == j) continue;
-                    Tile t2 = hand.get(j);
-                    if (t2.getType() == t1.getType() &&
-                            t2.getNumber() == t1.getNumber() + 1) {
-                        // 找第三張牌
-                        for (int k = 0; k < hand.size(); k++) {
-                            if (k == i || k == j) continue;
-                            Tile t3 = hand.get(k);
-                            if (t3.getType() == t1.getType() &&
-                                    t3.getNumber() == t1.getNumber() + 2) {
-                                completeSets++;
-                                // 從大到小移除
-                                int max = Math.max(Math.max(i, j), k);
-                                int min = Math.min(Math.min(i, j), k);
-                                int mid = i + j + k - max - min;
-                                hand.remove(max);
-                                hand.remove(mid);
-                                hand.remove(min);
-                                foundSequence = true;
-                                break outerLoop;
-                            }
-                        }
-                    }
-                }
-            }
-        } while (foundSequence && hand.size() >= 3);
+    public EndType getEndType() {
+        return endType;
+    }
 
-        // 3. 找對子
-        boolean hasAPair = false;
-        if (hand.size() == 2) {
-            hasAPair = isSameTile(hand.get(0), hand.get(1));
-        }
+    // 胡牌方式，流局或尚未結束時為 null
+    public WinType getWinType() {
+        return winType;
+    }
 
-        // 4. 判斷：有5組 + 1對就是胡牌
-        return completeSets == 5 && hasAPair;
+    // 贏家的台數，流局或尚未結束時為 null
+    public Score getScore() {
+        return score;
     }
 
-    private boolean isSameTile(Tile t1, Tile t2) {
-        return t1.getType() == t2.getType() && t1.getNumber() == t2.getNumber();
+    // 贏家座位，沒有贏家時回傳 -1
+    public int getWinnerIndex() {
+        return winner == null ? -1 : getPlayerIndex(winner);
     }
 
-    // 檢查是否能組成指定數量的順子或刻子
-    private boolean canFormSetsAndSequences(List<Tile> tiles, int requiredSets) {
-        if (requiredSets == 0) return tiles.isEmpty();
-        if (tiles.isEmpty()) return false;
+    public int getTurnCount() {
+        return turnCount;
+    }
 
-        List<Tile> remainingTiles = new ArrayList<>(tiles);
+    public long getSeed() {
+        return seed;
+    }
 
-        // 嘗試組成刻子
-        if (tiles.size() >= 3) {
-            if (canFormTriplet(tiles.get(0), remainingTiles)) {
-                remainingTiles.remove(0);
-                remainingTiles.remove(0);
-                remainingTiles.remove(0);
-                if (canFormSetsAndSequences(remainingTiles, requiredSets - 1)) {
-                    return true;
-                }
-                // 恢復移除的牌
-                remainingTiles.addAll(tiles.subList(0, 3));
-            }
-        }
+    // 設定某個座位電腦玩家的打牌策略（預設為隨機）
+    public void setDiscardPolicy(int seat, DiscardPolicy policy) {
+        discardPolicies[seat] = Objects.requireNonNull(policy);
+    }
 
-        // 嘗試組成順子
-        if (canFormSequence(tiles.get(0), remainingTiles)) {
-            // 找到並移除順子的三張牌
-            Tile first = tiles.get(0);
-            remainingTiles.removeIf(t ->
-                    t.getType() == first.getType() &&
-                            (t.getNumber() == first.getNumber() ||
-                                    t.getNumber() == first.getNumber() + 1 ||
-                                    t.getNumber() == first.getNumber() + 2));
+    public DiscardPolicy getDiscardPolicy(int seat) {
+        return discardPolicies[seat];
+    }
 
-            if (canFormSetsAndSequences(remainingTiles, requiredSets - 1)) {
-                return true;
-            }
-        }
+    // 設定某個座位電腦玩家的吃碰槓策略（預設為總是槓、隨機碰吃）
+    public void setClaimPolicy(int seat, ClaimPolicy policy) {
+        claimPolicies[seat] = Objects.requireNonNull(policy);
+    }
 
-        return false;
+    public ClaimPolicy getClaimPolicy(int seat) {
+        return claimPolicies[seat];
     }
 
-    // 檢查是否能組成刻子
-    private boolean canFormTriplet(Tile firstTile, List<Tile> tiles) {
-        int count = 1;
-        for (Tile t : tiles) {
-            if (isSameTile(firstTile, t)) count++;
-            if (count >= 3) return true;
-        }
-        return false;
+    // 標記為搜尋用的模擬對局：之後不送出 JFR 事件
+    void setSimulated(boolean simulated) {
+        this.simulated = simulated;
     }
 
-    // 檢查是否能組成順子
-    private boolean canFormSequence(Tile firstTile, List<Tile> tiles) {
-        if (firstTile.getType() == Tile.TileType.DRAGON ||
-                firstTile.getType() == Tile.TileType.WIND) {
-            return false;
-        }
+    // 是否送出 JFR 事件：apply 中與模擬對局都不送，錄到的事件只屬於實際的對局
+    private boolean recording() {
+        return !searching && !simulated;
+    }
 
-        boolean hasNext = false;
-        boolean hasNextNext = false;
-        int targetNumber = firstTile.getNumber();
+    // 改用另一組計數器（預設為 GameMetrics.global()）
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+    }
 
-        for (Tile t : tiles) {
-            if (t.getType() == firstTile.getType()) {
-                if (t.getNumber() == targetNumber + 1) hasNext = true;
-                if (t.getNumber() == targetNumber + 2) hasNextNext = true;
-            }
-        }
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
 
-        return hasNext && hasNextNext;
+    public Tile getLastDiscardedTile() {
+        return lastDiscardedTile;
     }
 
-    // 宣告胡牌
-    public void declareWin(Player player) {
-        winner = player;
-        endType = EndType.WIN;
-        currentState = GameState.FINISHED;
-        displayFinalState();
+    public int getLastDiscardedByIndex() {
+        return lastDiscardedByIndex;
     }
 
-    // 檢查遊戲是否結束
-    private void checkGameEnd() {
-        if (currentState == GameState.DISCARDING) {
-            if (checkWin(getCurrentPlayer())) {
-                declareWin(getCurrentPlayer());
-                return;
-            }
+    // 以下供 GameCodec 讀寫完整狀態
+    int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    Wall getWall() {
+        return wall;
+    }
+
+    boolean isAwaitingResponse() {
+        return awaitingResponse;
+    }
+
+    void restoreState(int currentPlayerIndex, GameState state, Tile lastDiscardedTile,
+                      int lastDiscardedByIndex, int winnerIndex, EndType endType,
+                      int turnCount, boolean awaitingResponse) {
+        restoreState(currentPlayerIndex, state, lastDiscardedTile, lastDiscardedByIndex, winnerIndex,
+                endType, null, turnCount, awaitingResponse);
+    }
+
+    // winType 不為 null 時依還原後的手牌重新計算贏家的台數
+    void restoreState(int currentPlayerIndex, GameState state, Tile lastDiscardedTile,
+                      int lastDiscardedByIndex, int winnerIndex, EndType endType, WinType winType,
+                      int turnCount, boolean awaitingResponse) {
+        setState(currentPlayerIndex, state, lastDiscardedTile, lastDiscardedByIndex, winnerIndex,
+                endType, winType, turnCount, awaitingResponse);
+        rebuildLedger();
+    }
+
+    // 與 restoreState 相同但不重建帳本：重播時連續套用多個事件，最後才呼叫一次 rebuildLedger
+    void setState(int currentPlayerIndex, GameState state, Tile lastDiscardedTile,
+                  int lastDiscardedByIndex, int winnerIndex, EndType endType, WinType winType,
+                  int turnCount, boolean awaitingResponse) {
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentState = state;
+        this.lastDiscardedTile = lastDiscardedTile;
+        this.lastDiscardedByIndex = lastDiscardedByIndex;
+        this.winner = winnerIndex < 0 ? null : players[winnerIndex];
+        this.endType = endType;
+        this.winType = winner == null ? null : winType;
+        this.score = this.winType == null ? null : ScoreCalculator.score(this, winner, this.winType);
+        this.turnCount = turnCount;
+        this.awaitingResponse = false;
+        if (journal != null) {
+            journal.clear();  // 直接設定的狀態無法再撤銷
         }
-        if (wall.isEmpty()) {
-            endType = EndType.DRAW;
-            currentState = GameState.FINISHED;
-            displayFinalState();
+        claims.close();
+        if (awaitingResponse && state == GameState.RESPONDING && lastDiscardedTile != null) {
+            // 重新開啟回應窗口（不再提示）；沒有人類玩家要回應時由 step() 重新詢問
+            claims.open(lastDiscardedByIndex, lastDiscardedTile, players, 0);
+            this.awaitingResponse = claims.hasPending();
         }
     }
 
-    // 顯示最終狀態
-    private void displayFinalState() {
-        System.out.println("\n=== Game Over ===");
-        if (endType == EndType.WIN) {
-            System.out.println("Winner: " + winner.getName());
-        } else {
-            System.out.println("Game ended in a draw (流局)");
-        }
+    // 直接修改牌山或手牌之後（解碼、搜尋時重新分配看不到的牌）重新建立帳本
+    void rebuildLedger() {
+        ledger.rebuild(wall, players);
+    }
 
-        checkTotalTiles();
+    // 牌的帳本（各位置張數、守恆錯誤）
+    public TileLedger getLedger() {
+        return ledger;
+    }
 
-        System.out.println("\n=== Final State for Each Player ===");
-        for (Player player : players) {
-            System.out.println("\n" + player.getName() + ":");
-            System.out.println("Hand: " + player.getHandString());
-            System.out.println("Flowers: " + player.getFlowers());
-            System.out.println("Melds: " + player.getMelds());
-            System.out.println("Discarded: " + player.getDiscarded());
+    public boolean checkWin(Player player) {
+        // 手牌張數直方圖 + 已鳴牌組數，逐門查表判定 5 組面子 + 1 對將
+        long start = metrics.start();
+        JfrWinCheckEvent event = new JfrWinCheckEvent();
+        event.begin();
+        boolean win = WinTable.isWinningHand(player.getTileCounts(), player.getMelds().size());
+        metrics.record(GamePhase.WIN_CHECK, start);
+        if (recording() && event.shouldCommit()) {
+            event.seat = getPlayerIndex(player);
+            event.handSize = player.getHand().size();
+            event.win = win;
+            event.commit();
         }
+        return win;
+    }
 
-        System.out.println("\nRemaining tiles in wall: " + wall.size());
-        System.out.println("===============================");
+    // 這張牌是否為玩家的胡牌（查詢快取的聽牌遮罩）
+    public boolean canWinWith(Player player, Tile tile) {
+        return WaitingTiles.isWinningTile(player, tile);
     }
 
-    // 檢查牌的總數是否正確
-    private void checkTotalTiles() {
-        Map<String, Integer> tileCount = new HashMap<>();
-        int totalCount = 0;
+    // 胡別人打出的牌：把牌從打出牌堆移到胡牌者手上
+    private void winByDiscard(Player player) {
+        takeLastDiscard();
+        player.addTile(lastDiscardedTile);
+        ledger.move(this, lastDiscardedTile.getId(), TileLocation.DISCARD, lastDiscardedByIndex,
+                TileLocation.HAND, getPlayerIndex(player));
+        declareWin(player, WinType.DISCARD);
+    }
 
-        // 計算牌山中的牌
-        for (Tile tile : wall) {
-            String key = tile.getType() + "-" + tile.getNumber();
-            tileCount.put(key, tileCount.getOrDefault(key, 0) + 1);
-            totalCount++;
+    // 從最後打牌玩家的打出牌堆移除最後一張
+    private void takeLastDiscard() {
+        List<Tile> discarded = players[lastDiscardedByIndex].getDiscarded();
+        if (!discarded.isEmpty()) {
+            discarded.remove(discarded.size() - 1);
         }
+    }
 
-        // 計算所有玩家的牌（手牌、鳴牌組、打出的牌、花牌）
-        for (Player player : players) {
-            // 計算手牌
-            for (Tile tile : player.getHand()) {
-                String key = tile.getType() + "-" + tile.getNumber();
-                tileCount.put(key, tileCount.getOrDefault(key, 0) + 1);
-                totalCount++;
-            }
+    // 帳本：新鳴牌組的最後一張來自打出的牌，其餘來自手牌
+    private void recordMeldMoves(Player player) {
+        ledger.meld(this, getPlayerIndex(player), lastDiscardedByIndex, lastMeld(player).getTiles());
+    }
 
-            // 計算花牌
-            for (Tile tile : player.getFlowers()) {
-                String key = tile.getType() + "-" + tile.getNumber();
-                tileCount.put(key, tileCount.getOrDefault(key, 0) + 1);
-                totalCount++;
-            }
+    // 玩家最新的鳴牌組
+    private Meld lastMeld(Player player) {
+        List<Meld> melds = player.getMelds();
+        return melds.get(melds.size() - 1);
+    }
+
+    // 胡牌：通知胡牌方式後結束遊戲
+    private void declareWin(Player player, WinType winType) {
+        this.winType = winType;
+        listener.onWin(player, winType);
+        declareWin(player);
+    }
+
+    // 宣告胡牌（計算台數後才通知遊戲結束，監聽者可以直接讀取）
+    public void declareWin(Player player) {
+        winner = player;
+        endType = EndType.WIN;
+        currentState = GameState.FINISHED;
+        score = ScoreCalculator.score(this, player, winType);
+        gameFinished();
+        listener.onGameOver(this);
+    }
+
+    // 遊戲結束：更新計數器並送出整局的 JFR 事件（JFR 沒在錄製時 shouldCommit 為 false）
+    // apply 中結束的對局可能被 undo，不計數也不送出（保留 gameEvent 給真正結束時）
+    private void gameFinished() {
+        if (searching) {
+            return;
+        }
+        metrics.gameFinished(endType);
+        if (gameEvent != null && gameEvent.shouldCommit()) {
+            gameEvent.seed = seed;
+            gameEvent.endType = endType.name();
+            gameEvent.winnerSeat = getWinnerIndex();
+            gameEvent.turns = turnCount;
+            gameEvent.commit();
+        }
+        gameEvent = null;
+    }
 
-            // 計算打出的牌
-            for (Tile tile : player.getDiscarded()) {
-                String key = tile.getType() + "-" + tile.getNumber();
-                tileCount.put(key, tileCount.getOrDefault(key, 0) + 1);
-                totalCount++;
+    // 檢查牌的總數是否正確，回傳檢查報告（直接讀帳本，不需要重新掃描）
+    public List<String> checkTotalTiles() {
+        List<String> report = new ArrayList<>();
+        report.add("\n=== Tile Count Check ===");
+        report.add("Total tiles: " + countTiles() + " (should be " + TileCatalog.TOTAL_TILES + ")");
+
+        for (int id = 0; id < TileCatalog.ID_COUNT; id++) {
+            int count = ledger.total(id);
+            int expected = TileCatalog.copiesOf(id);
+            if (count > expected) {
+                report.add("Error: " + TileCatalog.get(id) +
+                        " appears " + count + " times (should be " +
+                        (TileCatalog.isFlower(id) ? "1" : "<= 4") + ")");
             }
+        }
+        if (ledger.getViolations() > 0) {
+            report.add("Error: " + ledger.getViolations() + " tile moves broke conservation, first: "
+                    + ledger.getFirstViolation());
+        }
+        report.add("======================");
+        return report;
+    }
 
-            // 計算鳴牌組
+    // 實際狀態中的總張數：牌山剩餘 + 每位玩家的手牌、花牌、打出的牌與鳴牌（帳本的移動不會改變總數，不能拿來檢查）
+    private int countTiles() {
+        int total = wall.remaining();
+        for (Player player : players) {
+            total += player.getHand().size() + player.getFlowers().size() + player.getDiscarded().size();
             for (Meld meld : player.getMelds()) {
-                for (Tile tile : meld.getTiles()) {
-                    String key = tile.getType() + "-" + tile.getNumber();
-                    tileCount.put(key, tileCount.getOrDefault(key, 0) + 1);
-                    totalCount++;
-                }
+                total += meld.getTiles().size();
             }
         }
-
-        // 檢查並輸出問題
-        System.out.println("\n=== Tile Count Check ===");
-        System.out.println("Total tiles: " + totalCount + " (should be 144)");
-
-        for (Map.Entry<String, Integer> entry : tileCount.entrySet()) {
-            String[] parts = entry.getKey().split("-");
-            Tile.TileType type = Tile.TileType.valueOf(parts[0]);
-            int number = Integer.parseInt(parts[1]);
-            int count = entry.getValue();
-
-            // 檢查基本牌是否超過4張
-            if (type != Tile.TileType.FLOWER && count > 4) {
-                System.out.println("Error: " + getTileName(type, number) +
-                        " appears " + count + " times (should be <= 4)");
-            }
-            // 檢查花牌是否超過1張
-            else if (type == Tile.TileType.FLOWER && count > 1) {
-                System.out.println("Error: " + getTileName(type, number) +
-                        " appears " + count + " times (should be 1)");
-            }
-        }
-        System.out.println("======================");
-    }
-
-    // 輔助方法：獲取牌的中文名稱
-    private String getTileName(Tile.TileType type, int number) {
-        if (type == Tile.TileType.WIND) {
-            return switch (number) {
-                case 1 -> "東";
-                case 2 -> "南";
-                case 3 -> "西";
-                case 4 -> "北";
-                default -> "未知風牌";
-            };
-        } else if (type == Tile.TileType.DRAGON) {
-            return switch (number) {
-                case 1 -> "中";
-                case 2 -> "發";
-                case 3 -> "白";
-                default -> "未知字牌";
-            };
-        } else if (type == Tile.TileType.FLOWER) {
-            return switch (number) {
-                case 1 -> "春";
-                case 2 -> "夏";
-                case 3 -> "秋";
-                case 4 -> "冬";
-                case 5 -> "梅";
-                case 6 -> "蘭";
-                case 7 -> "菊";
-                case 8 -> "竹";
-                default -> "未知花牌";
-            };
-        }
-        return number + type.getChinese();
+        return total;
     }
 
     // 測試用main方法
     public static void main(String[] args) {
-        Game game = new Game();
+        Game game = new Game(new ConsoleGameListener());
         game.startGame();
 
         Scanner scanner = new Scanner(System.in);
@@ -860,13 +1112,6 @@ public class Game {
                 String command = scanner.next().toUpperCase();
                 game.handleResponse(command);
             }
-
-            // 給一點時間顯示輸出
-            try {
-                Thread.sleep(300);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
         }
         scanner.close();
     }
@@ -0,0 +1,52 @@
+package example.game;
+
+import example.model.TileCatalog;
+
+// 動作的 int 編碼（不配置物件）：
+//   位元 0-3 類型、4-5 座位、6-11 牌 ID、12-17 吃牌順子的第一張牌 ID
+// 打牌、暗槓為當前玩家的動作；吃碰槓胡（別人打出的牌）與不要為回應動作
+// 自摸在摸牌時自動成立，不產生動作；不要只有一個，代表三家都不要，座位為打牌的人
+public final class GameAction {
+    public static final int DISCARD = 0;         // 打出 tile
+    public static final int CHI = 1;             // 吃 tile，順子由 chiStart 開始
+    public static final int PONG = 2;            // 碰 tile
+    public static final int KONG = 3;            // 明槓 tile
+    public static final int CONCEALED_KONG = 4;  // 暗槓 tile
+    public static final int WIN = 5;             // 胡 tile
+    public static final int PASS = 6;            // 所有人都不要（seat 為打牌的人，tile 為打出的牌）
+
+    private static final String[] NAMES = {"DISCARD", "CHI", "PONG", "KONG", "CONCEALED_KONG", "WIN", "PASS"};
+
+    private GameAction() {
+    }
+
+    public static int of(int type, int seat, int tileId) {
+        return type | seat << 4 | tileId << 6;
+    }
+
+    public static int chi(int seat, int tileId, int startId) {
+        return CHI | seat << 4 | tileId << 6 | startId << 12;
+    }
+
+    public static int type(int action) {
+        return action & 0xF;
+    }
+
+    public static int seat(int action) {
+        return action >>> 4 & 0x3;
+    }
+
+    public static int tile(int action) {
+        return action >>> 6 & 0x3F;
+    }
+
+    public static int chiStart(int action) {
+        return action >>> 12 & 0x3F;
+    }
+
+    // 除錯用文字，例如 "CHI 1 4萬 (3萬)"
+    public static String toString(int action) {
+        String text = NAMES[type(action)] + " " + seat(action) + " " + TileCatalog.get(tile(action));
+        return type(action) == CHI ? text + " (" + TileCatalog.get(chiStart(action)) + ")" : text;
+    }
+}
@@ -0,0 +1,175 @@
+package example.game;
+
+import example.model.Meld;
+import example.model.MeldType;
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 整局狀態的精簡二進位編碼：每張牌以 1 個位元組的牌 ID 表示，一局通常只要兩三百個位元組
+// 格式（無號位元組，除非另外註明）：
+//   版本、種子（8）、回合數（2）、當前玩家、狀態、旗標、最後打出的牌（ID + 1，0 為無）、
+//   最後打牌玩家、贏家（座位 + 1）、結束類型（序號 + 1）、胡牌方式（序號 + 1）、牌山 head、tail、牌山剩餘的牌
+//   每位玩家：旗標、名稱（長度 + UTF-8）、手牌、花牌、打出的牌（各為張數 + ID）、
+//            鳴牌組數 + 每組（類型、張數、ID）
+// 洗牌與電腦決策用的亂數無法序列化，解碼後的對局以原本的種子重新開始亂數序列
+// 台數不另外編碼，解碼時依贏家的手牌與胡牌方式重新計算
+// 解碼後的對局使用 GameMetrics.disabled()，需要計數時再 setMetrics
+public final class GameCodec {
+    public static final int VERSION = 2;
+
+    private static final int MAX_NAME_BYTES = 255;
+    private static final int HEADER_BYTES = 19;
+    private static final int WALL_BYTES = 2 + TileCatalog.TOTAL_TILES;
+    private static final int PLAYER_BYTES = 1 + 1 + MAX_NAME_BYTES + 4
+            + WinTable.REQUIRED_SETS * 2;
+    // 所有牌最多各出現一次（最後打出的牌另外記在標頭），再加上各段的長度欄位
+    public static final int MAX_SIZE = HEADER_BYTES + WALL_BYTES + 4 * PLAYER_BYTES;
+
+    private static final int FLAG_AWAITING_RESPONSE = 1;
+    private static final int FLAG_HUMAN = 1;
+
+    private static final GameState[] STATES = GameState.values();
+    private static final EndType[] END_TYPES = EndType.values();
+    private static final WinType[] WIN_TYPES = WinType.values();
+    private static final MeldType[] MELD_TYPES = MeldType.values();
+
+    private GameCodec() {
+    }
+
+    public static byte[] encode(Game game) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_SIZE);
+        encode(game, buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    // 寫入呼叫端提供的緩衝區（可重複使用，不配置物件）
+    public static void encode(Game game, ByteBuffer out) {
+        out.put((byte) VERSION);
+        out.putLong(game.getSeed());
+        out.putShort((short) game.getTurnCount());
+        out.put((byte) game.getCurrentPlayerIndex());
+        out.put((byte) game.getCurrentState().ordinal());
+        out.put((byte) (game.isAwaitingResponse() ? FLAG_AWAITING_RESPONSE : 0));
+        Tile last = game.getLastDiscardedTile();
+        out.put((byte) (last == null ? 0 : last.getId() + 1));
+        out.put((byte) game.getLastDiscardedByIndex());
+        out.put((byte) (game.getWinnerIndex() + 1));
+        EndType endType = game.getEndType();
+        out.put((byte) (endType == null ? 0 : endType.ordinal() + 1));
+        WinType winType = game.getWinType();
+        out.put((byte) (winType == null ? 0 : winType.ordinal() + 1));
+
+        Wall wall = game.getWall();
+        out.put((byte) wall.head());
+        out.put((byte) wall.tail());
+        for (int pos = wall.head(); pos < wall.tail(); pos++) {
+            out.put((byte) wall.slot(pos));
+        }
+
+        for (Player player : game.getPlayers()) {
+            out.put((byte) (player.isHuman() ? FLAG_HUMAN : 0));
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_NAME_BYTES) {
+                throw new IllegalArgumentException("Player name too long: " + player.getName());
+            }
+            out.put((byte) name.length);
+            out.put(name);
+            putTiles(out, player.getHand());
+            putTiles(out, player.getFlowers());
+            putTiles(out, player.getDiscarded());
+            out.put((byte) player.getMelds().size());
+            for (Meld meld : player.getMelds()) {
+                out.put((byte) meld.getType().ordinal());
+                putTiles(out, meld.getTiles());
+            }
+        }
+    }
+
+    public static Game decode(byte[] data) {
+        return decode(ByteBuffer.wrap(data), GameListener.NONE);
+    }
+
+    public static Game decode(ByteBuffer in, GameListener listener) {
+        return decode(in, listener, false);
+    }
+
+    // computersOnly：所有座位都以電腦玩家還原並標記為模擬對局（搜尋時模擬整局用，不送 JFR 事件）
+    static Game decode(ByteBuffer in, GameListener listener, boolean computersOnly) {
+        int version = in.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported game encoding version: " + version);
+        }
+        long seed = in.getLong();
+        int turnCount = in.getShort() & 0xFFFF;
+        int currentPlayerIndex = in.get() & 0xFF;
+        GameState state = STATES[in.get() & 0xFF];
+        boolean awaitingResponse = (in.get() & FLAG_AWAITING_RESPONSE) != 0;
+        int lastId = in.get() & 0xFF;
+        Tile lastDiscarded = lastId == 0 ? null : TileCatalog.get(lastId - 1);
+        int lastDiscardedByIndex = in.get() & 0xFF;
+        int winnerIndex = (in.get() & 0xFF) - 1;
+        int endOrdinal = in.get() & 0xFF;
+        EndType endType = endOrdinal == 0 ? null : END_TYPES[endOrdinal - 1];
+        int winOrdinal = in.get() & 0xFF;
+        WinType winType = winOrdinal == 0 ? null : WIN_TYPES[winOrdinal - 1];
+
+        int head = in.get() & 0xFF;
+        int tail = in.get() & 0xFF;
+        int[] wallIds = new int[tail - head];
+        for (int i = 0; i < wallIds.length; i++) {
+            wallIds[i] = in.get();
+        }
+
+        Player[] players = new Player[4];
+        for (int seat = 0; seat < players.length; seat++) {
+            boolean human = (in.get() & FLAG_HUMAN) != 0 && !computersOnly;
+            byte[] name = new byte[in.get() & 0xFF];
+            in.get(name);
+            Player player = new Player(new String(name, StandardCharsets.UTF_8), human);
+            getTiles(in, player.getHand());
+            getTiles(in, player.getFlowers());
+            getTiles(in, player.getDiscarded());
+            int meldCount = in.get() & 0xFF;
+            for (int i = 0; i < meldCount; i++) {
+                MeldType type = MELD_TYPES[in.get() & 0xFF];
+                List<Tile> tiles = new ArrayList<>(4);
+                getTiles(in, tiles);
+                player.getMelds().add(new Meld(type, tiles));
+            }
+            players[seat] = player;
+        }
+
+        Game game = new Game(players, listener, seed);
+        game.setMetrics(GameMetrics.disabled());
+        game.setSimulated(computersOnly);
+        Wall wall = game.getWall();
+        for (int i = 0; i < wallIds.length; i++) {
+            wall.setSlot(head + i, wallIds[i]);
+        }
+        wall.setCursors(head, tail);
+        game.restoreState(currentPlayerIndex, state, lastDiscarded, lastDiscardedByIndex,
+                winnerIndex, endType, winType, turnCount, awaitingResponse);
+        return game;
+    }
+
+    private static void putTiles(ByteBuffer out, List<Tile> tiles) {
+        out.put((byte) tiles.size());
+        for (int i = 0; i < tiles.size(); i++) {
+            out.put((byte) tiles.get(i).getId());
+        }
+    }
+
+    private static void getTiles(ByteBuffer in, List<Tile> target) {
+        int count = in.get() & 0xFF;
+        for (int i = 0; i < count; i++) {
+            target.add(TileCatalog.get(in.get()));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package example.game;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// 事件記錄中的一個事件（讀取時使用；寫入由 GameRecorder 直接輸出位元組）
+// 位元組格式：第一個位元組為 GameEventType 序號，其後依類型而定
+//   GAME_STARTED                        ：無
+//   TURN                                ：座位
+//   DRAW / REPLACEMENT_DRAW / DISCARD   ：座位、牌 ID
+//   CHI / PONG / KONG / CONCEALED_KONG  ：座位、張數、牌 ID（與 Meld 內順序相同，吃碰明槓的最後一張為別人打出的牌）
+//   WIN                                 ：座位、WinType 序號
+//   GAME_OVER                           ：EndType 序號
+public final class GameEvent {
+    private static final GameEventType[] TYPES = GameEventType.values();
+    private static final WinType[] WIN_TYPES = WinType.values();
+    private static final EndType[] END_TYPES = EndType.values();
+    private static final int[] NO_TILES = new int[0];
+
+    private final GameEventType type;
+    private final int seat;       // 沒有座位的事件為 -1
+    private final int[] tileIds;
+    private final int detail;     // WIN 為 WinType 序號、GAME_OVER 為 EndType 序號，其餘為 -1
+
+    GameEvent(GameEventType type, int seat, int[] tileIds, int detail) {
+        this.type = type;
+        this.seat = seat;
+        this.tileIds = tileIds;
+        this.detail = detail;
+    }
+
+    // 從目前位置讀取一個事件
+    static GameEvent read(ByteBuffer in) {
+        GameEventType type = TYPES[in.get() & 0xFF];
+        return switch (type) {
+            case GAME_STARTED -> new GameEvent(type, -1, NO_TILES, -1);
+            case TURN -> new GameEvent(type, in.get(), NO_TILES, -1);
+            case DRAW, REPLACEMENT_DRAW, DISCARD -> {
+                int seat = in.get();
+                yield new GameEvent(type, seat, new int[]{in.get()}, -1);
+            }
+            case CHI, PONG, KONG, CONCEALED_KONG -> {
+                int seat = in.get();
+                int[] tiles = new int[in.get()];
+                for (int i = 0; i < tiles.length; i++) {
+                    tiles[i] = in.get();
+                }
+                yield new GameEvent(type, seat, tiles, -1);
+            }
+            case WIN -> {
+                int seat = in.get();
+                yield new GameEvent(type, seat, NO_TILES, in.get());
+            }
+            case GAME_OVER -> new GameEvent(type, -1, NO_TILES, in.get());
+        };
+    }
+
+    public GameEventType getType() {
+        return type;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    // 摸牌、打牌事件的牌 ID
+    public int getTileId() {
+        return tileIds[0];
+    }
+
+    // 鳴牌事件的所有牌 ID
+    public int[] getTileIds() {
+        return tileIds.clone();
+    }
+
+    int tileIdAt(int index) {
+        return tileIds[index];
+    }
+
+    int tileCount() {
+        return tileIds.length;
+    }
+
+    public WinType getWinType() {
+        return type == GameEventType.WIN ? WIN_TYPES[detail] : null;
+    }
+
+    public EndType getEndType() {
+        return type == GameEventType.GAME_OVER ? END_TYPES[detail] : null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(type.name());
+        if (seat >= 0) {
+            sb.append(" seat=").append(seat);
+        }
+        if (tileIds.length > 0) {
+            sb.append(" tiles=").append(Arrays.toString(tileIds));
+        }
+        if (type == GameEventType.WIN) {
+            sb.append(' ').append(getWinType());
+        } else if (type == GameEventType.GAME_OVER) {
+            sb.append(' ').append(getEndType());
+        }
+        return sb.toString();
+    }
+}
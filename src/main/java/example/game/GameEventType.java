@@ -0,0 +1,42 @@
+package example.game;
+
+import example.model.MeldType;
+
+public enum GameEventType {
+    GAME_STARTED,      // 配牌、補花完成
+    TURN,              // 回合開始
+    DRAW,              // 一般摸牌（含配牌）
+    REPLACEMENT_DRAW,  // 補花或槓後從補牌端補牌
+    DISCARD,           // 打牌
+    CHI,               // 吃
+    PONG,              // 碰
+    KONG,              // 明槓
+    CONCEALED_KONG,    // 暗槓
+    WIN,               // 胡牌
+    GAME_OVER;         // 遊戲結束（胡牌或流局）
+
+    // 鳴牌類型對應的事件
+    public static GameEventType of(MeldType meldType) {
+        return switch (meldType) {
+            case CHI -> CHI;
+            case PONG -> PONG;
+            case KONG -> KONG;
+            case CONCEALED_KONG -> CONCEALED_KONG;
+        };
+    }
+
+    public boolean isMeld() {
+        return this == CHI || this == PONG || this == KONG || this == CONCEALED_KONG;
+    }
+
+    // 鳴牌事件對應的鳴牌類型
+    public MeldType meldType() {
+        return switch (this) {
+            case CHI -> MeldType.CHI;
+            case PONG -> MeldType.PONG;
+            case KONG -> MeldType.KONG;
+            case CONCEALED_KONG -> MeldType.CONCEALED_KONG;
+            default -> throw new IllegalStateException(this + " is not a meld event");
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package example.game;
+
+import example.model.Meld;
+import example.model.Player;
+import example.model.Tile;
+
+import java.util.List;
+
+// 遊戲事件接收者：Game 只負責規則與狀態，所有輸出都透過這個介面
+// 所有方法預設不做事，無介面模式（模擬、測試）直接使用 NONE
+public interface GameListener {
+    GameListener NONE = new GameListener() {
+    };
+
+    // 開始發牌（之後的摸牌事件都屬於配牌）
+    default void onDealStarted(Game game) {
+    }
+
+    // 開局（發牌、補花完成後）
+    default void onGameStarted(Game game) {
+    }
+
+    // 新回合開始（摸牌前）
+    default void onTurnStarted(Game game, Player player) {
+    }
+
+    // 摸到一張牌；replacement 表示補花或槓後補牌
+    default void onTileDrawn(Player player, Tile tile, boolean replacement) {
+    }
+
+    // 人類玩家可以暗槓
+    default void onConcealedKongOptions(Player player, List<List<Integer>> options) {
+    }
+
+    // 等待人類玩家打牌
+    default void onDiscardRequested(Player player) {
+    }
+
+    // 玩家打出一張牌
+    default void onTileDiscarded(Player player, Tile tile) {
+    }
+
+    // 人類玩家可以胡別人打出的牌
+    default void onWinAvailable(Player player, Tile tile) {
+    }
+
+    // 人類玩家可以吃碰槓，options 為顯示用的選項說明
+    default void onClaimOptions(Player player, Tile tile, List<String> options) {
+    }
+
+    // 玩家吃、碰、槓成功
+    default void onMeldClaimed(Player player, Meld meld) {
+    }
+
+    // 人類玩家略過吃碰槓
+    default void onActionSkipped() {
+    }
+
+    // 輸入不合法
+    default void onInvalidCommand(String message) {
+    }
+
+    // 玩家胡牌（在 onGameOver 之前）
+    default void onWin(Player player, WinType winType) {
+    }
+
+    // 遊戲結束（胡牌或流局）
+    default void onGameOver(Game game) {
+    }
+}
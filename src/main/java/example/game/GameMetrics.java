@@ -0,0 +1,259 @@
+package example.game;
+
+import example.model.MeldType;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// 對局的計數器與各階段延遲直方圖，可由 JMX 或定期文字報告讀取
+// 停用時每個計時點只多一次 volatile 讀取與分支，不呼叫 System.nanoTime()，可以一直留在正式環境
+// 所有對局預設共用 global()；系統屬性 mahjong.metrics=true 時一開始就啟用
+// 解碼出來的對局（重播、搜尋模擬）改用 disabled()，不會把模擬的局數算進全域計數
+public final class GameMetrics implements GameMetricsMXBean {
+    public static final String OBJECT_NAME = "example.game:type=GameMetrics";
+
+    private static final GamePhase[] PHASES = GamePhase.values();
+    private static final MeldType[] MELD_TYPES = MeldType.values();
+    private static final GameMetrics GLOBAL = new GameMetrics(Boolean.getBoolean("mahjong.metrics"));
+    private static final GameMetrics DISABLED = new GameMetrics(false);
+
+    private volatile boolean enabled;
+    private volatile long resetNanos = System.nanoTime();
+    private final LatencyHistogram[] phases = new LatencyHistogram[PHASES.length];
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder discards = new LongAdder();
+    private final LongAdder[] claims = new LongAdder[MELD_TYPES.length];
+
+    public GameMetrics() {
+        this(false);
+    }
+
+    public GameMetrics(boolean enabled) {
+        this.enabled = enabled;
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < claims.length; i++) {
+            claims[i] = new LongAdder();
+        }
+    }
+
+    public static GameMetrics global() {
+        return GLOBAL;
+    }
+
+    // 共用的停用計數器，無法啟用
+    public static GameMetrics disabled() {
+        return DISABLED;
+    }
+
+    // 以 OBJECT_NAME 註冊到平台 MBeanServer（已註冊時不做事）
+    public static void registerGlobal() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(GLOBAL, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // 已經註冊
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    // 每 periodMillis 輸出一次文字報告，關閉回傳的物件即停止
+    public AutoCloseable scheduleDump(PrintStream out, long periodMillis) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(() -> out.print(dump()), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        return timer::shutdownNow;
+    }
+
+    // 計時開始：停用時回傳 0，對應的 record 直接略過
+    long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    void record(GamePhase phase, long start) {
+        if (start != 0) {
+            phases[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    void gameStarted() {
+        if (enabled) {
+            gamesStarted.increment();
+        }
+    }
+
+    void gameFinished(EndType endType) {
+        if (enabled) {
+            (endType == EndType.WIN ? wins : draws).increment();
+        }
+    }
+
+    void discarded() {
+        if (enabled) {
+            discards.increment();
+        }
+    }
+
+    void claimed(MeldType type) {
+        if (enabled) {
+            claims[type.ordinal()].increment();
+        }
+    }
+
+    public LatencyHistogram getHistogram(GamePhase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    public long getClaims(MeldType type) {
+        return claims[type.ordinal()].sum();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled && this != DISABLED;
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    @Override
+    public long getGamesFinished() {
+        return wins.sum() + draws.sum();
+    }
+
+    @Override
+    public long getWins() {
+        return wins.sum();
+    }
+
+    @Override
+    public long getDraws() {
+        return draws.sum();
+    }
+
+    @Override
+    public double getGamesPerSecond() {
+        double seconds = (System.nanoTime() - resetNanos) / 1e9;
+        return seconds <= 0 ? 0 : getGamesFinished() / seconds;
+    }
+
+    @Override
+    public long getDiscards() {
+        return discards.sum();
+    }
+
+    @Override
+    public Map<String, Long> getClaims() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (MeldType type : MELD_TYPES) {
+            result.put(type.name(), getClaims(type));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getClaimRates() {
+        long total = discards.sum();
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (MeldType type : MELD_TYPES) {
+            result.put(type.name(), total == 0 ? 0.0 : (double) getClaims(type) / total);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getPhaseCounts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (GamePhase phase : PHASES) {
+            result.put(phase.name(), getHistogram(phase).getCount());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMeanMicros() {
+        return perPhase(LatencyHistogram::getMeanNanos);
+    }
+
+    @Override
+    public Map<String, Double> getPhaseP99Micros() {
+        return perPhase(h -> (double) h.getPercentileNanos(0.99));
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMaxMicros() {
+        return perPhase(h -> (double) h.getMaxNanos());
+    }
+
+    private Map<String, Double> perPhase(Function<LatencyHistogram, Double> nanos) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (GamePhase phase : PHASES) {
+            result.put(phase.name(), nanos.apply(getHistogram(phase)) / 1000.0);
+        }
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram phase : phases) {
+            phase.reset();
+        }
+        for (LongAdder claim : claims) {
+            claim.reset();
+        }
+        gamesStarted.reset();
+        wins.reset();
+        draws.reset();
+        discards.reset();
+        resetNanos = System.nanoTime();
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Game Metrics").append(enabled ? "" : " (disabled)").append(" ===\n");
+        sb.append(String.format("games: started=%d finished=%d wins=%d draws=%d (%.1f games/s)%n",
+                getGamesStarted(), getGamesFinished(), getWins(), getDraws(), getGamesPerSecond()));
+        long total = discards.sum();
+        sb.append("discards: ").append(total);
+        for (MeldType type : MELD_TYPES) {
+            long n = getClaims(type);
+            sb.append(String.format(" %s=%d (%.2f%%)", type, n, total == 0 ? 0.0 : 100.0 * n / total));
+        }
+        sb.append('\n');
+        sb.append(String.format("%-10s %12s %10s %10s %10s %10s%n",
+                "phase", "count", "mean(us)", "p50(us)", "p99(us)", "max(us)"));
+        for (GamePhase phase : PHASES) {
+            LatencyHistogram h = getHistogram(phase);
+            sb.append(String.format("%-10s %12d %10.2f %10.2f %10.2f %10.2f%n", phase, h.getCount(),
+                    h.getMeanNanos() / 1000.0, h.getPercentileNanos(0.5) / 1000.0,
+                    h.getPercentileNanos(0.99) / 1000.0, h.getMaxNanos() / 1000.0));
+        }
+        return sb.toString();
+    }
+}
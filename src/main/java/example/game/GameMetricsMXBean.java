@@ -0,0 +1,44 @@
+package example.game;
+
+import java.util.Map;
+
+// GameMetrics 的 JMX 介面（jconsole 等工具中的 example.game:type=GameMetrics）
+public interface GameMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getGamesStarted();
+
+    long getGamesFinished();
+
+    long getWins();
+
+    long getDraws();
+
+    // 自上次 reset 以來每秒結束的局數
+    double getGamesPerSecond();
+
+    long getDiscards();
+
+    // 各鳴牌類型的次數
+    Map<String, Long> getClaims();
+
+    // 各鳴牌類型每次打牌的比例
+    Map<String, Double> getClaimRates();
+
+    // 各階段的呼叫次數
+    Map<String, Long> getPhaseCounts();
+
+    // 各階段的平均、p99、最大延遲（微秒）
+    Map<String, Double> getPhaseMeanMicros();
+
+    Map<String, Double> getPhaseP99Micros();
+
+    Map<String, Double> getPhaseMaxMicros();
+
+    void reset();
+
+    // 與定期輸出相同的文字報告
+    String dump();
+}
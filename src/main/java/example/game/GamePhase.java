@@ -0,0 +1,12 @@
+package example.game;
+
+// 計時的遊戲階段（時間為包含式：回合包含摸牌與胡牌檢查，處理打出的牌包含吃碰槓）
+public enum GamePhase {
+    TURN,       // playTurn：摸牌階段
+    DRAW,       // drawAndAssignTile：摸一張牌（含補花）
+    RESPONSES,  // checkResponses：回應窗口與裁決
+    WIN_CHECK,  // checkWin：胡牌判定
+    CHI,        // executeChi
+    PONG,       // executePong
+    KONG        // executeKong（含補牌與槓上開花檢查）
+}
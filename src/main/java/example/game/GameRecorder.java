@@ -0,0 +1,172 @@
+package example.game;
+
+import example.model.Meld;
+import example.model.Player;
+import example.model.Tile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+// 把一局的事件編碼成 RecordedGame 格式，遊戲結束時整筆附加到事件記錄檔
+// 其他事件照常轉給 delegate（例如主控台輸出）；一局結束後可以重複用於下一局，但不可同時用於兩局
+public class GameRecorder implements GameListener {
+    private final EventLogWriter writer;
+    private final GameListener delegate;
+    private Game game;
+    private byte[] data = new byte[1024];
+    private int size;
+
+    public GameRecorder(EventLogWriter writer) {
+        this(writer, GameListener.NONE);
+    }
+
+    public GameRecorder(EventLogWriter writer, GameListener delegate) {
+        this.writer = writer;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onDealStarted(Game game) {
+        this.game = game;
+        size = 0;
+        long seed = game.getSeed();
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            data[size++] = (byte) (seed >>> shift);
+        }
+        for (Player player : game.getPlayers()) {
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > 255) {
+                throw new IllegalArgumentException("Player name too long: " + player.getName());
+            }
+            ensureCapacity(2 + name.length);
+            data[size++] = (byte) (player.isHuman() ? RecordedGame.FLAG_HUMAN : 0);
+            data[size++] = (byte) name.length;
+            System.arraycopy(name, 0, data, size, name.length);
+            size += name.length;
+        }
+        delegate.onDealStarted(game);
+    }
+
+    @Override
+    public void onGameStarted(Game game) {
+        put(GameEventType.GAME_STARTED);
+        delegate.onGameStarted(game);
+    }
+
+    @Override
+    public void onTurnStarted(Game game, Player player) {
+        put(GameEventType.TURN, seatOf(player));
+        delegate.onTurnStarted(game, player);
+    }
+
+    @Override
+    public void onTileDrawn(Player player, Tile tile, boolean replacement) {
+        put(replacement ? GameEventType.REPLACEMENT_DRAW : GameEventType.DRAW, seatOf(player), tile.getId());
+        delegate.onTileDrawn(player, tile, replacement);
+    }
+
+    @Override
+    public void onConcealedKongOptions(Player player, List<List<Integer>> options) {
+        delegate.onConcealedKongOptions(player, options);
+    }
+
+    @Override
+    public void onDiscardRequested(Player player) {
+        delegate.onDiscardRequested(player);
+    }
+
+    @Override
+    public void onTileDiscarded(Player player, Tile tile) {
+        put(GameEventType.DISCARD, seatOf(player), tile.getId());
+        delegate.onTileDiscarded(player, tile);
+    }
+
+    @Override
+    public void onWinAvailable(Player player, Tile tile) {
+        delegate.onWinAvailable(player, tile);
+    }
+
+    @Override
+    public void onClaimOptions(Player player, Tile tile, List<String> options) {
+        delegate.onClaimOptions(player, tile, options);
+    }
+
+    @Override
+    public void onMeldClaimed(Player player, Meld meld) {
+        List<Tile> tiles = meld.getTiles();
+        ensureCapacity(3 + tiles.size());
+        data[size++] = (byte) GameEventType.of(meld.getType()).ordinal();
+        data[size++] = (byte) seatOf(player);
+        data[size++] = (byte) tiles.size();
+        for (int i = 0; i < tiles.size(); i++) {
+            data[size++] = (byte) tiles.get(i).getId();
+        }
+        delegate.onMeldClaimed(player, meld);
+    }
+
+    @Override
+    public void onActionSkipped() {
+        delegate.onActionSkipped();
+    }
+
+    @Override
+    public void onInvalidCommand(String message) {
+        delegate.onInvalidCommand(message);
+    }
+
+    @Override
+    public void onWin(Player player, WinType winType) {
+        put(GameEventType.WIN, seatOf(player), winType.ordinal());
+        delegate.onWin(player, winType);
+    }
+
+    @Override
+    public void onGameOver(Game game) {
+        put(GameEventType.GAME_OVER, game.getEndType().ordinal());
+        try {
+            writer.append(data, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.game = null;
+        delegate.onGameOver(game);
+    }
+
+    private int seatOf(Player player) {
+        Player[] players = game.getPlayers();
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Player is not seated: " + player.getName());
+    }
+
+    private void put(GameEventType type) {
+        ensureCapacity(1);
+        data[size++] = (byte) type.ordinal();
+    }
+
+    private void put(GameEventType type, int operand) {
+        ensureCapacity(2);
+        data[size++] = (byte) type.ordinal();
+        data[size++] = (byte) operand;
+    }
+
+    private void put(GameEventType type, int first, int second) {
+        ensureCapacity(3);
+        data[size++] = (byte) type.ordinal();
+        data[size++] = (byte) first;
+        data[size++] = (byte) second;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package example.game;
+
+import example.model.Meld;
+import example.model.MeldType;
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 重播錄製的對局：依種子重建牌山，再依序套用事件
+// 建立時完整重播一次，每 snapshotInterval 個事件存一份 GameCodec 快照；
+// 之後跳到任意事件只需解碼最近的快照並套用不到 snapshotInterval 個事件
+public class GameReplayer {
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 16;
+
+    private final RecordedGame record;
+    private final List<GameEvent> events;
+    private final int snapshotInterval;
+    private final List<byte[]> snapshots = new ArrayList<>();
+
+    public GameReplayer(RecordedGame record) {
+        this(record, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    public GameReplayer(RecordedGame record, int snapshotInterval) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive: " + snapshotInterval);
+        }
+        this.record = record;
+        this.events = record.events();
+        this.snapshotInterval = snapshotInterval;
+
+        Game game = new Game(record.createPlayers(), GameListener.NONE, record.getSeed());
+        for (int i = 0; i < events.size(); i++) {
+            if (i % snapshotInterval == 0) {
+                snapshots.add(GameCodec.encode(game));
+            }
+            apply(game, events.get(i));
+        }
+        if (events.size() % snapshotInterval == 0) {
+            snapshots.add(GameCodec.encode(game));
+        }
+    }
+
+    public RecordedGame getRecord() {
+        return record;
+    }
+
+    public int getEventCount() {
+        return events.size();
+    }
+
+    public GameEvent getEvent(int index) {
+        return events.get(index);
+    }
+
+    // 套用前 eventIndex 個事件後的對局（每次回傳新的 Game）
+    public Game gameAt(int eventIndex) {
+        if (eventIndex < 0 || eventIndex > events.size()) {
+            throw new IndexOutOfBoundsException("Event index " + eventIndex + " out of 0.." + events.size());
+        }
+        int snapshot = eventIndex / snapshotInterval;
+        Game game = GameCodec.decode(snapshots.get(snapshot));
+        for (int i = snapshot * snapshotInterval; i < eventIndex; i++) {
+            apply(game, events.get(i));
+        }
+        game.rebuildLedger();  // 解碼時已由快照建立，套用事件後再重建一次
+        return game;
+    }
+
+    // 整局結束時的狀態
+    public Game finalGame() {
+        return gameAt(events.size());
+    }
+
+    // 把一個事件套用到對局上，狀態變化與 Game 實際執行時相同（帳本不在此更新）
+    static void apply(Game game, GameEvent event) {
+        Player[] players = game.getPlayers();
+        int current = game.getCurrentPlayerIndex();
+        GameState state = game.getCurrentState();
+        Tile lastDiscarded = game.getLastDiscardedTile();
+        int lastBy = game.getLastDiscardedByIndex();
+        int winnerIndex = game.getWinnerIndex();
+        EndType endType = game.getEndType();
+        WinType winType = game.getWinType();
+        int turnCount = game.getTurnCount();
+
+        switch (event.getType()) {
+            case GAME_STARTED -> {
+                current = 0;
+                state = GameState.DRAWING;
+            }
+            case TURN -> {
+                current = event.getSeat();
+                turnCount++;
+                state = GameState.DRAWING;
+            }
+            case DRAW, REPLACEMENT_DRAW -> {
+                Wall wall = game.getWall();
+                Tile tile = event.getType() == GameEventType.DRAW ? wall.draw() : wall.drawReplacement();
+                if (tile.getId() != event.getTileId()) {
+                    throw new IllegalStateException("Replay diverged: wall gave " + tile
+                            + " but the log recorded " + TileCatalog.get(event.getTileId()));
+                }
+                Player player = players[event.getSeat()];
+                player.addTile(tile);
+                player.sortHand();
+                if (state != GameState.WAITING) {
+                    state = GameState.DISCARDING;
+                }
+            }
+            case DISCARD -> {
+                Player player = players[event.getSeat()];
+                player.discardTile(handIndex(player, event.getTileId()));
+                lastDiscarded = TileCatalog.get(event.getTileId());
+                lastBy = event.getSeat();
+                state = GameState.RESPONDING;
+            }
+            case CHI, PONG, KONG, CONCEALED_KONG -> {
+                Player player = players[event.getSeat()];
+                MeldType type = event.getType().meldType();
+                // 吃碰明槓的最後一張是別人打出的牌，其餘來自手牌
+                int fromHand = type == MeldType.CONCEALED_KONG ? event.tileCount() : event.tileCount() - 1;
+                List<Tile> tiles = new ArrayList<>(event.tileCount());
+                for (int i = 0; i < fromHand; i++) {
+                    int id = event.tileIdAt(i);
+                    player.getHand().remove(handIndex(player, id));
+                    tiles.add(TileCatalog.get(id));
+                }
+                if (type != MeldType.CONCEALED_KONG) {
+                    takeLastDiscard(players[lastBy]);
+                    tiles.add(TileCatalog.get(event.tileIdAt(fromHand)));
+                    lastDiscarded = null;
+                }
+                player.getMelds().add(new Meld(type, tiles));
+                current = event.getSeat();
+                state = GameState.DISCARDING;
+            }
+            case WIN -> {
+                if (event.getWinType() == WinType.DISCARD) {
+                    takeLastDiscard(players[lastBy]);
+                    players[event.getSeat()].addTile(lastDiscarded);
+                }
+                winnerIndex = event.getSeat();
+                endType = EndType.WIN;
+                winType = event.getWinType();
+                state = GameState.FINISHED;
+            }
+            case GAME_OVER -> {
+                endType = event.getEndType();
+                state = GameState.FINISHED;
+            }
+        }
+        // 帳本由 gameAt 在套用完所有事件後重建
+        game.setState(current, state, lastDiscarded, lastBy, winnerIndex, endType, winType,
+                turnCount, false);
+    }
+
+    private static int handIndex(Player player, int id) {
+        int index = player.getHand().indexOf(TileCatalog.get(id));
+        if (index < 0) {
+            throw new IllegalStateException("Replay diverged: " + player.getName()
+                    + " does not hold " + TileCatalog.get(id));
+        }
+        return index;
+    }
+
+    private static void takeLastDiscard(Player discarder) {
+        List<Tile> discarded = discarder.getDiscarded();
+        discarded.remove(discarded.size() - 1);
+    }
+}
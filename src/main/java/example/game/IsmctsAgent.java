@@ -0,0 +1,479 @@
+package example.game;
+
+import example.model.Meld;
+import example.model.MeldType;
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+// 資訊集蒙地卡羅搜尋（ISMCTS）電腦玩家，可同時當作打牌與鳴牌策略
+// 每次迭代：依自己看得到的牌（手牌、所有打出的牌、明的鳴牌、花牌）抽一組對手手牌與牌山順序，
+// 在這組抽樣上從目前的狀態開始模擬，自己的每個決策都沿著搜尋樹往下走：
+//   樹的節點是自己的資訊集，以自己做過的決策（打出的牌、對某種鳴牌的回答）區分；對手的動作與摸牌由模擬決定
+//   每個節點只在這次抽樣可行的動作（向聽數最小的打牌候選 / 鳴或不鳴）之間，以考慮可行次數的 UCB1 選擇
+//   每次迭代展開一個新節點，之後用牌效策略把整局模擬完，結果沿路徑回傳
+// 多個工作各自建一棵樹搜尋到時間用完（或達到迭代上限），最後合併根節點的統計；牌效策略的選擇為預設動作，
+// 只有模擬結果明顯較好的動作才會取代它，時間預算很少時不會比牌效策略差
+// 能胡時一定胡，不需要搜尋
+public class IsmctsAgent implements DiscardPolicy, ClaimPolicy {
+    private static final double EXPLORATION = 0.7;
+    private static final double SIGNIFICANCE = 1.0;
+    private static final double WIN_REWARD = 1.0;
+    private static final double DEAL_IN_REWARD = -1.0;     // 自己打出的牌被胡
+    private static final double OTHER_WIN_REWARD = -0.25;  // 其他人胡牌
+
+    private static final DiscardPolicy ROLLOUT_DISCARD = new EfficiencyDiscardPolicy();
+    private static final ClaimPolicy ROLLOUT_CLAIM = new EfficiencyClaimPolicy();
+
+    private final long budgetNanos;
+    private final int maxIterations;
+    private final ForkJoinPool pool;
+
+    // 每次決策最多使用 budgetMillis 毫秒，使用所有核心（專用的搜尋執行緒池）
+    public IsmctsAgent(long budgetMillis) {
+        this(budgetMillis, Integer.MAX_VALUE, SearchPool.POOL);
+    }
+
+    // maxIterations 為所有工作合計的迭代上限；單一工作且時間足夠時結果只取決於遊戲的亂數
+    public IsmctsAgent(long budgetMillis, int maxIterations, ForkJoinPool pool) {
+        if (budgetMillis <= 0 || maxIterations <= 0) {
+            throw new IllegalArgumentException("Budget and iteration limit must be positive");
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.maxIterations = maxIterations;
+        this.pool = pool;
+    }
+
+    @Override
+    public int chooseDiscard(Game game, Player player, SplittableRandom random) {
+        // 只在向聽數最小的候選牌之間搜尋；候選依牌效排序，第一個為預設動作
+        int[] actions = EfficiencyDiscardPolicy.rankDiscards(game, player);
+        if (actions.length == 1) {
+            return indexOf(player, actions[0]);
+        }
+
+        int best = search(game, seatOf(game, player), actions, null, 0, random);
+        return indexOf(player, actions[best]);
+    }
+
+    @Override
+    public boolean shouldClaim(Game game, Player player, MeldType type, Tile tile, SplittableRandom random) {
+        // 動作 0：不鳴、1：鳴；預設採用牌效鳴牌的判斷
+        int preferred = ROLLOUT_CLAIM.shouldClaim(game, player, type, tile, random) ? 1 : 0;
+        int[] keys = {claimKey(type, false), claimKey(type, true)};
+        int best = search(game, seatOf(game, player), keys, type, preferred, random);
+        return best == 1;
+    }
+
+    // 平行搜尋，回傳最佳的根節點動作（rootKeys 的索引）；rootType 為要回答的鳴牌類型，打牌時為 null
+    // preferred 為牌效策略的選擇
+    private int search(Game game, int seat, int[] rootKeys, MeldType rootType, int preferred,
+                       SplittableRandom random) {
+        byte[] base = GameCodec.encode(game);
+        int[] unknown = unknownTiles(game, seat);
+        long deadline = System.nanoTime() + budgetNanos;
+        int workers = Math.max(1, Math.min(pool.getParallelism(), maxIterations));
+        int perWorker = Math.max(1, maxIterations / workers);
+
+        // 以 CompletableFuture 等待：呼叫者若是某個池的工作執行緒，等待時不會順手執行該池中無關的工作
+        // （例如 TournamentRunner 的批次會重複使用執行緒專屬的牌山）
+        List<CompletableFuture<Node>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            SplittableRandom workerRandom = random.split();
+            tasks.add(CompletableFuture.supplyAsync(() -> grow(base, seat, unknown, rootKeys, rootType,
+                    workerRandom, deadline, perWorker), pool));
+        }
+        Stats total = new Stats(rootKeys.length);
+        for (CompletableFuture<Node> task : tasks) {
+            total.add(task.join(), rootKeys);
+        }
+        return total.best(preferred);
+    }
+
+    // 一個工作的搜尋：建一棵樹直到時間用完或達到迭代上限（每個根節點動作至少試一次）
+    static Node grow(byte[] base, int seat, int[] unknown, int[] rootKeys, MeldType rootType,
+                     SplittableRandom random, long deadline, int iterations) {
+        Node root = new Node(-1);
+        int[] tiles = unknown.clone();
+        for (int i = 0; i < iterations; i++) {
+            if (i >= rootKeys.length && System.nanoTime() >= deadline) {
+                break;
+            }
+            Outcome outcome = new Outcome();
+            Game copy = determinize(base, seat, tiles, random, outcome);
+            TreeWalk walk = new TreeWalk(root, rootKeys, rootType);
+            copy.setDiscardPolicy(seat, walk);
+            copy.setClaimPolicy(seat, walk);
+            copy.run();
+            walk.backpropagate(outcome.reward(copy, seat));
+        }
+        return root;
+    }
+
+    // 鳴牌決策在樹中的鍵（與打牌的牌 ID 不重疊）
+    static int claimKey(MeldType type, boolean claim) {
+        return TileCatalog.ID_COUNT + type.ordinal() * 2 + (claim ? 1 : 0);
+    }
+
+    // 還原對局並重新分配看不到的牌：對手手牌張數、暗槓組數與牌山張數不變
+    // 對手的暗槓從還有四張沒看到的牌種中抽；實際對局中花牌不會留在手上，所以手牌只從非花牌中抽，
+    // 看不到的花牌一定在牌山裡
+    static Game determinize(byte[] base, int seat, int[] tiles, SplittableRandom random,
+                            GameListener listener) {
+        Game copy = GameCodec.decode(ByteBuffer.wrap(base), listener, true);
+        Player[] players = copy.getPlayers();
+        int next = 0;
+        int handTiles = 0;
+        for (int i = 0; i < players.length; i++) {
+            if (i == seat) {
+                continue;
+            }
+            handTiles += players[i].getHand().size();
+            List<Meld> melds = players[i].getMelds();
+            for (int m = 0; m < melds.size(); m++) {
+                if (melds.get(m).getType() == MeldType.CONCEALED_KONG) {
+                    next = concealedKong(tiles, next, random);
+                    List<Tile> kong = new ArrayList<>(4);
+                    for (int k = next - 4; k < next; k++) {
+                        kong.add(TileCatalog.get(tiles[k]));
+                    }
+                    melds.set(m, new Meld(MeldType.CONCEALED_KONG, kong));
+                }
+            }
+        }
+        // 剩下的非花牌移到前面並洗牌，前 handTiles 張發給對手；其餘的非花牌與花牌一起洗成牌山
+        int nonFlowers = next;
+        for (int i = next; i < tiles.length; i++) {
+            if (!TileCatalog.isFlower(tiles[i])) {
+                swap(tiles, i, nonFlowers++);
+            }
+        }
+        if (nonFlowers - next < handTiles) {
+            throw new IllegalStateException("Not enough unseen non-flower tiles for the opponents' hands");
+        }
+        shuffle(tiles, next, nonFlowers, random);
+        shuffle(tiles, next + handTiles, tiles.length, random);
+
+        for (int i = 0; i < players.length; i++) {
+            copy.setDiscardPolicy(i, ROLLOUT_DISCARD);
+            copy.setClaimPolicy(i, ROLLOUT_CLAIM);
+            if (i == seat) {
+                continue;
+            }
+            List<Tile> hand = players[i].getHand();
+            int size = hand.size();
+            hand.clear();
+            for (int k = 0; k < size; k++) {
+                hand.add(TileCatalog.get(tiles[next++]));
+            }
+            players[i].sortHand();
+        }
+        Wall wall = copy.getWall();
+        for (int pos = wall.head(); pos < wall.tail(); pos++) {
+            wall.setSlot(pos, tiles[next++]);
+        }
+        copy.rebuildLedger();
+        return copy;
+    }
+
+    // 從 tiles[from..] 隨機抽一種還有四張的牌，移到 from 起的四格，回傳 from + 4
+    private static int concealedKong(int[] tiles, int from, SplittableRandom random) {
+        int[] counts = new int[TileCatalog.KIND_COUNT];
+        int kinds = 0;
+        for (int i = from; i < tiles.length; i++) {
+            if (!TileCatalog.isFlower(tiles[i]) && ++counts[tiles[i]] == 4) {
+                kinds++;
+            }
+        }
+        if (kinds == 0) {
+            throw new IllegalStateException("No unseen kind left for a concealed kong");
+        }
+        int pick = random.nextInt(kinds);
+        int kind = 0;
+        while (counts[kind] < 4 || pick-- > 0) {
+            kind++;
+        }
+        int to = from;
+        for (int i = from; i < tiles.length; i++) {
+            if (tiles[i] == kind) {
+                swap(tiles, i, to++);
+            }
+        }
+        return to;
+    }
+
+    // 從座位 seat 的角度看不到的牌（對手手牌、對手暗槓 + 牌山）
+    static int[] unknownTiles(Game game, int seat) {
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        for (int id = 0; id < counts.length; id++) {
+            counts[id] = TileCatalog.copiesOf(id);
+        }
+        Player[] players = game.getPlayers();
+        subtract(counts, players[seat].getHand());
+        int hidden = game.getRemainingTiles();
+        for (int i = 0; i < players.length; i++) {
+            subtract(counts, players[i].getFlowers());
+            subtract(counts, players[i].getDiscarded());
+            for (Meld meld : players[i].getMelds()) {
+                // 暗槓蓋著，對手的只知道有一組
+                if (i != seat && meld.getType() == MeldType.CONCEALED_KONG) {
+                    hidden += meld.getTiles().size();
+                } else {
+                    subtract(counts, meld.getTiles());
+                }
+            }
+            if (i != seat) {
+                hidden += players[i].getHand().size();
+            }
+        }
+
+        int[] tiles = new int[hidden];
+        int next = 0;
+        for (int id = 0; id < counts.length; id++) {
+            for (int k = 0; k < counts[id]; k++) {
+                if (next == hidden) {
+                    throw new IllegalStateException("Visible tiles do not add up to " + TileCatalog.TOTAL_TILES);
+                }
+                tiles[next++] = id;
+            }
+        }
+        if (next != hidden) {
+            throw new IllegalStateException("Visible tiles do not add up to " + TileCatalog.TOTAL_TILES);
+        }
+        return tiles;
+    }
+
+    // Fisher-Yates，只洗 [from, to)
+    private static void shuffle(int[] tiles, int from, int to, SplittableRandom random) {
+        for (int i = to - 1; i > from; i--) {
+            swap(tiles, i, from + random.nextInt(i - from + 1));
+        }
+    }
+
+    private static void swap(int[] tiles, int i, int j) {
+        int tmp = tiles[i];
+        tiles[i] = tiles[j];
+        tiles[j] = tmp;
+    }
+
+    private static void subtract(int[] counts, List<Tile> tiles) {
+        for (int i = 0; i < tiles.size(); i++) {
+            counts[tiles.get(i).getId()]--;
+        }
+    }
+
+    private static int seatOf(Game game, Player player) {
+        Player[] players = game.getPlayers();
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Player is not seated: " + player.getName());
+    }
+
+    private static int indexOf(Player player, int id) {
+        return player.getHand().indexOf(TileCatalog.get(id));
+    }
+
+    // 預設的搜尋執行緒池，第一次使用時才建立；不與 commonPool 上的其他工作共用執行緒
+    private static final class SearchPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    // 搜尋樹的節點：自己做出 key 這個決策之後的資訊集
+    static final class Node {
+        final int key;
+        int visits;
+        double total;
+        int available;  // 這個決策可行（被列入選擇）的次數
+        final List<Node> children = new ArrayList<>(4);
+
+        Node(int key) {
+            this.key = key;
+        }
+
+        Node child(int key) {
+            for (int i = 0; i < children.size(); i++) {
+                if (children.get(i).key == key) {
+                    return children.get(i);
+                }
+            }
+            return null;
+        }
+
+        // 從這個節點往下最深的層數
+        int depth() {
+            int depth = 0;
+            for (int i = 0; i < children.size(); i++) {
+                depth = Math.max(depth, 1 + children.get(i).depth());
+            }
+            return depth;
+        }
+    }
+
+    // 一次迭代中搜尋者的決策：在樹內以 UCB1 選擇，遇到還沒試過的動作就展開它，之後交給牌效策略
+    private static final class TreeWalk implements DiscardPolicy, ClaimPolicy {
+        private final int[] rootKeys;
+        private final MeldType rootType;
+        private final Node root;
+        private Node node;  // 目前所在的節點，離開樹之後為 null
+        private final List<Node> path = new ArrayList<>();
+        private final int[] keys = new int[2];
+
+        TreeWalk(Node root, int[] rootKeys, MeldType rootType) {
+            this.root = root;
+            this.node = root;
+            this.rootKeys = rootKeys;
+            this.rootType = rootType;
+        }
+
+        @Override
+        public int chooseDiscard(Game game, Player player, SplittableRandom random) {
+            if (node == null) {
+                return ROLLOUT_DISCARD.chooseDiscard(game, player, random);
+            }
+            if (node == root) {
+                return indexOf(player, select(rootKeys, rootKeys.length));
+            }
+            int[] actions = EfficiencyDiscardPolicy.rankDiscards(game, player);
+            return indexOf(player, select(actions, actions.length));
+        }
+
+        @Override
+        public boolean shouldClaim(Game game, Player player, MeldType type, Tile tile, SplittableRandom random) {
+            if (node == root && rootType != null) {
+                // 同一輪中較早詢問的鳴牌類型在實際對局已被拒絕
+                if (type != rootType) {
+                    return false;
+                }
+                return select(rootKeys, rootKeys.length) == rootKeys[1];
+            }
+            boolean preferred = ROLLOUT_CLAIM.shouldClaim(game, player, type, tile, random);
+            if (node == null) {
+                return preferred;
+            }
+            keys[0] = claimKey(type, preferred);
+            keys[1] = claimKey(type, !preferred);
+            return select(keys, 2) == claimKey(type, true);
+        }
+
+        // 在這次抽樣可行的 count 個動作中選一個；第一個還沒試過的動作直接展開，否則取 UCB1 最大者
+        private int select(int[] actions, int count) {
+            Node best = null;
+            Node expand = null;
+            int expandKey = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                Node child = node.child(actions[i]);
+                if (child == null) {
+                    if (expand == null) {
+                        expand = new Node(actions[i]);
+                        expandKey = actions[i];
+                    }
+                    continue;
+                }
+                child.available++;
+                double score = child.total / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.available) / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            if (expand != null) {
+                expand.available++;
+                node.children.add(expand);
+                path.add(expand);
+                node = null;
+                return expandKey;
+            }
+            path.add(best);
+            node = best;
+            return best.key;
+        }
+
+        void backpropagate(double reward) {
+            for (int i = 0; i < path.size(); i++) {
+                path.get(i).visits++;
+                path.get(i).total += reward;
+            }
+        }
+    }
+
+    // 合併後的根節點各動作造訪次數與累計報酬
+    private static final class Stats {
+        private final int[] visits;
+        private final double[] totals;
+
+        Stats(int actions) {
+            visits = new int[actions];
+            totals = new double[actions];
+        }
+
+        void add(Node root, int[] rootKeys) {
+            for (int a = 0; a < rootKeys.length; a++) {
+                Node child = root.child(rootKeys[a]);
+                if (child != null) {
+                    visits[a] += child.visits;
+                    totals[a] += child.total;
+                }
+            }
+        }
+
+        // 模擬次數不多時平均報酬的誤差很大，只有明顯勝過預設動作（差距超過 SIGNIFICANCE 倍標準誤）才改變選擇
+        // 報酬介於 -1 與 1 之間，以 1 當作變異數的上限
+        int best(int preferred) {
+            int best = preferred;
+            double bestMean = mean(preferred);
+            for (int a = 0; a < visits.length; a++) {
+                if (a == preferred || visits[a] == 0) {
+                    continue;
+                }
+                double margin = visits[preferred] == 0 ? 0.0
+                        : SIGNIFICANCE * Math.sqrt(1.0 / visits[a] + 1.0 / visits[preferred]);
+                if (mean(a) - mean(preferred) > margin && mean(a) > bestMean) {
+                    best = a;
+                    bestMean = mean(a);
+                }
+            }
+            return best;
+        }
+
+        private double mean(int action) {
+            return visits[action] == 0 ? Double.NEGATIVE_INFINITY : totals[action] / visits[action];
+        }
+    }
+
+    // 模擬結束時的胡牌者與胡牌方式
+    private static final class Outcome implements GameListener {
+        private Player winner;
+        private WinType winType;
+
+        @Override
+        public void onWin(Player player, WinType winType) {
+            this.winner = player;
+            this.winType = winType;
+        }
+
+        double reward(Game game, int seat) {
+            if (winner == null) {
+                return 0.0;
+            }
+            if (winner == game.getPlayers()[seat]) {
+                return WIN_REWARD;
+            }
+            if (winType == WinType.DISCARD && game.getLastDiscardedByIndex() == seat) {
+                return DEAL_IN_REWARD;
+            }
+            return OTHER_WIN_REWARD;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package example.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// JFR：一次吃碰槓胡的決定（電腦策略或人類回應）
+@Name("example.game.ClaimDecision")
+@Label("Claim Decision")
+@Category("Mahjong")
+@Description("A computer claim policy decision or a human claim response")
+final class JfrClaimEvent extends Event {
+    @Label("Seat")
+    int seat;
+
+    @Label("Action")
+    String action;
+
+    @Label("Tile")
+    String tile;
+
+    @Label("Claimed")
+    boolean claimed;
+
+    @Label("Human")
+    boolean human;
+
+    @Label("Hand Size")
+    int handSize;
+}
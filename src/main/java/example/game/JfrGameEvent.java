@@ -0,0 +1,26 @@
+package example.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// JFR：一整局（從發牌到結束）
+@Name("example.game.Game")
+@Label("Game")
+@Category("Mahjong")
+@Description("A whole game from the deal to the win or exhausted wall")
+final class JfrGameEvent extends Event {
+    @Label("Seed")
+    long seed;
+
+    @Label("End Type")
+    String endType;
+
+    @Label("Winner Seat")
+    int winnerSeat;
+
+    @Label("Turns")
+    int turns;
+}
@@ -0,0 +1,23 @@
+package example.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// JFR：一個摸牌回合（playTurn）
+@Name("example.game.Turn")
+@Label("Turn")
+@Category("Mahjong")
+@Description("Drawing phase of one turn, including flower replacement and the self-draw check")
+final class JfrTurnEvent extends Event {
+    @Label("Seat")
+    int seat;
+
+    @Label("Turn")
+    int turn;
+
+    @Label("Hand Size")
+    int handSize;
+}
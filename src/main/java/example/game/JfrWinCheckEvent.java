@@ -0,0 +1,23 @@
+package example.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// JFR：一次胡牌判定（checkWin）
+@Name("example.game.WinCheck")
+@Label("Win Check")
+@Category("Mahjong")
+@Description("Table lookup deciding whether a hand is complete")
+final class JfrWinCheckEvent extends Event {
+    @Label("Seat")
+    int seat;
+
+    @Label("Hand Size")
+    int handSize;
+
+    @Label("Win")
+    boolean win;
+}
@@ -0,0 +1,79 @@
+package example.game;
+
+import example.model.Player;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// 事件記錄中的一局：種子、座位設定與依序發生的事件
+// 記錄格式：種子（8）、每個座位（旗標、名稱長度、UTF-8 名稱）、事件（見 GameEvent）
+public final class RecordedGame {
+    static final int FLAG_HUMAN = 1;
+
+    private final long seed;
+    private final String[] names;
+    private final boolean[] humans;
+    private final byte[] data;
+    private final int eventsOffset;
+
+    private RecordedGame(long seed, String[] names, boolean[] humans, byte[] data, int eventsOffset) {
+        this.seed = seed;
+        this.names = names;
+        this.humans = humans;
+        this.data = data;
+        this.eventsOffset = eventsOffset;
+    }
+
+    // 解析一筆記錄（不含長度欄位）
+    static RecordedGame parse(byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        long seed = in.getLong();
+        String[] names = new String[4];
+        boolean[] humans = new boolean[4];
+        for (int seat = 0; seat < 4; seat++) {
+            humans[seat] = (in.get() & FLAG_HUMAN) != 0;
+            byte[] name = new byte[in.get() & 0xFF];
+            in.get(name);
+            names[seat] = new String(name, StandardCharsets.UTF_8);
+        }
+        return new RecordedGame(seed, names, humans, data, in.position());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getName(int seat) {
+        return names[seat];
+    }
+
+    public boolean isHuman(int seat) {
+        return humans[seat];
+    }
+
+    // 依記錄的座位設定建立新的玩家
+    public Player[] createPlayers() {
+        Player[] players = new Player[4];
+        for (int seat = 0; seat < 4; seat++) {
+            players[seat] = new Player(names[seat], humans[seat]);
+        }
+        return players;
+    }
+
+    // 解碼所有事件
+    public List<GameEvent> events() {
+        List<GameEvent> events = new ArrayList<>();
+        ByteBuffer in = ByteBuffer.wrap(data, eventsOffset, data.length - eventsOffset);
+        while (in.hasRemaining()) {
+            events.add(GameEvent.read(in));
+        }
+        return events;
+    }
+
+    // 記錄大小（位元組，不含長度欄位）
+    public int size() {
+        return data.length;
+    }
+}
@@ -0,0 +1,48 @@
+package example.game;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// 一次胡牌的台數：每個項目出現的次數與總台數
+public final class Score {
+    private static final ScoringPattern[] PATTERNS = ScoringPattern.values();
+
+    private final int[] counts = new int[PATTERNS.length];
+    private int total;
+
+    void add(ScoringPattern pattern, int times) {
+        if (times > 0) {
+            counts[pattern.ordinal()] += times;
+            total += pattern.getPoints() * times;
+        }
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    // 項目出現的次數（例如兩組三元牌刻子為 2）
+    public int getCount(ScoringPattern pattern) {
+        return counts[pattern.ordinal()];
+    }
+
+    public boolean has(ScoringPattern pattern) {
+        return counts[pattern.ordinal()] > 0;
+    }
+
+    // 各項目的台數
+    public Map<ScoringPattern, Integer> getPoints() {
+        Map<ScoringPattern, Integer> points = new EnumMap<>(ScoringPattern.class);
+        for (ScoringPattern pattern : PATTERNS) {
+            if (counts[pattern.ordinal()] > 0) {
+                points.put(pattern, pattern.getPoints() * counts[pattern.ordinal()]);
+            }
+        }
+        return points;
+    }
+
+    @Override
+    public String toString() {
+        return "Score{total=" + total + ", " + getPoints() + "}";
+    }
+}
@@ -0,0 +1,261 @@
+package example.game;
+
+import example.model.Meld;
+import example.model.MeldType;
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+
+import java.util.List;
+
+// 台數計算（台灣十六張）：手牌張數直方圖 + 鳴牌組 + 花牌
+// 碰碰胡與平胡取決於手牌的拆法：每門數字牌的拆法旗標以 5 進位鍵快取，第一次查到時才計算，
+// 之後大量模擬對局的計分每門只需一次陣列查詢
+public final class ScoreCalculator {
+    public static final int ROUND_WIND_SEAT = 0;  // 圈風固定為東（單局）
+
+    private static final int COMPUTED = 1;         // 此鍵已計算
+    private static final int TRIPLETS = 2;         // 可以全部拆成刻子
+    private static final int TRIPLETS_PAIR = 4;    // 可以拆成刻子 + 一對將
+    private static final int SEQUENCES = 8;        // 可以全部拆成順子
+    private static final int SEQUENCES_PAIR = 16;  // 可以拆成順子 + 一對將
+
+    private static final int FLOWER_SET_SIZE = 4;  // 春夏秋冬、梅蘭菊竹各一組
+
+    private static final int[] POW5 = new int[TileCatalog.SUIT_SIZE + 1];
+    // 多執行緒同時計算同一個鍵只會寫入相同的值，不需要同步
+    private static final byte[] PATTERNS;
+
+    static {
+        POW5[0] = 1;
+        for (int i = 1; i < POW5.length; i++) {
+            POW5[i] = POW5[i - 1] * 5;
+        }
+        PATTERNS = new byte[POW5[TileCatalog.SUIT_SIZE]];
+    }
+
+    private ScoreCalculator() {
+    }
+
+    // 贏家的台數；seat 為贏家座位（決定門風與正花）
+    public static Score score(Game game, Player winner, WinType winType) {
+        int seat = -1;
+        Player[] players = game.getPlayers();
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == winner) {
+                seat = i;
+            }
+        }
+        if (seat < 0) {
+            throw new IllegalArgumentException("Player is not seated in this game: " + winner.getName());
+        }
+        return score(winner.getTileCounts(), winner.getMelds(), winner.getFlowers(), seat, winType);
+    }
+
+    // counts 為胡牌時的手牌張數（含胡的那張）；不是胡牌型時只計算與拆法無關的項目
+    public static Score score(int[] counts, List<Meld> melds, List<Tile> flowers, int seat, WinType winType) {
+        Score score = new Score();
+        boolean selfDrawn = winType != null && winType != WinType.DISCARD;
+
+        // 鳴牌：門清、槓、刻子的字牌
+        boolean concealed = true;
+        boolean meldChow = false;
+        boolean meldPong = false;
+        int suitMask = 0;
+        boolean honors = false;
+        int[] honorSets = new int[TileCatalog.KIND_COUNT - TileCatalog.WIND_BASE];
+        for (int i = 0; i < melds.size(); i++) {
+            Meld meld = melds.get(i);
+            MeldType type = meld.getType();
+            int id = meld.getTiles().get(0).getId();
+            switch (type) {
+                case CHI -> meldChow = true;
+                case KONG -> score.add(ScoringPattern.KONG, 1);
+                case CONCEALED_KONG -> score.add(ScoringPattern.CONCEALED_KONG, 1);
+            }
+            if (type != MeldType.CONCEALED_KONG) {
+                concealed = false;
+            }
+            if (type != MeldType.CHI) {
+                meldPong = true;  // 碰與槓都算刻子
+            }
+            if (TileCatalog.isSuited(id)) {
+                suitMask |= 1 << (id / TileCatalog.SUIT_SIZE);
+            } else {
+                honors = true;
+                honorSets[id - TileCatalog.WIND_BASE]++;
+            }
+        }
+
+        // 手牌：各門是否出現、字牌刻子與將
+        int honorPairs = 0;
+        boolean honorsValid = true;
+        for (int id = TileCatalog.WIND_BASE; id < TileCatalog.KIND_COUNT; id++) {
+            int c = counts[id];
+            if (c == 0) {
+                continue;
+            }
+            honors = true;
+            if (c == 3) {
+                honorSets[id - TileCatalog.WIND_BASE]++;
+            } else if (c == 2) {
+                honorPairs++;
+            } else {
+                honorsValid = false;
+            }
+        }
+        int[] suitPatterns = new int[3];
+        for (int suit = 0; suit < 3; suit++) {
+            int key = WinTable.suitKey(counts, suit * TileCatalog.SUIT_SIZE);
+            if (key != 0) {
+                suitMask |= 1 << suit;
+                suitPatterns[suit] = patterns(key);
+            }
+        }
+
+        if (selfDrawn) {
+            score.add(ScoringPattern.SELF_DRAW, 1);
+        }
+        if (concealed) {
+            score.add(ScoringPattern.CONCEALED, 1);
+            if (selfDrawn) {
+                score.add(ScoringPattern.CONCEALED_SELF_DRAW, 1);
+            }
+        }
+
+        // 清一色、混一色；沒有任何數牌則是字一色
+        if (Integer.bitCount(suitMask) == 1) {
+            score.add(honors ? ScoringPattern.HALF_FLUSH : ScoringPattern.FULL_FLUSH, 1);
+        } else if (suitMask == 0 && honors) {
+            score.add(ScoringPattern.ALL_HONORS, 1);
+        }
+
+        // 字牌刻子：三元牌、門風、圈風
+        for (int i = 0; i < honorSets.length; i++) {
+            if (honorSets[i] == 0) {
+                continue;
+            }
+            int id = TileCatalog.WIND_BASE + i;
+            if (id >= TileCatalog.DRAGON_BASE) {
+                score.add(ScoringPattern.DRAGON_TRIPLET, 1);
+            } else {
+                int wind = TileCatalog.numberOf(id) - 1;
+                if (wind == seat) {
+                    score.add(ScoringPattern.SEAT_WIND, 1);
+                }
+                if (wind == ROUND_WIND_SEAT) {
+                    score.add(ScoringPattern.ROUND_WIND, 1);
+                }
+            }
+        }
+
+        // 花牌：正花每張一台，集滿一組另加花槓
+        int[] flowerSets = new int[2];
+        for (int i = 0; i < flowers.size(); i++) {
+            int number = TileCatalog.numberOf(flowers.get(i).getId()) - 1;
+            if (number % FLOWER_SET_SIZE == seat) {
+                score.add(ScoringPattern.SEAT_FLOWER, 1);
+            }
+            flowerSets[number / FLOWER_SET_SIZE]++;
+        }
+        for (int set : flowerSets) {
+            if (set == FLOWER_SET_SIZE) {
+                score.add(ScoringPattern.FLOWER_SET, 1);
+            }
+        }
+
+        // 與拆法有關的項目：碰碰胡與平胡只能成立一個（例如 111222333 兩種拆法都行），取台數高的碰碰胡
+        if (!honorsValid || !WinTable.isWinningHand(counts, melds.size())) {
+            return score;
+        }
+        boolean allPongs = !meldChow;
+        boolean allChows = !meldPong && !honors && flowers.isEmpty() && !selfDrawn;
+        int tripletPairs = honorPairs;
+        int sequencePairs = 0;
+        for (int suit = 0; suit < 3; suit++) {
+            if ((suitMask & (1 << suit)) == 0 || suitPatterns[suit] == 0) {
+                continue;
+            }
+            int flags = suitPatterns[suit];
+            if ((flags & TRIPLETS_PAIR) != 0) {
+                tripletPairs++;
+            } else if ((flags & TRIPLETS) == 0) {
+                allPongs = false;
+            }
+            if ((flags & SEQUENCES_PAIR) != 0) {
+                sequencePairs++;
+            } else if ((flags & SEQUENCES) == 0) {
+                allChows = false;
+            }
+        }
+        allPongs &= tripletPairs == 1;
+        allChows &= sequencePairs == 1;
+        if (allPongs) {
+            score.add(ScoringPattern.ALL_PONGS, 1);
+        } else if (allChows) {
+            score.add(ScoringPattern.ALL_CHOWS, 1);
+        }
+        return score;
+    }
+
+    // 單門牌型的拆法旗標（快取）
+    static int patterns(int suitKey) {
+        int flags = PATTERNS[suitKey];
+        if (flags == 0) {
+            flags = computePatterns(suitKey);
+            PATTERNS[suitKey] = (byte) flags;
+        }
+        return flags;
+    }
+
+    private static int computePatterns(int suitKey) {
+        int[] suit = new int[TileCatalog.SUIT_SIZE];
+        int pairCount = 0;
+        boolean triplets = true;
+        for (int i = 0; i < suit.length; i++) {
+            suit[i] = suitKey / POW5[i] % 5;
+            if (suit[i] == 2) {
+                pairCount++;
+            } else if (suit[i] != 0 && suit[i] != 3) {
+                triplets = false;
+            }
+        }
+
+        int flags = COMPUTED;
+        if (triplets && pairCount == 0) {
+            flags |= TRIPLETS;
+        } else if (triplets && pairCount == 1) {
+            flags |= TRIPLETS_PAIR;
+        }
+        if (allSequences(suit.clone())) {
+            flags |= SEQUENCES;
+        }
+        for (int i = 0; i < suit.length; i++) {
+            if (suit[i] >= 2) {
+                int[] rest = suit.clone();
+                rest[i] -= 2;
+                if (allSequences(rest)) {
+                    flags |= SEQUENCES_PAIR;
+                    break;
+                }
+            }
+        }
+        return flags;
+    }
+
+    // 由最小的牌開始，每張都必須是順子的開頭
+    private static boolean allSequences(int[] suit) {
+        for (int i = 0; i < suit.length; i++) {
+            int c = suit[i];
+            if (c == 0) {
+                continue;
+            }
+            if (i + 2 >= suit.length || suit[i + 1] < c || suit[i + 2] < c) {
+                return false;
+            }
+            suit[i + 1] -= c;
+            suit[i + 2] -= c;
+        }
+        return true;
+    }
+}
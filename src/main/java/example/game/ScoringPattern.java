@@ -0,0 +1,31 @@
+package example.game;
+
+// 台數項目（台灣十六張，單局計算，圈風固定為東）
+public enum ScoringPattern {
+    SELF_DRAW(1),            // 自摸（含槓上開花、花上自摸）
+    CONCEALED(1),            // 門清（沒有吃、碰、明槓）
+    CONCEALED_SELF_DRAW(1),  // 門清自摸另加
+    ALL_PONGS(4),            // 碰碰胡
+    ALL_CHOWS(2),            // 平胡：全部順子、無字牌、無花、胡別人打出的牌
+    HALF_FLUSH(4),           // 混一色
+    FULL_FLUSH(8),           // 清一色
+    ALL_HONORS(16),          // 字一色：全部字牌（碰碰胡與字牌刻子另計）
+    DRAGON_TRIPLET(1),       // 三元牌刻子，每組一台
+    SEAT_WIND(1),            // 門風刻子
+    ROUND_WIND(1),           // 圈風刻子
+    SEAT_FLOWER(1),          // 正花，每張一台
+    FLOWER_SET(2),           // 花槓：同一組四張花
+    KONG(1),                 // 明槓，每組一台
+    CONCEALED_KONG(2);       // 暗槓，每組兩台
+
+    private final int points;
+
+    ScoringPattern(int points) {
+        this.points = points;
+    }
+
+    // 每次出現的台數
+    public int getPoints() {
+        return points;
+    }
+}
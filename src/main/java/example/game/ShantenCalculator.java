@@ -0,0 +1,217 @@
+package example.game;
+
+import example.model.Player;
+import example.model.TileCatalog;
+
+// 向聽數計算：-1 表示已胡牌，0 表示聽牌，之後每多一就離聽牌再遠一步
+// 以「面子數 m、搭子數 t、是否有將 h」估算：shanten = 2(n - m) - min(t, n - m) - h，n 為手牌還需要的面子數
+// 每門數字牌的 (m, t) 組合依 5 進位鍵延遲計算並快取，之後每次計算只需合併四個分量
+public final class ShantenCalculator {
+    public static final int WIN = -1;
+
+    private static final int MAX_M = WinTable.REQUIRED_SETS;  // 面子數上限
+    private static final int MAX_T = 5;                          // 搭子數超過 5 已無意義
+    private static final int NONE = 7;                           // 此 (h, m) 組合不可能
+    private static final long EMPTY = (1L << 36) - 1;            // 全部組合都不可能
+    private static final long COMPUTED = 1L << 63;
+
+    // 每門牌型的分量：(h * 6 + m) * 3 位元處存放最多搭子數，NONE 表示不可能
+    // 多執行緒下可能重複計算，但寫入的值相同
+    private static final int[] POW5 = {1, 5, 25, 125, 625, 3125, 15625, 78125, 390625};
+    private static final long[] SUIT_CACHE = new long[pow5(TileCatalog.SUIT_SIZE)];
+
+    private ShantenCalculator() {
+    }
+
+    // 玩家目前手牌的向聽數（考慮已鳴牌組）
+    public static int shanten(Player player) {
+        return shanten(player.getTileCounts(), player.getMelds().size());
+    }
+
+    // 手牌張數 + 已鳴牌組數的向聽數
+    public static int shanten(int[] counts, int meldCount) {
+        long combined = component(counts, HONORS);
+        for (int suit = 0; suit < HONORS; suit++) {
+            combined = combine(combined, component(counts, suit));
+        }
+        return finish(combined, meldCount);
+    }
+
+    // 以下供需要大量試算的呼叫端（例如牌效打法）只重算變動的那一門
+    static final int HONORS = 3;   // 分量編號：0-2 為萬筒條，3 為字牌
+
+    // 牌 ID 所屬的分量
+    static int componentOf(int id) {
+        return id < TileCatalog.WIND_BASE ? id / TileCatalog.SUIT_SIZE : HONORS;
+    }
+
+    // 單一分量（某門數字牌或字牌）
+    static long component(int[] counts, int index) {
+        return index == HONORS ? honorEntry(counts)
+                : suitEntry(WinTable.suitKey(counts, index * TileCatalog.SUIT_SIZE));
+    }
+
+    // 由合併後的分量算出向聽數
+    static int finish(long combined, int meldCount) {
+        int setsNeeded = WinTable.REQUIRED_SETS - meldCount;
+        int best = Integer.MAX_VALUE;
+        for (int h = 0; h <= 1; h++) {
+            for (int m = 0; m <= setsNeeded; m++) {
+                int t = get(combined, h, m);
+                if (t == NONE) {
+                    continue;
+                }
+                int missing = setsNeeded - m;
+                int value = 2 * missing - Math.min(t, missing) - h;
+                if (value < best) {
+                    best = value;
+                }
+            }
+        }
+        return best;
+    }
+
+    // 取得單門牌型分量（必要時計算並快取）
+    private static long suitEntry(int key) {
+        long entry = SUIT_CACHE[key];
+        if (entry == 0) {
+            entry = computeSuit(key) | COMPUTED;
+            SUIT_CACHE[key] = entry;
+        }
+        return entry;
+    }
+
+    // 字牌分量：字牌不能組順子，只看刻子與對子
+    private static long honorEntry(int[] counts) {
+        int m = 0;
+        int pairs = 0;
+        boolean hasTriplet = false;
+        for (int id = TileCatalog.WIND_BASE; id < TileCatalog.KIND_COUNT; id++) {
+            int c = counts[id];
+            if (c >= 3) {
+                m++;
+                hasTriplet = true;
+            } else if (c == 2) {
+                pairs++;
+            }
+        }
+        long entry = update(EMPTY, 0, Math.min(m, MAX_M), pairs);
+        if (pairs > 0) {
+            entry = update(entry, 1, Math.min(m, MAX_M), pairs - 1);
+        }
+        if (hasTriplet) {
+            // 把一組刻子拆成將
+            entry = update(entry, 1, Math.min(m - 1, MAX_M), pairs);
+        }
+        return entry;
+    }
+
+    // 合併兩個分量：面子與搭子相加，將最多一對
+    static long combine(long a, long b) {
+        long result = EMPTY;
+        for (int ha = 0; ha <= 1; ha++) {
+            for (int ma = 0; ma <= MAX_M; ma++) {
+                int ta = get(a, ha, ma);
+                if (ta == NONE) {
+                    continue;
+                }
+                for (int hb = 0; hb <= 1 - ha; hb++) {
+                    for (int mb = 0; mb <= MAX_M; mb++) {
+                        int tb = get(b, hb, mb);
+                        if (tb == NONE) {
+                            continue;
+                        }
+                        result = update(result, ha + hb, Math.min(ma + mb, MAX_M), ta + tb);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // 單門牌型：最小的一張牌只能當刻子、順子開頭、將、搭子或孤張，其餘部分遞迴查快取
+    // 每個鍵只計算一次，牌很多的單門牌型也不會因為窮舉拆法而變慢
+    private static long computeSuit(int key) {
+        if (key == 0) {
+            return update(EMPTY, 0, 0, 0);
+        }
+        int pos = 0;
+        int rest = key;
+        while (rest % 5 == 0) {
+            rest /= 5;
+            pos++;
+        }
+        int c0 = rest % 5;
+        int c1 = rest / 5 % 5;
+        int c2 = rest / 25 % 5;
+        int p = POW5[pos];
+
+        long result = EMPTY;
+        // 面子：刻子、順子
+        if (c0 >= 3) {
+            result = shift(result, suitEntry(key - 3 * p), 1, 0);
+        }
+        if (c1 > 0 && c2 > 0) {
+            result = shift(result, suitEntry(key - 31 * p), 1, 0);
+        }
+        // 將或對子搭子
+        if (c0 >= 2) {
+            long sub = suitEntry(key - 2 * p);
+            result = shift(result, sub, 0, 1);
+            for (int m = 0; m <= MAX_M; m++) {
+                int t = get(sub, 0, m);
+                if (t != NONE) {
+                    result = update(result, 1, m, t);
+                }
+            }
+        }
+        // 搭子：兩面/邊張、嵌張
+        if (c1 > 0) {
+            result = shift(result, suitEntry(key - 6 * p), 0, 1);
+        }
+        if (c2 > 0) {
+            result = shift(result, suitEntry(key - 26 * p), 0, 1);
+        }
+        // 孤張
+        return shift(result, suitEntry(key - p), 0, 0);
+    }
+
+    // 把 sub 的每個組合加上 dm 面子、dt 搭子後併入 result
+    private static long shift(long result, long sub, int dm, int dt) {
+        for (int h = 0; h <= 1; h++) {
+            for (int m = 0; m <= MAX_M; m++) {
+                int t = get(sub, h, m);
+                if (t != NONE) {
+                    result = update(result, h, Math.min(m + dm, MAX_M), t + dt);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int get(long entry, int h, int m) {
+        return (int) (entry >>> ((h * 6 + m) * 3)) & 7;
+    }
+
+    // 若 t 比目前記錄的多則更新
+    private static long update(long entry, int h, int m, int t) {
+        if (m < 0) {
+            return entry;
+        }
+        int capped = Math.min(t, MAX_T);
+        int current = get(entry, h, m);
+        if (current != NONE && current >= capped) {
+            return entry;
+        }
+        int shift = (h * 6 + m) * 3;
+        return (entry & ~(7L << shift)) | ((long) capped << shift);
+    }
+
+    private static int pow5(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 5;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,236 @@
+package example.game;
+
+import example.model.Meld;
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+
+import java.util.Arrays;
+import java.util.List;
+
+// 牌的帳本：記錄每種牌在每個位置（牌山、各座位的手牌、鳴牌、打出的牌、花牌）的張數，每次移動 O(1) 更新
+// 牌以共用的 Tile 實例表示，同一種牌的四張無法區分，因此以（位置, 牌 ID）的張數代表每張實體牌的位置
+// 移動時來源沒有這張牌就是守恆被破壞：一般模式只記錄次數，檢查模式立即丟出例外，
+// 並且比對移動兩端的實際張數，在出錯的那一步就停下來
+public final class TileLedger {
+    private static final int SEATS = 4;
+    private static final int SLOTS = 1 + (TileLocation.values().length - 1) * SEATS;
+
+    private final int[] counts = new int[SLOTS * TileCatalog.ID_COUNT];
+    private boolean strict;
+    private int violations;
+    private String firstViolation;
+    private int[] log;          // 可逆走步用：每次移動的（來源, 目的）索引，開始記錄後才配置
+    private int logSize;
+
+    // 由目前的牌山與玩家狀態重新建立帳本（開局、解碼或直接修改狀態之後）
+    void rebuild(Wall wall, Player[] players) {
+        Arrays.fill(counts, 0);
+        violations = 0;
+        firstViolation = null;
+        logSize = 0;
+        for (int i = 0; i < wall.remaining(); i++) {
+            add(TileLocation.WALL, 0, wall.tileIdAt(i));
+        }
+        for (int seat = 0; seat < players.length; seat++) {
+            Player player = players[seat];
+            addAll(TileLocation.HAND, seat, player.getHand());
+            addAll(TileLocation.FLOWER, seat, player.getFlowers());
+            addAll(TileLocation.DISCARD, seat, player.getDiscarded());
+            for (Meld meld : player.getMelds()) {
+                addAll(TileLocation.MELD, seat, meld.getTiles());
+            }
+        }
+    }
+
+    // 記錄一次移動；game 只在檢查模式下用來比對實際張數
+    void move(Game game, int id, TileLocation from, int fromSeat, TileLocation to, int toSeat) {
+        if (transfer(id, from, fromSeat, to, toSeat) && strict) {
+            verify(game, id, from, fromSeat);
+            verify(game, id, to, toSeat);
+        }
+    }
+
+    // 記錄一組吃碰槓：最後一張來自 discarder 打出的牌，其餘來自 seat 的手牌；全部記錄後才比對
+    void meld(Game game, int seat, int discarder, List<Tile> tiles) {
+        int last = tiles.size() - 1;
+        boolean ok = true;
+        for (int i = 0; i < last; i++) {
+            ok &= transfer(tiles.get(i).getId(), TileLocation.HAND, seat, TileLocation.MELD, seat);
+        }
+        Tile claimed = tiles.get(last);
+        if (claimed == null) {
+            violation("meld[" + seat + "] claimed a tile that was never discarded");
+            return;
+        }
+        ok &= transfer(claimed.getId(), TileLocation.DISCARD, discarder, TileLocation.MELD, seat);
+        if (ok && strict) {
+            for (int i = 0; i < last; i++) {
+                verify(game, tiles.get(i).getId(), TileLocation.HAND, seat);
+            }
+            verify(game, claimed.getId(), TileLocation.DISCARD, discarder);
+            verify(game, claimed.getId(), TileLocation.MELD, seat);
+        }
+    }
+
+    // 記錄一組暗槓：四張都來自 seat 的手牌；全部記錄後才比對
+    void concealedKong(Game game, int seat, List<Tile> tiles) {
+        boolean ok = true;
+        for (int i = 0; i < tiles.size(); i++) {
+            ok &= transfer(tiles.get(i).getId(), TileLocation.HAND, seat, TileLocation.MELD, seat);
+        }
+        if (ok && strict) {
+            verify(game, tiles.get(0).getId(), TileLocation.HAND, seat);
+            verify(game, tiles.get(0).getId(), TileLocation.MELD, seat);
+        }
+    }
+
+    // 開始（或繼續）記錄移動，回傳目前的位置供 rollback 使用
+    int mark() {
+        if (log == null) {
+            log = new int[256];
+        }
+        return logSize;
+    }
+
+    // 反向撤銷 mark 之後的所有移動，並把錯誤次數還原為 violations
+    void rollback(int mark, int violations) {
+        while (logSize > mark) {
+            int entry = log[--logSize];
+            counts[entry >>> 16]++;
+            counts[entry & 0xFFFF]--;
+        }
+        this.violations = violations;
+        if (violations == 0) {
+            firstViolation = null;
+        }
+    }
+
+    // 更新張數；來源沒有這張牌時記錄錯誤並回傳 false
+    private boolean transfer(int id, TileLocation from, int fromSeat, TileLocation to, int toSeat) {
+        int source = index(from, fromSeat, id);
+        int target = index(to, toSeat, id);
+        counts[source]--;
+        counts[target]++;
+        if (log != null) {
+            if (logSize == log.length) {
+                log = Arrays.copyOf(log, logSize * 2);
+            }
+            log[logSize++] = source << 16 | target;
+        }
+        if (counts[source] < 0) {
+            violation("moved " + TileCatalog.get(id) + " from " + describe(from, fromSeat)
+                    + " to " + describe(to, toSeat) + " but the ledger had none there");
+            return false;
+        }
+        return true;
+    }
+
+    // 檢查模式：守恆被破壞時立即丟出 IllegalStateException
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    public boolean isStrict() {
+        return strict;
+    }
+
+    // 某個位置的某種牌張數（牌山的 seat 不使用）
+    public int count(TileLocation location, int seat, int id) {
+        return counts[index(location, seat, id)];
+    }
+
+    // 某種牌在所有位置的張數
+    public int total(int id) {
+        int sum = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            sum += counts[slot * TileCatalog.ID_COUNT + id];
+        }
+        return sum;
+    }
+
+    // 一般模式下發生的守恆錯誤次數與第一筆說明
+    public int getViolations() {
+        return violations;
+    }
+
+    public String getFirstViolation() {
+        return firstViolation;
+    }
+
+    private void verify(Game game, int id, TileLocation location, int seat) {
+        int actual = actualCount(game, location, seat, id);
+        int recorded = count(location, seat, id);
+        if (actual != recorded) {
+            violation(describe(location, seat) + " holds " + actual + " x " + TileCatalog.get(id)
+                    + " but the ledger has " + recorded);
+        }
+    }
+
+    private void violation(String message) {
+        violations++;
+        if (firstViolation == null) {
+            firstViolation = message;
+        }
+        if (strict) {
+            throw new IllegalStateException("Tile conservation broken: " + message);
+        }
+    }
+
+    // 實際狀態中的張數（只在檢查模式下使用，牌山需要掃描）
+    private static int actualCount(Game game, TileLocation location, int seat, int id) {
+        if (location == TileLocation.WALL) {
+            Wall wall = game.getWall();
+            int n = 0;
+            for (int i = 0; i < wall.remaining(); i++) {
+                if (wall.tileIdAt(i) == id) {
+                    n++;
+                }
+            }
+            return n;
+        }
+        Player player = game.getPlayers()[seat];
+        return switch (location) {
+            case HAND -> player.getTileCount(id);
+            case FLOWER -> countOf(player.getFlowers(), id);
+            case DISCARD -> countOf(player.getDiscarded(), id);
+            case MELD -> {
+                int n = 0;
+                for (Meld meld : player.getMelds()) {
+                    n += countOf(meld.getTiles(), id);
+                }
+                yield n;
+            }
+            default -> 0;
+        };
+    }
+
+    private static int countOf(List<Tile> tiles, int id) {
+        int n = 0;
+        for (int i = 0; i < tiles.size(); i++) {
+            if (tiles.get(i).getId() == id) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private void add(TileLocation location, int seat, int id) {
+        counts[index(location, seat, id)]++;
+    }
+
+    private void addAll(TileLocation location, int seat, List<Tile> tiles) {
+        for (int i = 0; i < tiles.size(); i++) {
+            add(location, seat, tiles.get(i).getId());
+        }
+    }
+
+    private static int index(TileLocation location, int seat, int id) {
+        int slot = location == TileLocation.WALL ? 0 : 1 + (location.ordinal() - 1) * SEATS + seat;
+        return slot * TileCatalog.ID_COUNT + id;
+    }
+
+    private static String describe(TileLocation location, int seat) {
+        return location == TileLocation.WALL ? "wall" : location.name().toLowerCase() + "[" + seat + "]";
+    }
+}
@@ -0,0 +1,10 @@
+package example.game;
+
+// 一張牌可能的位置；除了牌山之外都屬於某個座位
+public enum TileLocation {
+    WALL,     // 牌山
+    HAND,     // 手牌
+    MELD,     // 鳴牌組
+    DISCARD,  // 打出的牌
+    FLOWER    // 花牌
+}
@@ -0,0 +1,109 @@
+package example.game;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+// 平行模擬：在 ForkJoinPool 上把 N 局全電腦對局切成小段執行，各段統計最後合併
+public class TournamentRunner {
+    private static final int BATCH_SIZE = 256;   // 每個葉節點工作執行的局數
+    // 每個執行緒重複使用同一個牌山；同一執行緒一次只跑一局，不會互相干擾
+    private static final ThreadLocal<Wall> WALLS = ThreadLocal.withInitial(Wall::new);
+
+    private final ForkJoinPool pool;
+    private final IntFunction<Game> gameFactory;  // 依局號建立尚未開始的遊戲
+
+    public TournamentRunner() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    // 以 baseSeed 衍生每一局的種子，結果與執行緒排程無關
+    public TournamentRunner(long baseSeed) {
+        this(ForkJoinPool.commonPool(),
+                index -> new Game(Game.computerPlayers(), GameListener.NONE,
+                        gameSeed(baseSeed, index), WALLS.get()));
+    }
+
+    // 四個座位都使用同一種打牌策略
+    public TournamentRunner(long baseSeed, DiscardPolicy policy) {
+        this(ForkJoinPool.commonPool(), index -> {
+            Game game = new Game(Game.computerPlayers(), GameListener.NONE,
+                    gameSeed(baseSeed, index), WALLS.get());
+            for (int seat = 0; seat < 4; seat++) {
+                game.setDiscardPolicy(seat, policy);
+            }
+            return game;
+        });
+    }
+
+    public TournamentRunner(ForkJoinPool pool, IntFunction<Game> gameFactory) {
+        this.pool = pool;
+        this.gameFactory = gameFactory;
+    }
+
+    // 第 index 局的種子（SplitMix64 混合），可用來單獨重播該局
+    public static long gameSeed(long baseSeed, int index) {
+        long z = baseSeed + (index + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // 執行 games 局並回傳合併後的統計
+    public TournamentSummary run(int games) {
+        return pool.invoke(new Batch(0, games));
+    }
+
+    // 依序執行局號 [from, to) 的對局直到結束
+    private TournamentSummary play(int from, int to) {
+        TournamentSummary summary = new TournamentSummary();
+        for (int i = from; i < to; i++) {
+            Game game = gameFactory.apply(i);
+            game.startGame();
+            summary.record(game);
+        }
+        return summary;
+    }
+
+    private final class Batch extends RecursiveTask<TournamentSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        Batch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TournamentSummary compute() {
+            if (to - from <= BATCH_SIZE) {
+                return play(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            Batch left = new Batch(from, mid);
+            left.fork();
+            TournamentSummary right = new Batch(mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    // 命令列：java example.game.TournamentRunner [局數] [種子] [random|efficiency]
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : ThreadLocalRandom.current().nextLong();
+        DiscardPolicy policy = args.length > 2 && args[2].equals("efficiency")
+                ? new EfficiencyDiscardPolicy() : DiscardPolicy.RANDOM;
+        long start = System.nanoTime();
+        TournamentSummary summary = new TournamentRunner(seed, policy).run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("seed=" + seed + " " + summary);
+        System.out.printf("%d games in %.2f s (%.0f games/s)%n", games, seconds, games / seconds);
+        // -Dmahjong.metrics=true 時附上各階段統計
+        if (GameMetrics.global().isEnabled()) {
+            System.out.print(GameMetrics.global().dump());
+        }
+    }
+}
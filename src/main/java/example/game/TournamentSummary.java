@@ -0,0 +1,88 @@
+package example.game;
+
+import java.util.Arrays;
+
+// 對局統計：可以彼此合併，平行執行時每個工作各自累計再合併
+public class TournamentSummary {
+    private long games;                          // 總局數
+    private long wins;                           // 胡牌結束的局數
+    private long draws;                          // 流局局數
+    private final long[] winsBySeat = new long[4];
+    private long totalTurns;                     // 所有局的回合數總和
+    private int minTurns = Integer.MAX_VALUE;
+    private int maxTurns;
+
+    // 記錄一局已結束的遊戲
+    public void record(Game game) {
+        games++;
+        if (game.getEndType() == EndType.WIN) {
+            wins++;
+            winsBySeat[game.getWinnerIndex()]++;
+        } else {
+            draws++;
+        }
+        int turns = game.getTurnCount();
+        totalTurns += turns;
+        minTurns = Math.min(minTurns, turns);
+        maxTurns = Math.max(maxTurns, turns);
+    }
+
+    // 把另一份統計併入這一份
+    public TournamentSummary merge(TournamentSummary other) {
+        games += other.games;
+        wins += other.wins;
+        draws += other.draws;
+        for (int i = 0; i < winsBySeat.length; i++) {
+            winsBySeat[i] += other.winsBySeat[i];
+        }
+        totalTurns += other.totalTurns;
+        minTurns = Math.min(minTurns, other.minTurns);
+        maxTurns = Math.max(maxTurns, other.maxTurns);
+        return this;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getWinsBySeat(int seat) {
+        return winsBySeat[seat];
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public int getMinTurns() {
+        return games == 0 ? 0 : minTurns;
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+
+    @Override
+    public String toString() {
+        return "TournamentSummary{" +
+                "games=" + games +
+                ", wins=" + wins +
+                ", draws=" + draws +
+                ", winsBySeat=" + Arrays.toString(winsBySeat) +
+                ", avgTurns=" + String.format("%.2f", getAverageTurns()) +
+                ", minTurns=" + getMinTurns() +
+                ", maxTurns=" + maxTurns +
+                '}';
+    }
+}
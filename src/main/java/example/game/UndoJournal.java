@@ -0,0 +1,115 @@
+package example.game;
+
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Game.apply 的復原紀錄：每次 apply 前把會變動的狀態以 int 記到重複使用的陣列上（一層一個 frame），undo 時整層還原
+// 每個座位記：手牌版本與牌 ID（依原順序）、打出牌堆的張數與最上面一張、花牌數、鳴牌組數
+// 一步只會在牌堆尾端加牌或拿走最上面一張，花牌與鳴牌只會增加，因此這些張數就足以還原；
+// 手牌版本沒變的座位不重建手牌
+final class UndoJournal {
+    private int[] data = new int[512];
+    private int size;
+    private int[] frames = new int[32];   // 每層 frame 在 data 中的起點
+    private Object[] refs = new Object[32];  // 每層無法以 int 表示的狀態（台數）
+    private int depth;
+
+    int depth() {
+        return depth;
+    }
+
+    void clear() {
+        size = 0;
+        Arrays.fill(refs, 0, depth, null);
+        depth = 0;
+    }
+
+    // 開始新的一層，之後依序 push 這一層的內容
+    void begin(Object ref) {
+        if (depth == frames.length) {
+            frames = Arrays.copyOf(frames, depth * 2);
+            refs = Arrays.copyOf(refs, depth * 2);
+        }
+        frames[depth] = size;
+        refs[depth] = ref;
+        depth++;
+    }
+
+    void push(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
+        }
+        data[size++] = value;
+    }
+
+    void pushPlayer(Player player) {
+        List<Tile> hand = player.getHand();
+        push(player.getHandVersion());
+        push(hand.size());
+        for (int i = 0; i < hand.size(); i++) {
+            push(hand.get(i).getId());
+        }
+        List<Tile> discarded = player.getDiscarded();
+        push(discarded.size());
+        push(discarded.isEmpty() ? -1 : discarded.get(discarded.size() - 1).getId());
+        push(player.getFlowers().size());
+        push(player.getMelds().size());
+    }
+
+    // 最上層 frame 的起點（還原時由此依 push 的順序讀取）
+    int top() {
+        return frames[depth - 1];
+    }
+
+    Object topRef() {
+        return refs[depth - 1];
+    }
+
+    int get(int pos) {
+        return data[pos];
+    }
+
+    // 把玩家還原成 pos 開始記錄的狀態，回傳下一筆紀錄的位置
+    int restorePlayer(Player player, int pos) {
+        int version = data[pos++];
+        int handSize = data[pos++];
+        if (player.getHandVersion() != version) {
+            List<Tile> hand = player.getHand();
+            hand.clear();
+            for (int i = 0; i < handSize; i++) {
+                hand.add(TileCatalog.get(data[pos + i]));
+            }
+        }
+        pos += handSize;
+
+        int discardSize = data[pos++];
+        int discardTop = data[pos++];
+        List<Tile> discarded = player.getDiscarded();
+        while (discarded.size() > discardSize) {
+            discarded.remove(discarded.size() - 1);
+        }
+        if (discarded.size() < discardSize) {
+            discarded.add(TileCatalog.get(discardTop));  // 被吃碰槓胡拿走的那一張
+        }
+        truncate(player.getFlowers(), data[pos++]);
+        truncate(player.getMelds(), data[pos++]);
+        return pos;
+    }
+
+    // 移除最上層 frame
+    void end() {
+        depth--;
+        size = frames[depth];
+        refs[depth] = null;
+    }
+
+    private static void truncate(List<?> list, int size) {
+        while (list.size() > size) {
+            list.remove(list.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package example.game;
+
+import example.model.Player;
+import example.model.Tile;
+import example.model.TileCatalog;
+
+// 聽牌遮罩：42 位元的 long，第 id 位元為 1 表示摸到或吃到該牌即可胡
+// 遮罩存在 Player 上，只有手牌或鳴牌變動後的第一次查詢才重新計算，其餘查詢只是一次位元測試
+public final class WaitingTiles {
+
+    private WaitingTiles() {
+    }
+
+    // 玩家目前的聽牌遮罩（必要時重新計算）
+    public static long of(Player player) {
+        if (!player.isWaitingMaskCached()) {
+            player.cacheWaitingMask(compute(player.getTileCounts(), player.getMelds().size()));
+        }
+        return player.getCachedWaitingMask();
+    }
+
+    // 這張牌是否能讓玩家胡牌
+    public static boolean isWinningTile(Player player, Tile tile) {
+        return (of(player) >>> tile.getId() & 1L) != 0;
+    }
+
+    // 計算手牌張數對應的聽牌遮罩；張數不是 3n+1 時沒有聽牌
+    public static long compute(int[] counts, int meldCount) {
+        int setsNeeded = WinTable.REQUIRED_SETS - meldCount;
+        int total = 0;
+        for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+            total += counts[id];
+        }
+        if (setsNeeded < 0 || total != setsNeeded * 3 + 1) {
+            return 0L;
+        }
+
+        long mask = 0L;
+        for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+            // 第五張不存在；與手牌無關的牌不可能是聽的牌
+            if (counts[id] < 4 && isRelevant(counts, id)
+                    && WinTable.isWinningHandWith(counts, meldCount, id)) {
+                mask |= 1L << id;
+            }
+        }
+        return mask;
+    }
+
+    // 手上有這張牌，或（數字牌）同門前後兩張內有牌
+    private static boolean isRelevant(int[] counts, int id) {
+        if (counts[id] > 0) {
+            return true;
+        }
+        if (!TileCatalog.isSuited(id)) {
+            return false;
+        }
+        int pos = id % TileCatalog.SUIT_SIZE;
+        for (int d = -2; d <= 2; d++) {
+            int p = pos + d;
+            if (d != 0 && p >= 0 && p < TileCatalog.SUIT_SIZE && counts[id + d] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,101 @@
+package example.game;
+
+import example.model.Tile;
+import example.model.TileCatalog;
+
+import java.util.SplittableRandom;
+
+// 牌山：以牌 ID 陣列表示，head 端為一般摸牌，tail 端為補花、槓後補牌（嶺上）
+// 陣列本身可以跨局重複使用，重新洗牌或 reset() 都不需要配置新物件
+public class Wall {
+    private final int[] tiles = new int[TileCatalog.TOTAL_TILES];
+    private int head;   // 下一張一般摸牌的位置
+    private int tail;   // 補牌端：下一張補牌位於 tail - 1
+
+    public Wall() {
+        fill();
+        reset();
+    }
+
+    // 從固定的初始順序洗牌（Fisher-Yates）並讓整副牌回到牌山，結果只取決於亂數
+    public void shuffle(SplittableRandom random) {
+        fill();
+        for (int i = tiles.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = tiles[i];
+            tiles[i] = tiles[j];
+            tiles[j] = tmp;
+        }
+        reset();
+    }
+
+    // 依牌 ID 順序排好整副牌
+    private void fill() {
+        int pos = 0;
+        for (int id = 0; id < TileCatalog.ID_COUNT; id++) {
+            for (int i = 0; i < TileCatalog.copiesOf(id); i++) {
+                tiles[pos++] = id;
+            }
+        }
+    }
+
+    // 讓整副牌以目前的順序回到牌山，O(1)
+    public void reset() {
+        head = 0;
+        tail = tiles.length;
+    }
+
+    // 一般摸牌（head 端）
+    public Tile draw() {
+        if (head == tail) {
+            throw new IllegalStateException("Wall is empty");
+        }
+        return TileCatalog.get(tiles[head++]);
+    }
+
+    // 補牌（tail 端）
+    public Tile drawReplacement() {
+        if (head == tail) {
+            throw new IllegalStateException("Wall is empty");
+        }
+        return TileCatalog.get(tiles[--tail]);
+    }
+
+    public int remaining() {
+        return tail - head;
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    // 以下供 GameCodec 讀寫陣列位置與兩端游標
+    int head() {
+        return head;
+    }
+
+    int tail() {
+        return tail;
+    }
+
+    int slot(int pos) {
+        return tiles[pos];
+    }
+
+    void setSlot(int pos, int id) {
+        tiles[pos] = id;
+    }
+
+    void setCursors(int head, int tail) {
+        if (head < 0 || head > tail || tail > tiles.length) {
+            throw new IllegalArgumentException("Invalid wall cursors: " + head + ", " + tail);
+        }
+        this.head = head;
+        this.tail = tail;
+    }
+
+    // 牌山中第 offset 張（由 head 端算起）的牌 ID
+    public int tileIdAt(int offset) {
+        return tiles[head + offset];
+    }
+}
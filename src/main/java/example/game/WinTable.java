@@ -0,0 +1,143 @@
+package example.game;
+
+import example.model.TileCatalog;
+
+// 查表式胡牌判定：每門數字牌的 9 個張數以 5 進位編成一個鍵
+// 啟動時一次列舉所有可拆成「面子」或「面子 + 一對將」的單門牌型，之後每門只需一次陣列查詢
+public final class WinTable {
+    public static final int REQUIRED_SETS = 5;   // 台灣十六張：5 組面子 + 1 對將
+    static final int SETS = 1;             // 可以完全拆成面子
+    static final int SETS_WITH_PAIR = 2;   // 可以拆成面子 + 一對將
+
+    private static final int[] POW5 = new int[TileCatalog.SUIT_SIZE + 1];
+    private static final byte[] TABLE;
+
+    static {
+        POW5[0] = 1;
+        for (int i = 1; i < POW5.length; i++) {
+            POW5[i] = POW5[i - 1] * 5;
+        }
+        TABLE = new byte[POW5[TileCatalog.SUIT_SIZE]];
+        enumerateSets(new int[TileCatalog.SUIT_SIZE], 0, 0, 0);
+    }
+
+    private WinTable() {
+    }
+
+    // 手牌張數 + 已鳴牌組數是否構成胡牌
+    public static boolean isWinningHand(int[] counts, int meldCount) {
+        int setsNeeded = REQUIRED_SETS - meldCount;
+        if (setsNeeded < 0) {
+            return false;
+        }
+
+        int total = 0;
+        int pairs = 0;
+        // 數字牌：每門查表一次
+        for (int base = 0; base < TileCatalog.WIND_BASE; base += TileCatalog.SUIT_SIZE) {
+            int key = 0;
+            int suitTotal = 0;
+            for (int i = TileCatalog.SUIT_SIZE - 1; i >= 0; i--) {
+                int c = counts[base + i];
+                if (c > 4) {
+                    return false;
+                }
+                key = key * 5 + c;
+                suitTotal += c;
+            }
+            if (suitTotal == 0) {
+                continue;
+            }
+            int flags = TABLE[key];
+            if (flags == 0) {
+                return false;
+            }
+            if (flags == SETS_WITH_PAIR) {
+                pairs++;
+            }
+            total += suitTotal;
+        }
+
+        // 字牌：只能是刻子或將
+        for (int id = TileCatalog.WIND_BASE; id < TileCatalog.KIND_COUNT; id++) {
+            int c = counts[id];
+            if (c == 2) {
+                pairs++;
+            } else if (c != 0 && c != 3) {
+                return false;
+            }
+            total += c;
+        }
+
+        // 手上不能有花牌
+        for (int id = TileCatalog.FLOWER_BASE; id < counts.length; id++) {
+            if (counts[id] != 0) {
+                return false;
+            }
+        }
+        return pairs == 1 && total == setsNeeded * 3 + 2;
+    }
+
+    // 加入一張牌後是否胡牌（用於檢查別人打出的牌）
+    public static boolean isWinningHandWith(int[] counts, int meldCount, int extraId) {
+        counts[extraId]++;
+        boolean win = isWinningHand(counts, meldCount);
+        counts[extraId]--;
+        return win;
+    }
+
+    // 某門數字牌的 5 進位鍵（base 為該門第一張牌的 ID）
+    public static int suitKey(int[] counts, int base) {
+        int key = 0;
+        for (int i = TileCatalog.SUIT_SIZE - 1; i >= 0; i--) {
+            key = key * 5 + counts[base + i];
+        }
+        return key;
+    }
+
+    // 單門牌型的拆解旗標（SETS / SETS_WITH_PAIR / 0）
+    static int flags(int suitKey) {
+        return TABLE[suitKey];
+    }
+
+    // 列舉：從 shape 開始（刻子 0-8、順子 9-15）依非遞減順序加入面子
+    private static void enumerateSets(int[] suit, int key, int setCount, int shape) {
+        TABLE[key] = SETS;
+        markPairs(suit, key);
+        if (setCount == REQUIRED_SETS) {
+            return;
+        }
+
+        for (int s = shape; s < 16; s++) {
+            if (s < TileCatalog.SUIT_SIZE) {
+                if (suit[s] + 3 > 4) {
+                    continue;
+                }
+                suit[s] += 3;
+                enumerateSets(suit, key + 3 * POW5[s], setCount + 1, s);
+                suit[s] -= 3;
+            } else {
+                int start = s - TileCatalog.SUIT_SIZE;
+                if (suit[start] == 4 || suit[start + 1] == 4 || suit[start + 2] == 4) {
+                    continue;
+                }
+                suit[start]++;
+                suit[start + 1]++;
+                suit[start + 2]++;
+                enumerateSets(suit, key + POW5[start] + POW5[start + 1] + POW5[start + 2], setCount + 1, s);
+                suit[start]--;
+                suit[start + 1]--;
+                suit[start + 2]--;
+            }
+        }
+    }
+
+    // 在面子組合上加一對將
+    private static void markPairs(int[] suit, int key) {
+        for (int i = 0; i < TileCatalog.SUIT_SIZE; i++) {
+            if (suit[i] <= 2) {
+                TABLE[key + 2 * POW5[i]] = SETS_WITH_PAIR;
+            }
+        }
+    }
+}
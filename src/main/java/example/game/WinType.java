@@ -0,0 +1,8 @@
+package example.game;
+
+public enum WinType {
+    SELF_DRAW,           // 自摸
+    KONG_REPLACEMENT,    // 槓上開花
+    FLOWER_REPLACEMENT,  // 補花後胡牌
+    DISCARD              // 胡別人打出的牌
+}
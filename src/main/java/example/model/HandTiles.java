@@ -0,0 +1,91 @@
+package example.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+// 手牌列表：在一般 List 操作之外，同步維護每種牌的張數（直方圖）
+// 任何透過 List 介面的增刪都會更新張數，因此 getHand() 的使用者不會讓張數失去同步
+class HandTiles extends AbstractList<Tile> implements RandomAccess {
+    private final List<Tile> tiles = new ArrayList<>();
+    private final int[] counts = new int[TileCatalog.ID_COUNT];
+    private int version;       // 每次手牌內容變動都會遞增
+
+    @Override
+    public Tile get(int index) {
+        return tiles.get(index);
+    }
+
+    @Override
+    public int size() {
+        return tiles.size();
+    }
+
+    @Override
+    public void add(int index, Tile tile) {
+        tiles.add(index, tile);
+        counts[tile.getId()]++;
+        version++;
+        modCount++;
+    }
+
+    @Override
+    public Tile set(int index, Tile tile) {
+        Tile old = tiles.set(index, tile);
+        counts[old.getId()]--;
+        counts[tile.getId()]++;
+        version++;
+        return old;
+    }
+
+    @Override
+    public Tile remove(int index) {
+        Tile old = tiles.remove(index);
+        counts[old.getId()]--;
+        version++;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        tiles.clear();
+        Arrays.fill(counts, 0);
+        version++;
+        modCount++;
+    }
+
+    // 排序不改變張數，直接排序底層列表
+    @Override
+    public void sort(Comparator<? super Tile> c) {
+        tiles.sort(c);
+        modCount++;
+    }
+
+    // 某種牌在手牌中的張數
+    int count(int id) {
+        return counts[id];
+    }
+
+    // 張數陣列本身（唯讀使用）
+    int[] counts() {
+        return counts;
+    }
+
+    int version() {
+        return version;
+    }
+
+    // 第一張指定 ID 的牌的索引，沒有則回傳 -1
+    int indexOf(int id) {
+        for (int i = 0; i < tiles.size(); i++) {
+            if (tiles.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -4,16 +4,19 @@ import java.util.*;
 
 public class Player {
     private final String name;
-    private final List<Tile> hand;        // 手牌
+    private final HandTiles hand;         // 手牌（同步維護每種牌的張數）
     private final List<Tile> flowers;      // 花牌
     private final List<Tile> discarded;    // 打出的牌
     private final boolean isHuman;         // 是否為人類玩家
     private final List<Meld> melds;        // 鳴牌組（吃碰槓）
+    private long waitingMask;              // 聽牌遮罩快取（第 id 位元代表可胡該牌）
+    private int waitingMaskVersion = -1;   // 快取時的手牌版本
+    private int waitingMaskMelds = -1;     // 快取時的鳴牌組數
 
     public Player(String name, boolean isHuman) {
         this.name = name;
         this.isHuman = isHuman;
-        this.hand = new ArrayList<>();
+        this.hand = new HandTiles();
         this.flowers = new ArrayList<>();
         this.discarded = new ArrayList<>();
         this.melds = new ArrayList<>();
@@ -72,108 +75,119 @@ public class Player {
 
     // 吃牌判定
     public List<List<Integer>> getChiOptions(Tile tile) {
-        // 基本檢查保持不變
-        if (tile.getType() == Tile.TileType.WIND ||
-                tile.getType() == Tile.TileType.DRAGON ||
-                tile.getType() == Tile.TileType.FLOWER) {
+        // 字牌與花牌不能吃
+        int id = tile.getId();
+        if (!TileCatalog.isSuited(id)) {
             return Collections.emptyList();
         }
 
-        List<List<Integer>> options = new ArrayList<>();
-        Map<Integer, List<Integer>> numberIndices = new HashMap<>();
-
-        // 記錄手牌中同類型牌的位置
-        for (int i = 0; i < hand.size(); i++) {
-            Tile t = hand.get(i);
-            if (t.getType() == tile.getType()) {
-                numberIndices.computeIfAbsent(t.getNumber(), k -> new ArrayList<>()).add(i);
-            }
-        }
-
         int n = tile.getNumber();
+        int suitBase = id - (n - 1);
+        List<List<Integer>> options = null;
 
-        // 使用輔助方法檢查三種吃牌情況
-        checkSequence(n - 2, n - 1, numberIndices, options);  // 後吃
-        checkMiddleSequence(n - 1, n + 1, numberIndices, options);  // 中吃
-        checkSequence(n + 1, n + 2, numberIndices, options);  // 前吃
+        // 依張數檢查三種吃牌情況，只在成立時才查索引
+        options = addChiOption(n - 2, n - 1, suitBase, options);  // 後吃
+        options = addChiOption(n - 1, n + 1, suitBase, options);  // 中吃
+        options = addChiOption(n + 1, n + 2, suitBase, options);  // 前吃
 
-        return options;
+        return options == null ? Collections.emptyList() : options;
     }
 
-    // 輔助方法：檢查連續的兩張牌
-    private void checkSequence(int start, int end, Map<Integer, List<Integer>> numberIndices,
-                               List<List<Integer>> options) {
+    // 輔助方法：兩張搭子都在手上時加入吃牌選項
+    private List<List<Integer>> addChiOption(int first, int second, int suitBase,
+                                             List<List<Integer>> options) {
         // 檢查範圍有效性
-        if (start < 1 || end > 9) return;
+        if (first < 1 || second > 9) return options;
+        int firstId = suitBase + first - 1;
+        int secondId = suitBase + second - 1;
+        if (hand.count(firstId) == 0 || hand.count(secondId) == 0) return options;
+
+        List<List<Integer>> result = options == null ? new ArrayList<>(3) : options;
+        List<Integer> indices = new ArrayList<>(2);
+        indices.add(hand.indexOf(firstId));
+        indices.add(hand.indexOf(secondId));
+        result.add(indices);
+        return result;
+    }
 
-        List<Integer> seqIndices = new ArrayList<>();
-        for (int i = start; i <= end; i++) {
-            if (!numberIndices.containsKey(i)) return;
-            seqIndices.add(numberIndices.get(i).get(0));
+    // 是否可以吃這張牌（不建立索引列表）
+    public boolean canChi(Tile tile) {
+        int id = tile.getId();
+        if (!TileCatalog.isSuited(id)) {
+            return false;
         }
-        options.add(seqIndices);
+        int n = tile.getNumber();
+        boolean hasM2 = n >= 3 && hand.count(id - 2) > 0;
+        boolean hasM1 = n >= 2 && hand.count(id - 1) > 0;
+        boolean hasP1 = n <= 8 && hand.count(id + 1) > 0;
+        boolean hasP2 = n <= 7 && hand.count(id + 2) > 0;
+        return (hasM2 && hasM1) || (hasM1 && hasP1) || (hasP1 && hasP2);
     }
 
-    // 輔助方法：檢查中間吃的情況
-    private void checkMiddleSequence(int before, int after, Map<Integer, List<Integer>> numberIndices,
-                                     List<List<Integer>> options) {
-        // 檢查範圍有效性
-        if (before < 1 || after > 9) return;
+    // 是否可以碰這張牌
+    public boolean canPong(Tile tile) {
+        return hand.count(tile.getId()) >= 2;
+    }
 
-        if (numberIndices.containsKey(before) && numberIndices.containsKey(after)) {
-            List<Integer> middleIndices = new ArrayList<>();
-            middleIndices.add(numberIndices.get(before).get(0));
-            middleIndices.add(numberIndices.get(after).get(0));
-            options.add(middleIndices);
-        }
+    // 是否可以槓這張牌
+    public boolean canKong(Tile tile) {
+        return hand.count(tile.getId()) >= 3;
     }
 
     // 碰牌判定
     public List<Integer> getPongIndices(Tile tile) {
-        List<Integer> indices = new ArrayList<>();
-        for (int i = 0; i < hand.size(); i++) {
-            Tile t = hand.get(i);
-            if (t.getType() == tile.getType() && t.getNumber() == tile.getNumber()) {
-                indices.add(i);
-            }
-        }
-        return indices.size() >= 2 ? indices : Collections.emptyList();
+        return canPong(tile) ? indicesOf(tile.getId()) : Collections.emptyList();
     }
 
     // 槓牌判定
     public List<Integer> getKongIndices(Tile tile) {
-        List<Integer> indices = new ArrayList<>();
-        for (int i = 0; i < hand.size(); i++) {
-            Tile t = hand.get(i);
-            if (t.getType() == tile.getType() && t.getNumber() == tile.getNumber()) {
-                indices.add(i);
-            }
-        }
-        return indices.size() >= 3 ? indices : Collections.emptyList();
+        return canKong(tile) ? indicesOf(tile.getId()) : Collections.emptyList();
     }
 
     // 暗槓判定
     public List<List<Integer>> getConcealedKongOptions() {
-        Map<String, List<Integer>> groups = new HashMap<>();
-
-        // 收集所有相同的牌
-        for (int i = 0; i < hand.size(); i++) {
-            Tile tile = hand.get(i);
-            String key = tile.getType() + "-" + tile.getNumber();
-            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
-        }
-
         // 找出所有四張相同的牌
         List<List<Integer>> options = new ArrayList<>();
-        for (List<Integer> indices : groups.values()) {
-            if (indices.size() == 4) {
-                options.add(indices);
+        for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+            if (hand.count(id) == 4) {
+                options.add(indicesOf(id));
             }
         }
 
         return options;
     }
 
+    // 是否有可暗槓的牌
+    public boolean hasConcealedKong() {
+        for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+            if (hand.count(id) == 4) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 輔助方法：手牌中所有指定 ID 的索引
+    private List<Integer> indicesOf(int id) {
+        List<Integer> indices = new ArrayList<>(hand.count(id));
+        for (int i = 0; i < hand.size(); i++) {
+            if (hand.get(i).getId() == id) {
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+
+    // 手牌中某種牌的張數
+    public int getTileCount(int id) {
+        return hand.count(id);
+    }
+
+    // 手牌張數陣列（以牌 ID 為索引，唯讀；請勿修改內容）
+    public int[] getTileCounts() {
+        return hand.counts();
+    }
+
     // 執行吃牌
     public void chi(Tile tile, List<Integer> indices) {
         List<Tile> chiTiles = new ArrayList<>();
@@ -218,6 +232,27 @@ public class Player {
         melds.add(new Meld(MeldType.CONCEALED_KONG, kongTiles));
     }
 
+    // 手牌版本：每次手牌內容變動都會遞增（排序不算）
+    public int getHandVersion() {
+        return hand.version();
+    }
+
+    // 聽牌遮罩快取是否仍對應目前的手牌
+    public boolean isWaitingMaskCached() {
+        return waitingMaskVersion == hand.version() && waitingMaskMelds == melds.size();
+    }
+
+    public long getCachedWaitingMask() {
+        return waitingMask;
+    }
+
+    // 記錄目前手牌對應的聽牌遮罩，手牌或鳴牌變動後自動失效
+    public void cacheWaitingMask(long mask) {
+        waitingMask = mask;
+        waitingMaskVersion = hand.version();
+        waitingMaskMelds = melds.size();
+    }
+
     // Getters
     public String getName() {
         return name;
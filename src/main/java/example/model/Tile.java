@@ -3,10 +3,13 @@ package example.model;
 public class Tile {
     private final TileType type;
     private final int number;
+    private final int id;      // 牌目錄中的 ID
 
+    // 一般情況請使用 TileCatalog.of 取得共用實例
     public Tile(TileType type, int number) {
         this.type = type;
         this.number = number;
+        this.id = TileCatalog.idOf(type, number);
     }
 
     public enum TileType {
@@ -35,6 +38,10 @@ public class Tile {
         return number;
     }
 
+    public int getId() {
+        return id;
+    }
+
     @Override
     public String toString() {
         if (type == TileType.WIND) {
@@ -73,11 +80,11 @@ public class Tile {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Tile tile = (Tile) o;
-        return number == tile.number && type == tile.type;
+        return id == tile.id;
     }
 
     @Override
     public int hashCode() {
-        return 31 * type.hashCode() + number;
+        return id;
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package example.model;
+
+// 牌目錄：每一種牌對應一個連續的整數 ID 與共用的不可變 Tile 實例
+// ID 配置：0-8 萬、9-17 筒、18-26 條、27-30 風（東南西北）、31-33 三元（中發白）、34-41 花
+public final class TileCatalog {
+    public static final int SUIT_SIZE = 9;                            // 每門數字牌的張數種類
+    public static final int WIND_BASE = 27;                           // 風牌起始 ID
+    public static final int DRAGON_BASE = 31;                         // 三元牌起始 ID
+    public static final int FLOWER_BASE = 34;                         // 花牌起始 ID
+    public static final int KIND_COUNT = FLOWER_BASE;                 // 非花牌種類數 (34)
+    public static final int ID_COUNT = FLOWER_BASE + 8;               // 全部種類數 (42)
+    public static final int COPIES_PER_KIND = 4;                      // 每種非花牌的張數
+    public static final int TOTAL_TILES = KIND_COUNT * COPIES_PER_KIND + 8;  // 144
+
+    private static final Tile[] TILES = new Tile[ID_COUNT];
+
+    static {
+        for (int id = 0; id < ID_COUNT; id++) {
+            TILES[id] = new Tile(typeOf(id), numberOf(id));
+        }
+    }
+
+    private TileCatalog() {
+    }
+
+    // 取得指定 ID 的共用牌
+    public static Tile get(int id) {
+        return TILES[id];
+    }
+
+    // 取得指定種類與數字的共用牌
+    public static Tile of(Tile.TileType type, int number) {
+        return TILES[idOf(type, number)];
+    }
+
+    // 計算牌的 ID
+    public static int idOf(Tile.TileType type, int number) {
+        int base;
+        int max;
+        switch (type) {
+            case WAN -> { base = 0; max = SUIT_SIZE; }
+            case TONG -> { base = SUIT_SIZE; max = SUIT_SIZE; }
+            case TIAO -> { base = 2 * SUIT_SIZE; max = SUIT_SIZE; }
+            case WIND -> { base = WIND_BASE; max = 4; }
+            case DRAGON -> { base = DRAGON_BASE; max = 3; }
+            default -> { base = FLOWER_BASE; max = 8; }
+        }
+        if (number < 1 || number > max) {
+            throw new IllegalArgumentException("Invalid " + type + " number: " + number);
+        }
+        return base + number - 1;
+    }
+
+    public static Tile.TileType typeOf(int id) {
+        if (id < WIND_BASE) {
+            return switch (id / SUIT_SIZE) {
+                case 0 -> Tile.TileType.WAN;
+                case 1 -> Tile.TileType.TONG;
+                default -> Tile.TileType.TIAO;
+            };
+        } else if (id < DRAGON_BASE) {
+            return Tile.TileType.WIND;
+        } else if (id < FLOWER_BASE) {
+            return Tile.TileType.DRAGON;
+        }
+        return Tile.TileType.FLOWER;
+    }
+
+    public static int numberOf(int id) {
+        if (id < WIND_BASE) {
+            return id % SUIT_SIZE + 1;
+        } else if (id < DRAGON_BASE) {
+            return id - WIND_BASE + 1;
+        } else if (id < FLOWER_BASE) {
+            return id - DRAGON_BASE + 1;
+        }
+        return id - FLOWER_BASE + 1;
+    }
+
+    // 是否為數字牌（萬、筒、條）
+    public static boolean isSuited(int id) {
+        return id < WIND_BASE;
+    }
+
+    // 是否為花牌
+    public static boolean isFlower(int id) {
+        return id >= FLOWER_BASE;
+    }
+
+    // 每種牌在一副牌中的張數
+    public static int copiesOf(int id) {
+        return isFlower(id) ? 1 : COPIES_PER_KIND;
+    }
+}
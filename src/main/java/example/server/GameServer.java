@@ -0,0 +1,248 @@
+package example.server;
+
+import example.game.GameMetrics;
+import example.model.Player;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// 多桌伺服器：一個 selector 執行緒處理所有連線，牌桌由 TableHost 的執行緒池推進
+// 文字行協定（UTF-8，每行以 \n 結尾），與 Game.main 的主控台輸入相同：
+//   數字      打出手牌中該索引的牌（humanDiscard）
+//   W/P/K/Cn 胡、碰、槓、吃第 n 個選項，其他字串略過（handleResponse）
+//   NEW       上一局結束後開新的一桌
+//   QUIT      離開
+// 每條連線開一張桌，自己坐 0 號位（莊家），其餘三家為電腦
+public final class GameServer implements AutoCloseable, Session.LineHandler {
+    private final TableHost host;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<Session> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Queue<Session> pendingCloses = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+    private volatile Thread selectorThread;  // 正在執行 serve() 的執行緒
+
+    public GameServer(int port, TableHost host) throws IOException {
+        this.host = host;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("localhost", port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    // 實際監聽的埠號（port 為 0 時由系統指定）
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public TableHost getHost() {
+        return host;
+    }
+
+    // selector 迴圈，直到 close()；結束時關閉所有連線
+    public void serve() throws IOException {
+        selectorThread = Thread.currentThread();
+        try {
+            loop();
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        }
+    }
+
+    private void loop() throws IOException {
+        while (running) {
+            selector.select();
+            processPending();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                Session session = (Session) key.attachment();
+                try {
+                    if (key.isReadable() && !session.read(this)) {
+                        disconnect(session);
+                        continue;
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        writeReady(session);
+                    }
+                } catch (IOException e) {
+                    disconnect(session);
+                }
+            }
+        }
+    }
+
+    // 在背景執行緒上啟動 serve()
+    public Thread start() {
+        Thread thread = new Thread(() -> {
+            try {
+                serve();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, "game-server-selector");
+        thread.setDaemon(true);
+        selectorThread = thread;
+        thread.start();
+        return thread;
+    }
+
+    @Override
+    public void onLine(Session session, String line) {
+        String command = line.trim();
+        if (command.isEmpty()) {
+            return;
+        }
+        if (command.equalsIgnoreCase("QUIT")) {
+            disconnect(session);
+            return;
+        }
+        if (command.equalsIgnoreCase("NEW")) {
+            if (session.table != null && !session.table.isClosed()) {
+                session.send("INVALID Game in progress");
+            } else {
+                openTable(session);
+            }
+            return;
+        }
+        Table table = session.table;
+        if (table == null || table.isClosed()) {
+            session.send("INVALID No game in progress, send NEW");
+            return;
+        }
+        int seat = session.seat;
+        table.submit(() -> table.command(seat, command));
+    }
+
+    void requestWrite(Session session) {
+        pendingWrites.add(session);
+        selector.wakeup();
+    }
+
+    void requestClose(Session session) {
+        pendingCloses.add(session);
+        selector.wakeup();
+    }
+
+    private void processPending() {
+        Session session;
+        while ((session = pendingCloses.poll()) != null) {
+            disconnect(session);
+        }
+        while ((session = pendingWrites.poll()) != null) {
+            if (session.key != null && session.key.isValid()) {
+                writeReady(session);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        Session session = new Session(this, channel);
+        session.key = channel.register(selector, SelectionKey.OP_READ, session);
+        openTable(session);
+    }
+
+    private void openTable(Session session) {
+        Player[] players = new Player[4];
+        players[0] = new Player("Player", true);
+        for (int i = 1; i < 4; i++) {
+            players[i] = new Player("Computer " + i, false);
+        }
+        Table table = host.open(players, new SessionListener(session, 0));
+        if (table == null) {
+            session.sendAndClose("FULL");
+            return;
+        }
+        session.table = table;
+        session.seat = 0;
+    }
+
+    private void writeReady(Session session) {
+        try {
+            boolean done = session.flush();
+            if (done && session.isClosing()) {
+                disconnect(session);
+            } else if (session.key.isValid()) {
+                session.key.interestOps(done ? SelectionKey.OP_READ
+                        : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        } catch (IOException e) {
+            disconnect(session);
+        }
+    }
+
+    private void disconnect(Session session) {
+        Table table = session.table;
+        if (table != null) {
+            session.table = null;
+            table.submit(table::abandon);
+        }
+        if (session.key != null) {
+            session.key.cancel();
+        }
+        try {
+            session.channel().close();
+        } catch (IOException e) {
+            // 已經斷線
+        }
+    }
+
+    // 先等 selector 迴圈結束（斷線時還會把 abandon 排給牌桌），再關閉 TableHost
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        Thread thread = selectorThread;
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        host.close();
+    }
+
+    // 用法：GameServer [port] [threads] [maxTables] [claimTimeoutMillis]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxTables = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        long claimTimeout = args.length > 3 ? Long.parseLong(args[3]) : 15_000;
+        // 計數器以 JMX 公開；-Dmahjong.metrics=true 時一開始就啟用並每分鐘輸出一次
+        GameMetrics.registerGlobal();
+        if (GameMetrics.global().isEnabled()) {
+            GameMetrics.global().scheduleDump(System.out, 60_000);
+        }
+        try (GameServer server = new GameServer(port, new TableHost(threads, maxTables, claimTimeout))) {
+            System.out.println("Listening on port " + server.getPort() + " (" + threads
+                    + " threads, up to " + maxTables + " tables)");
+            server.serve();
+        }
+    }
+}
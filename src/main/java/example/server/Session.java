@@ -0,0 +1,109 @@
+package example.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 一條 TCP 連線：讀取只在 selector 執行緒，送出可以來自任何牌桌執行緒
+// 輸入每行最多 MAX_LINE 位元組，待送資料最多 MAX_PENDING_BYTES，超過就斷線，每條連線的記憶體有上限
+final class Session {
+    static final int MAX_LINE = 256;
+    static final int MAX_PENDING_BYTES = 64 * 1024;
+
+    private final GameServer server;
+    private final SocketChannel channel;
+    private final ByteBuffer input = ByteBuffer.allocate(MAX_LINE);
+    private final Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingBytes = new AtomicInteger();
+    private final AtomicBoolean writeRequested = new AtomicBoolean();
+    private volatile boolean closing;
+    SelectionKey key;
+    Table table;  // 只在 selector 執行緒讀寫
+    int seat;
+
+    Session(GameServer server, SocketChannel channel) {
+        this.server = server;
+        this.channel = channel;
+    }
+
+    SocketChannel channel() {
+        return channel;
+    }
+
+    // 送出一行（任何執行緒）
+    void send(String line) {
+        if (closing) {
+            return;
+        }
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        if (pendingBytes.addAndGet(bytes.length) > MAX_PENDING_BYTES) {
+            // 對方讀得太慢，不再累積
+            closing = true;
+            server.requestClose(this);
+            return;
+        }
+        output.add(ByteBuffer.wrap(bytes));
+        if (writeRequested.compareAndSet(false, true)) {
+            server.requestWrite(this);
+        }
+    }
+
+    // 送完待送資料後關閉（例如伺服器已滿）
+    void sendAndClose(String line) {
+        send(line);
+        closing = true;
+        server.requestWrite(this);
+    }
+
+    boolean isClosing() {
+        return closing;
+    }
+
+    // selector 執行緒：讀入資料並切成行；回傳 false 表示連線已結束
+    boolean read(LineHandler handler) throws IOException {
+        if (channel.read(input) < 0) {
+            return false;
+        }
+        input.flip();
+        int start = input.position();
+        for (int i = start; i < input.limit(); i++) {
+            if (input.get(i) == '\n') {
+                int end = i > start && input.get(i - 1) == '\r' ? i - 1 : i;
+                byte[] line = new byte[end - start];
+                input.get(start, line);
+                start = i + 1;
+                handler.onLine(this, new String(line, StandardCharsets.UTF_8));
+            }
+        }
+        input.position(start);
+        input.compact();
+        // 緩衝區滿了還沒有換行：行太長，直接斷線
+        return input.hasRemaining();
+    }
+
+    // selector 執行緒：盡量寫出待送資料；全部寫完回傳 true
+    boolean flush() throws IOException {
+        writeRequested.set(false);
+        ByteBuffer buffer;
+        while ((buffer = output.peek()) != null) {
+            int written = channel.write(buffer);
+            pendingBytes.addAndGet(-written);
+            if (buffer.hasRemaining()) {
+                writeRequested.set(true);
+                return false;
+            }
+            output.poll();
+        }
+        return true;
+    }
+
+    interface LineHandler {
+        void onLine(Session session, String line);
+    }
+}
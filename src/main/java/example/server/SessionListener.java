@@ -0,0 +1,120 @@
+package example.server;
+
+import example.game.EndType;
+import example.game.Game;
+import example.game.GameListener;
+import example.game.GameState;
+import example.game.WinType;
+import example.model.Meld;
+import example.model.Player;
+import example.model.Tile;
+
+import java.util.List;
+
+// 把牌桌事件轉成文字行送給坐在 seat 的連線；公開資訊（打牌、鳴牌、胡牌）所有人都看得到，
+// 摸到的牌與提示只送給自己
+final class SessionListener implements GameListener {
+    private final Session session;
+    private final int seat;
+    private Game game;
+
+    SessionListener(Session session, int seat) {
+        this.session = session;
+        this.seat = seat;
+    }
+
+    private int seatOf(Player player) {
+        Player[] players = game.getPlayers();
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isMine(Player player) {
+        return seatOf(player) == seat;
+    }
+
+    @Override
+    public void onDealStarted(Game game) {
+        this.game = game;
+    }
+
+    @Override
+    public void onGameStarted(Game game) {
+        session.send("STARTED " + seat);
+        session.send("HAND " + game.getPlayers()[seat].getHandString().trim());
+    }
+
+    @Override
+    public void onTurnStarted(Game game, Player player) {
+        session.send("TURN " + seatOf(player));
+    }
+
+    @Override
+    public void onTileDrawn(Player player, Tile tile, boolean replacement) {
+        // 配牌時的摸牌不逐張送出，開局時一次送整副手牌
+        if (isMine(player) && game.getCurrentState() != GameState.WAITING) {
+            session.send((replacement ? "REPLACEMENT " : "DRAW ") + tile);
+        }
+    }
+
+    @Override
+    public void onConcealedKongOptions(Player player, List<List<Integer>> options) {
+        session.send("KONG_OPTIONS " + options);
+    }
+
+    @Override
+    public void onDiscardRequested(Player player) {
+        session.send("HAND " + player.getHandString().trim());
+        session.send("PROMPT DISCARD 0-" + (player.getHand().size() - 1));
+    }
+
+    @Override
+    public void onTileDiscarded(Player player, Tile tile) {
+        session.send("DISCARDED " + seatOf(player) + " " + tile);
+    }
+
+    @Override
+    public void onWinAvailable(Player player, Tile tile) {
+        session.send("HAND " + player.getHandString().trim());
+        session.send("PROMPT WIN " + tile);
+    }
+
+    @Override
+    public void onClaimOptions(Player player, Tile tile, List<String> options) {
+        session.send("HAND " + player.getHandString().trim());
+        session.send("PROMPT CLAIM " + tile + " " + String.join(" | ", options));
+    }
+
+    @Override
+    public void onMeldClaimed(Player player, Meld meld) {
+        session.send("MELD " + seatOf(player) + " " + meld);
+    }
+
+    @Override
+    public void onActionSkipped() {
+        session.send("SKIPPED");
+    }
+
+    @Override
+    public void onInvalidCommand(String message) {
+        session.send("INVALID " + message);
+    }
+
+    @Override
+    public void onWin(Player player, WinType winType) {
+        session.send("WIN " + seatOf(player) + " " + winType);
+    }
+
+    @Override
+    public void onGameOver(Game game) {
+        if (game.getEndType() == EndType.WIN) {
+            session.send("OVER WIN " + game.getWinnerIndex() + " " + game.getScore().getTotal());
+        } else {
+            session.send("OVER DRAW");
+        }
+    }
+}
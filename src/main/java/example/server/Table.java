@@ -0,0 +1,168 @@
+package example.server;
+
+import example.game.ClaimWindow;
+import example.game.Game;
+import example.game.GameListener;
+import example.game.GameState;
+import example.model.Player;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 一張牌桌：單一寫入者的 actor
+// 所有對 Game 的操作都排入信箱，同一時間最多一個執行緒在處理，Game 本身不需要同步
+// 每次被排程最多推進 STEPS_PER_SLICE 步就讓出執行緒，上萬張桌共用少數執行緒時延遲仍可預期
+public final class Table {
+    static final int STEPS_PER_SLICE = 64;
+
+    private final int id;
+    private final Game game;
+    private final GameListener listener;
+    private final Executor executor;
+    private final Queue<Runnable> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Runnable drain = this::drain;
+    private final CompletableFuture<Game> result = new CompletableFuture<>();
+    private final ScheduledExecutorService timer;
+    private final Runnable onClosed;
+    private boolean closed;          // 只在牌桌執行緒讀寫
+    private int scheduledWindow;     // 已排程逾時的回應窗口
+
+    Table(int id, Player[] players, GameListener listener, long seed, Executor executor,
+          ScheduledExecutorService timer, long claimTimeoutMillis, Runnable onClosed) {
+        this.id = id;
+        this.game = new Game(players, listener, seed);
+        this.listener = listener;
+        this.executor = executor;
+        this.timer = timer;
+        this.onClosed = onClosed;
+        game.setClaimTimeoutMillis(claimTimeoutMillis);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    // 遊戲結束時完成；玩家離開而中止時以例外完成
+    public CompletableFuture<Game> result() {
+        return result;
+    }
+
+    public boolean isClosed() {
+        return result.isDone();
+    }
+
+    void start() {
+        submit(game::prepareGame);
+    }
+
+    // 排入一個在牌桌執行緒上執行的動作
+    public void submit(Runnable command) {
+        inbox.add(command);
+        schedule();
+    }
+
+    // 人類玩家輸入一行指令：數字為打牌（對應 humanDiscard），其餘為這個座位的吃碰槓胡（對應 handleResponse）
+    void command(int seat, String line) {
+        if (closed) {
+            return;
+        }
+        Player player = game.getPlayers()[seat];
+        if (!player.isHuman() || !game.isAwaitingHuman()) {
+            listener.onInvalidCommand("Not waiting for your input");
+            return;
+        }
+        if (game.getCurrentState() == GameState.DISCARDING) {
+            if (game.getCurrentPlayer() != player) {
+                listener.onInvalidCommand("Not your turn");
+                return;
+            }
+            try {
+                game.humanDiscard(Integer.parseInt(line.trim()));
+            } catch (NumberFormatException e) {
+                listener.onInvalidCommand("Please enter a valid number!");
+            }
+        } else {
+            game.handleResponse(seat, line.trim().toUpperCase());
+        }
+    }
+
+    // 人類玩家離開：中止這一局
+    void abandon() {
+        if (!closed) {
+            close();
+            result.completeExceptionally(new IllegalStateException("Table " + id + " abandoned"));
+        }
+    }
+
+    // TableHost 已關閉時執行緒池拒絕排程，信箱裡的動作直接丟棄
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(drain);
+            } catch (RejectedExecutionException e) {
+                inbox.clear();
+            }
+        }
+    }
+
+    private void drain() {
+        boolean more = false;
+        try {
+            Runnable command;
+            while (!closed && (command = inbox.poll()) != null) {
+                command.run();
+            }
+            int steps = 0;
+            while (!closed && game.step()) {
+                if (++steps == STEPS_PER_SLICE) {
+                    more = true;
+                    break;
+                }
+            }
+            if (!closed && game.getCurrentState() == GameState.FINISHED) {
+                close();
+                result.complete(game);
+            } else if (!closed && !more) {
+                scheduleClaimTimeout();
+            }
+        } catch (RuntimeException e) {
+            if (!closed) {
+                close();
+                result.completeExceptionally(e);
+            }
+        } finally {
+            if (closed) {
+                inbox.clear();
+            }
+            scheduled.set(false);
+        }
+        // 還有剩下的步驟或新指令時重新排程（排在其他牌桌後面）
+        if (!closed && (more || !inbox.isEmpty())) {
+            schedule();
+        }
+    }
+
+    // 等待人類玩家回應時排程逾時：時間到時把 expireClaims 排入信箱，不佔用執行緒等待
+    private void scheduleClaimTimeout() {
+        ClaimWindow window = game.getClaimWindow();
+        if (!window.hasPending() || window.getDeadline() == 0 || window.getSerial() == scheduledWindow) {
+            return;
+        }
+        int serial = window.getSerial();
+        scheduledWindow = serial;
+        long delay = Math.max(0, window.getDeadline() - System.nanoTime());
+        timer.schedule(() -> submit(() -> game.expireClaims(serial)), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void close() {
+        closed = true;
+        onClosed.run();
+    }
+}
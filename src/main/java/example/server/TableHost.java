@@ -0,0 +1,98 @@
+package example.server;
+
+import example.game.Game;
+import example.game.GameListener;
+import example.model.Player;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 在同一個 JVM 裡同時開很多張牌桌：所有牌桌共用一個固定大小的執行緒池
+// 牌桌數有上限，每張桌只保留一個 Game（約數 KB），記憶體用量與上限成正比
+public final class TableHost implements AutoCloseable {
+    private final ForkJoinPool executor;
+    private final int maxTables;
+    private final long claimTimeoutMillis;
+    private final ScheduledThreadPoolExecutor timer;  // 所有牌桌共用的逾時計時器
+    private final ConcurrentHashMap<Integer, Table> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger openCount = new AtomicInteger();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final AtomicLong closedCount = new AtomicLong();
+
+    public TableHost(int threads, int maxTables) {
+        this(threads, maxTables, 0);
+    }
+
+    // claimTimeoutMillis：人類玩家吃碰槓胡的回應時限，0 表示一直等待
+    public TableHost(int threads, int maxTables, long claimTimeoutMillis) {
+        if (threads < 1 || maxTables < 1) {
+            throw new IllegalArgumentException("threads and maxTables must be positive");
+        }
+        // asyncMode：外部提交的任務先進先出，牌桌輪流推進
+        this.executor = new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        this.maxTables = maxTables;
+        this.claimTimeoutMillis = claimTimeoutMillis;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "table-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    // 開一張桌並開始發牌；已達上限時回傳 null
+    public Table open(Player[] players, GameListener listener) {
+        return open(players, listener, ThreadLocalRandom.current().nextLong());
+    }
+
+    public Table open(Player[] players, GameListener listener, long seed) {
+        if (openCount.incrementAndGet() > maxTables) {
+            openCount.decrementAndGet();
+            return null;
+        }
+        int id = nextId.incrementAndGet();
+        Table table = new Table(id, players, listener, seed, executor, timer, claimTimeoutMillis,
+                () -> closed(id));
+        tables.put(id, table);
+        table.start();
+        return table;
+    }
+
+    // 四個電腦玩家的桌（壓力測試與模擬用）
+    public Table openComputerTable(long seed) {
+        return open(Game.computerPlayers(), GameListener.NONE, seed);
+    }
+
+    public Table getTable(int id) {
+        return tables.get(id);
+    }
+
+    public int getOpenTables() {
+        return openCount.get();
+    }
+
+    public long getClosedTables() {
+        return closedCount.get();
+    }
+
+    public int getMaxTables() {
+        return maxTables;
+    }
+
+    private void closed(int id) {
+        if (tables.remove(id) != null) {
+            openCount.decrementAndGet();
+            closedCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,208 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class GameActionGeneratorTest {
+    private static final Tile FOUR_WAN = TileCatalog.of(Tile.TileType.WAN, 4);
+
+    private Player[] players;
+    private final int[] buffer = new int[ActionGenerator.MAX_ACTIONS];
+
+    @BeforeEach
+    public void setUp() {
+        players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            players[i] = new Player("P" + i, false);
+        }
+    }
+
+    private static void hand(Player player, Tile.TileType type, int... numbers) {
+        player.getHand().clear();
+        for (int n : numbers) {
+            player.addTile(TileCatalog.of(type, n));
+        }
+        player.sortHand();
+    }
+
+    private static int id(Tile.TileType type, int number) {
+        return TileCatalog.idOf(type, number);
+    }
+
+    @Test
+    public void testPackedFields() {
+        int action = GameAction.chi(3, 20, 19);
+        assertEquals(GameAction.CHI, GameAction.type(action));
+        assertEquals(3, GameAction.seat(action));
+        assertEquals(20, GameAction.tile(action));
+        assertEquals(19, GameAction.chiStart(action));
+
+        int kong = GameAction.of(GameAction.CONCEALED_KONG, 2, TileCatalog.ID_COUNT - 1);
+        assertEquals(GameAction.CONCEALED_KONG, GameAction.type(kong));
+        assertEquals(2, GameAction.seat(kong));
+        assertEquals(TileCatalog.ID_COUNT - 1, GameAction.tile(kong));
+    }
+
+    @Test
+    public void testResponseActions() {
+        // 0 號打出 4萬：1 號三種吃法、2 號可槓可碰、3 號單吊 4萬
+        hand(players[1], Tile.TileType.WAN, 2, 3, 5, 6);
+        hand(players[2], Tile.TileType.WAN, 4, 4, 4, 9);
+        hand(players[3], Tile.TileType.WAN, 4);
+        for (int i = 0; i < 5; i++) {
+            List<Tile> tiles = new ArrayList<>();
+            for (int k = 0; k < 3; k++) {
+                tiles.add(TileCatalog.of(Tile.TileType.TONG, i + 1));
+            }
+            players[3].getMelds().add(new Meld(MeldType.PONG, tiles));
+        }
+        Game game = new Game(players, GameListener.NONE, 1L);
+        players[0].getDiscarded().add(FOUR_WAN);
+        game.restoreState(0, GameState.RESPONDING, FOUR_WAN, 0, -1, null, 1, false);
+
+        int four = FOUR_WAN.getId();
+        int[] expected = {
+                GameAction.chi(1, four, id(Tile.TileType.WAN, 2)),
+                GameAction.chi(1, four, id(Tile.TileType.WAN, 3)),
+                GameAction.chi(1, four, id(Tile.TileType.WAN, 4)),
+                GameAction.of(GameAction.KONG, 2, four),
+                GameAction.of(GameAction.PONG, 2, four),
+                GameAction.of(GameAction.WIN, 3, four),
+                GameAction.of(GameAction.PASS, 0, four),
+        };
+        int count = ActionGenerator.generate(game, buffer);
+        assertEquals(expected.length, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(GameAction.toString(expected[i]), GameAction.toString(buffer[i]));
+        }
+    }
+
+    @Test
+    public void testNoResponseWithoutOptions() {
+        hand(players[1], Tile.TileType.TIAO, 1, 5, 9);
+        hand(players[2], Tile.TileType.TIAO, 1, 5, 9);
+        hand(players[3], Tile.TileType.TIAO, 1, 5, 9);
+        Game game = new Game(players, GameListener.NONE, 1L);
+        players[0].getDiscarded().add(FOUR_WAN);
+        game.restoreState(0, GameState.RESPONDING, FOUR_WAN, 0, -1, null, 1, false);
+        assertEquals(0, ActionGenerator.generate(game, buffer));
+    }
+
+    @Test
+    public void testDiscardActions() {
+        hand(players[0], Tile.TileType.WAN, 1, 1, 1, 1, 2, 3, 3, 9);
+        Game game = new Game(players, GameListener.NONE, 1L);
+        game.restoreState(0, GameState.DISCARDING, null, -1, -1, null, 1, false);
+
+        int count = ActionGenerator.generate(game, buffer);
+        assertEquals(5, count);
+        assertEquals(GameAction.of(GameAction.DISCARD, 0, id(Tile.TileType.WAN, 1)), buffer[0]);
+        assertEquals(GameAction.of(GameAction.DISCARD, 0, id(Tile.TileType.WAN, 2)), buffer[1]);
+        assertEquals(GameAction.of(GameAction.DISCARD, 0, id(Tile.TileType.WAN, 3)), buffer[2]);
+        assertEquals(GameAction.of(GameAction.DISCARD, 0, id(Tile.TileType.WAN, 9)), buffer[3]);
+        assertEquals(GameAction.of(GameAction.CONCEALED_KONG, 0, id(Tile.TileType.WAN, 1)), buffer[4]);
+    }
+
+    @Test
+    public void testMatchesPlayerOptions() {
+        // 整局模擬中每個決策點的動作都與 Player 的選項清單一致
+        for (long seed = 1; seed <= 30; seed++) {
+            Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed);
+            game.prepareGame();
+            while (game.getCurrentState() != GameState.FINISHED) {
+                switch (game.getCurrentState()) {
+                    case DISCARDING -> checkTurn(game);
+                    case RESPONDING -> checkResponses(game);
+                    default -> assertEquals(0, ActionGenerator.generate(game, buffer));
+                }
+                game.step();
+            }
+            assertEquals(0, ActionGenerator.generate(game, buffer));
+        }
+    }
+
+    private void checkTurn(Game game) {
+        Player player = game.getCurrentPlayer();
+        Set<Integer> ids = new HashSet<>();
+        for (Tile tile : player.getHand()) {
+            ids.add(tile.getId());
+        }
+        int count = ActionGenerator.generate(game, buffer);
+        assertEquals(ids.size() + player.getConcealedKongOptions().size(), count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(game.getCurrentPlayerIndex(), GameAction.seat(buffer[i]));
+            assertTrue(player.getTileCount(GameAction.tile(buffer[i])) > 0);
+        }
+    }
+
+    private void checkResponses(Game game) {
+        Tile tile = game.getLastDiscardedTile();
+        int discarder = game.getLastDiscardedByIndex();
+        int count = ActionGenerator.generate(game, buffer);
+        int[] wins = new int[4], kongs = new int[4], pongs = new int[4], chis = new int[4];
+        int passes = 0;
+        for (int i = 0; i < count; i++) {
+            int seat = GameAction.seat(buffer[i]);
+            assertEquals(tile.getId(), GameAction.tile(buffer[i]));
+            if (GameAction.type(buffer[i]) == GameAction.PASS) {
+                assertEquals(discarder, seat);
+                assertEquals(count - 1, i);  // 只有一個，排在最後
+                passes++;
+                continue;
+            }
+            assertNotEquals(discarder, seat);
+            switch (GameAction.type(buffer[i])) {
+                case GameAction.WIN -> wins[seat]++;
+                case GameAction.KONG -> kongs[seat]++;
+                case GameAction.PONG -> pongs[seat]++;
+                case GameAction.CHI -> chis[seat]++;
+                default -> fail("Unexpected action " + GameAction.toString(buffer[i]));
+            }
+        }
+        for (int i = 1; i <= 3; i++) {
+            int seat = (discarder + i) % 4;
+            Player player = game.getPlayers()[seat];
+            assertEquals(game.canWinWith(player, tile) ? 1 : 0, wins[seat]);
+            assertEquals(player.getKongIndices(tile).isEmpty() ? 0 : 1, kongs[seat]);
+            assertEquals(player.getPongIndices(tile).isEmpty() ? 0 : 1, pongs[seat]);
+            assertEquals(i == 1 ? player.getChiOptions(tile).size() : 0, chis[seat]);
+        }
+        assertEquals(count > 0 ? 1 : 0, passes);
+    }
+
+    @Test
+    public void testDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        hand(players[0], Tile.TileType.WAN, 1, 1, 1, 1, 2, 3, 3, 9);
+        hand(players[1], Tile.TileType.WAN, 2, 3, 5, 6);
+        hand(players[2], Tile.TileType.WAN, 4, 4, 4, 9);
+        Game game = new Game(players, GameListener.NONE, 1L);
+        game.restoreState(0, GameState.RESPONDING, FOUR_WAN, 0, -1, null, 1, false);
+        players[0].getDiscarded().add(FOUR_WAN);
+
+        long sum = 0;
+        for (int i = 0; i < 20_000; i++) {
+            sum += ActionGenerator.generate(game, buffer);
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            sum += ActionGenerator.generate(game, buffer);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(sum > 0);
+        // 呼叫十萬次不應有每次呼叫的配置（容許量測本身的少量配置）
+        assertTrue(allocated < 100_000, "allocated " + allocated + " bytes");
+    }
+}
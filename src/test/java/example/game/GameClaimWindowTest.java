@@ -0,0 +1,163 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameClaimWindowTest {
+    private static final Tile FOUR_WAN = TileCatalog.of(Tile.TileType.WAN, 4);
+
+    private Player[] players;
+    private Game game;
+
+    @BeforeEach
+    public void setUp() {
+        players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            players[i] = new Player("P" + i, false);
+        }
+    }
+
+    private static void hand(Player player, Tile.TileType type, int... numbers) {
+        player.getHand().clear();
+        for (int n : numbers) {
+            player.addTile(TileCatalog.of(type, n));
+        }
+        player.sortHand();
+    }
+
+    // 手上只剩一張東，另有五組碰：東就是胡牌
+    private static void waitingOnSingle(Player player, Tile.TileType type, int number) {
+        hand(player, type, number);
+        for (int i = 0; i < 5; i++) {
+            List<Tile> tiles = new ArrayList<>();
+            for (int k = 0; k < 3; k++) {
+                tiles.add(TileCatalog.of(Tile.TileType.TONG, i + 1));
+            }
+            player.getMelds().add(new Meld(MeldType.PONG, tiles));
+        }
+    }
+
+    // 0 號剛打出 4萬，開啟回應窗口
+    private void discardFourWan() {
+        game = new Game(players, GameListener.NONE, 1L);
+        for (int i = 1; i < 4; i++) {
+            if (players[i].getHand().isEmpty()) {
+                hand(players[i], Tile.TileType.TIAO, 1, 5, 9);
+            }
+        }
+        players[0].getDiscarded().add(FOUR_WAN);
+        game.restoreState(0, GameState.RESPONDING, FOUR_WAN, 0, -1, null, 1, false);
+        game.step();
+    }
+
+    @Test
+    public void testLowerPriorityWaitsForHigher() {
+        // 1 號（人類）可以吃，2 號（人類）可以碰：吃的宣告要等碰的人回應
+        players[1] = new Player("Chi", true);
+        players[2] = new Player("Pong", true);
+        hand(players[1], Tile.TileType.WAN, 2, 3, 9);
+        hand(players[2], Tile.TileType.WAN, 4, 4, 9);
+        discardFourWan();
+
+        ClaimWindow window = game.getClaimWindow();
+        assertTrue(window.isPending(1));
+        assertTrue(window.isPending(2));
+
+        game.handleResponse(1, "C0");
+        assertEquals(GameState.RESPONDING, game.getCurrentState());
+        assertTrue(game.isAwaitingHuman());
+
+        game.handleResponse(2, "SKIP");
+        assertEquals(1, players[1].getMelds().size());
+        assertEquals(MeldType.CHI, players[1].getMelds().get(0).getType());
+        assertTrue(players[0].getDiscarded().isEmpty());
+    }
+
+    @Test
+    public void testWinResolvesWithoutWaitingForLowerClaims() {
+        // 3 號（人類）胡牌，1 號（人類）還沒回應吃：胡牌立刻成立
+        players[1] = new Player("Chi", true);
+        players[3] = new Player("Win", true);
+        hand(players[1], Tile.TileType.WAN, 2, 3, 9);
+        waitingOnSingle(players[3], Tile.TileType.WAN, 4);
+        discardFourWan();
+
+        assertTrue(game.getClaimWindow().canWin(3));
+        game.handleResponse(3, "W");
+        assertEquals(GameState.FINISHED, game.getCurrentState());
+        assertSame(players[3], game.getWinner());
+        assertEquals(WinType.DISCARD, game.getWinType());
+    }
+
+    @Test
+    public void testComputerWinOutranksPendingHuman() {
+        // 1 號（人類）可以碰，2 號（電腦）胡牌：不必等人類回應
+        players[1] = new Player("Pong", true);
+        hand(players[1], Tile.TileType.WAN, 4, 4, 9);
+        waitingOnSingle(players[2], Tile.TileType.WAN, 4);
+        discardFourWan();
+
+        assertEquals(GameState.FINISHED, game.getCurrentState());
+        assertSame(players[2], game.getWinner());
+        assertFalse(game.getClaimWindow().isOpen());
+    }
+
+    @Test
+    public void testExpiredWindowPassesPendingSeats() {
+        players[1] = new Player("Chi", true);
+        hand(players[1], Tile.TileType.WAN, 2, 3, 9);
+        discardFourWan();
+
+        ClaimWindow window = game.getClaimWindow();
+        int serial = window.getSerial();
+        game.expireClaims(serial - 1);  // 過期的逾時不影響目前的窗口
+        assertTrue(window.isPending(1));
+
+        game.expireClaims(serial);
+        assertFalse(window.isPending(1));
+        assertTrue(players[1].getMelds().isEmpty());
+        assertNotEquals(GameState.RESPONDING, game.getCurrentState());
+    }
+
+    @Test
+    public void testPongWithThreeCopiesKeepsOne() {
+        // 2 號（人類）手上有三張 4萬：碰只拿兩張，第三張留在手上
+        players[2] = new Player("Pong", true);
+        hand(players[2], Tile.TileType.WAN, 4, 4, 4, 9);
+        discardFourWan();
+
+        game.handleResponse(2, "P");
+        Meld meld = players[2].getMelds().get(0);
+        assertEquals(MeldType.PONG, meld.getType());
+        assertEquals(3, meld.getTiles().size());
+        assertEquals(1, players[2].getTileCount(meld.getTiles().get(0).getId()));
+        assertEquals(0, game.getLedger().getViolations());
+    }
+
+    @Test
+    public void testUnavailableClaimCountsAsPass() {
+        players[1] = new Player("Chi", true);
+        hand(players[1], Tile.TileType.WAN, 2, 3, 9);
+        discardFourWan();
+
+        game.handleResponse(1, "P");  // 不能碰，視為不要
+        assertTrue(players[1].getMelds().isEmpty());
+        assertFalse(game.getClaimWindow().isOpen());
+    }
+
+    @Test
+    public void testCodecKeepsPendingWindow() {
+        players[1] = new Player("Chi", true);
+        hand(players[1], Tile.TileType.WAN, 2, 3, 9);
+        discardFourWan();
+
+        Game copy = GameCodec.decode(GameCodec.encode(game));
+        assertTrue(copy.getClaimWindow().isPending(1));
+        copy.handleResponse(1, "C0");
+        assertEquals(MeldType.CHI, copy.getPlayers()[1].getMelds().get(0).getType());
+    }
+}
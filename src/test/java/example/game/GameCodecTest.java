@@ -0,0 +1,138 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+public class GameCodecTest {
+
+    // 全電腦對局推進到指定回合數後停住
+    private Game playUntilTurn(long seed, int turns) {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed);
+        game.prepareGame();
+        while (game.getCurrentState() != GameState.FINISHED && game.getTurnCount() < turns) {
+            game.step();
+        }
+        return game;
+    }
+
+    private void assertSameTiles(List<Tile> expected, List<Tile> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+        }
+    }
+
+    @Test
+    public void testRoundTripMidGame() {
+        Game game = playUntilTurn(42L, 20);
+        byte[] data = GameCodec.encode(game);
+        Game copy = GameCodec.decode(data);
+
+        assertEquals(game.getCurrentState(), copy.getCurrentState());
+        assertEquals(game.getCurrentPlayer().getName(), copy.getCurrentPlayer().getName());
+        assertEquals(game.getTurnCount(), copy.getTurnCount());
+        assertEquals(game.getSeed(), copy.getSeed());
+        assertEquals(game.getRemainingTiles(), copy.getRemainingTiles());
+        assertEquals(game.getLastDiscardedTile(), copy.getLastDiscardedTile());
+        assertEquals(game.getLastDiscardedByIndex(), copy.getLastDiscardedByIndex());
+        for (int i = 0; i < game.getRemainingTiles(); i++) {
+            assertEquals(game.getWall().tileIdAt(i), copy.getWall().tileIdAt(i));
+        }
+
+        for (int seat = 0; seat < 4; seat++) {
+            Player original = game.getPlayers()[seat];
+            Player decoded = copy.getPlayers()[seat];
+            assertEquals(original.isHuman(), decoded.isHuman());
+            assertSameTiles(original.getHand(), decoded.getHand());
+            assertSameTiles(original.getFlowers(), decoded.getFlowers());
+            assertSameTiles(original.getDiscarded(), decoded.getDiscarded());
+            assertEquals(original.getMelds().size(), decoded.getMelds().size());
+            for (int m = 0; m < original.getMelds().size(); m++) {
+                assertEquals(original.getMelds().get(m).getType(), decoded.getMelds().get(m).getType());
+                assertSameTiles(original.getMelds().get(m).getTiles(), decoded.getMelds().get(m).getTiles());
+            }
+            assertArrayEquals(original.getTileCounts(), decoded.getTileCounts());
+        }
+
+        // 再編碼一次應得到完全相同的位元組
+        assertArrayEquals(data, GameCodec.encode(copy));
+    }
+
+    @Test
+    public void testEncodingIsCompact() {
+        Game game = playUntilTurn(7L, 0);
+        byte[] data = GameCodec.encode(game);
+        // 剛發完牌：牌山 + 手牌 + 花牌 = 144 張，加上標頭與玩家名稱
+        assertTrue(data.length < 300, "encoded size " + data.length);
+        assertTrue(data.length <= GameCodec.MAX_SIZE);
+    }
+
+    @Test
+    public void testFinishedGameRoundTrip() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 99L);
+        game.startGame();
+        Game copy = GameCodec.decode(GameCodec.encode(game));
+
+        assertEquals(GameState.FINISHED, copy.getCurrentState());
+        assertEquals(game.getEndType(), copy.getEndType());
+        assertEquals(game.getWinnerIndex(), copy.getWinnerIndex());
+    }
+
+    @Test
+    public void testWinTypeAndScoreSurviveRoundTrip() {
+        int wins = 0;
+        for (long seed = 1; seed <= 40; seed++) {
+            Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed);
+            for (int seat = 0; seat < 4; seat++) {
+                game.setDiscardPolicy(seat, new EfficiencyDiscardPolicy());  // 隨機打牌幾乎不會胡
+            }
+            game.startGame();
+            Game copy = GameCodec.decode(GameCodec.encode(game));
+            assertEquals(game.getWinType(), copy.getWinType());
+            if (game.getEndType() != EndType.WIN) {
+                assertNull(copy.getScore());
+                continue;
+            }
+            wins++;
+            assertNotNull(copy.getScore());
+            assertEquals(game.getScore().getTotal(), copy.getScore().getTotal());
+            assertEquals(game.getScore().getPoints(), copy.getScore().getPoints());
+        }
+        assertTrue(wins > 0);
+    }
+
+    @Test
+    public void testDecodedGameCanContinue() {
+        Game game = playUntilTurn(5L, 10);
+        Game copy = GameCodec.decode(GameCodec.encode(game));
+        copy.run();
+
+        assertEquals(GameState.FINISHED, copy.getCurrentState());
+        List<String> report = copy.checkTotalTiles();
+        assertTrue(report.contains("Total tiles: 144 (should be 144)"));
+        assertTrue(report.stream().noneMatch(line -> line.startsWith("Error")));
+    }
+
+    @Test
+    public void testReusableBuffer() {
+        Game game = playUntilTurn(11L, 5);
+        ByteBuffer buffer = ByteBuffer.allocate(GameCodec.MAX_SIZE);
+        GameCodec.encode(game, buffer);
+        int size = buffer.position();
+        buffer.flip();
+
+        Game copy = GameCodec.decode(buffer, GameListener.NONE);
+        assertEquals(size, buffer.position());
+        assertArrayEquals(GameCodec.encode(game), GameCodec.encode(copy));
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        byte[] data = GameCodec.encode(playUntilTurn(3L, 0));
+        data[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(data));
+    }
+}
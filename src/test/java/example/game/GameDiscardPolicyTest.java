@@ -0,0 +1,92 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.SplittableRandom;
+
+public class GameDiscardPolicyTest {
+
+    private static void add(Player player, Tile.TileType type, int... numbers) {
+        for (int n : numbers) {
+            player.addTile(TileCatalog.of(type, n));
+        }
+    }
+
+    @Test
+    public void testKeepsTenpaiAndDiscardsLoneHonor() {
+        // 123 456 789萬 + 東東東 + 中中 + 45條 + 北：打北維持聽 3條、6條
+        Player player = new Player("Test", false);
+        add(player, Tile.TileType.WAN, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        add(player, Tile.TileType.WIND, 1, 1, 1, 4);
+        add(player, Tile.TileType.DRAGON, 1, 1);
+        add(player, Tile.TileType.TIAO, 4, 5);
+        player.sortHand();
+
+        Game game = new Game();
+        int index = new EfficiencyDiscardPolicy().chooseDiscard(game, player, new SplittableRandom(1L));
+        assertEquals(TileCatalog.of(Tile.TileType.WIND, 4), player.getHand().get(index));
+    }
+
+    @Test
+    public void testPrefersMoreAcceptance() {
+        // 123 456 789萬 + 東東東 + 中中 + 5條 + 1筒 8筒：三張都是孤張，向聽數相同
+        // 邊張的 1筒 能搭的牌最少，打掉後留下的 5條、8筒 進張最多
+        Player player = new Player("Test", false);
+        add(player, Tile.TileType.WAN, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        add(player, Tile.TileType.WIND, 1, 1, 1);
+        add(player, Tile.TileType.DRAGON, 1, 1);
+        add(player, Tile.TileType.TIAO, 5);
+        add(player, Tile.TileType.TONG, 1, 8);
+        player.sortHand();
+
+        int index = new EfficiencyDiscardPolicy().chooseDiscard(new Game(), player, new SplittableRandom(1L));
+        assertEquals(TileCatalog.of(Tile.TileType.TONG, 1), player.getHand().get(index));
+    }
+
+    @Test
+    public void testNeverWorsensShanten() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 3L);
+        game.prepareGame();
+        EfficiencyDiscardPolicy policy = new EfficiencyDiscardPolicy();
+        for (Player player : game.getPlayers()) {
+            player.addTile(TileCatalog.get(0));  // 湊成 17 張
+            int[] counts = player.getTileCounts().clone();
+            int best = Integer.MAX_VALUE;
+            for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+                if (counts[id] > 0) {
+                    counts[id]--;
+                    best = Math.min(best, ShantenCalculator.shanten(counts, 0));
+                    counts[id]++;
+                }
+            }
+
+            int index = policy.chooseDiscard(game, player, new SplittableRandom(1L));
+            counts[player.getHand().get(index).getId()]--;
+            assertEquals(best, ShantenCalculator.shanten(counts, 0));
+        }
+    }
+
+    @Test
+    public void testCustomPolicyPerSeat() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 11L);
+        int[] calls = new int[1];
+        game.setDiscardPolicy(2, (g, player, random) -> {
+            calls[0]++;
+            return 0;
+        });
+        game.startGame();
+
+        assertTrue(calls[0] > 0);
+        assertSame(DiscardPolicy.RANDOM, game.getDiscardPolicy(0));
+    }
+
+    @Test
+    public void testEfficiencyWinsMoreThanRandom() {
+        TournamentSummary random = new TournamentRunner(5L, DiscardPolicy.RANDOM).run(200);
+        TournamentSummary efficient = new TournamentRunner(5L, new EfficiencyDiscardPolicy()).run(200);
+
+        assertTrue(efficient.getWins() > random.getWins() * 5);
+        assertTrue(efficient.getAverageTurns() < random.getAverageTurns());
+    }
+}
@@ -0,0 +1,158 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameEventLogTest {
+
+    @TempDir
+    Path dir;
+
+    // 以同一個 recorder 依序錄製多局，回傳錄製的對局
+    private List<Game> record(Path file, int bufferSize, long... seeds) throws IOException {
+        List<Game> games = new ArrayList<>();
+        try (EventLogWriter writer = new EventLogWriter(file, bufferSize)) {
+            GameRecorder recorder = new GameRecorder(writer);
+            for (long seed : seeds) {
+                Game game = new Game(Game.computerPlayers(), recorder, seed);
+                game.startGame();
+                games.add(game);
+            }
+            assertEquals(seeds.length, writer.getRecordCount());
+        }
+        return games;
+    }
+
+    private List<RecordedGame> readAll(Path file) throws IOException {
+        List<RecordedGame> records = new ArrayList<>();
+        try (EventLogReader reader = new EventLogReader(file)) {
+            RecordedGame record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path file = dir.resolve("games.log");
+        List<Game> games = record(file, 1 << 16, 1L, 2L, 3L, 4L, 5L);
+        List<RecordedGame> records = readAll(file);
+
+        assertEquals(games.size(), records.size());
+        for (int i = 0; i < games.size(); i++) {
+            Game game = games.get(i);
+            RecordedGame record = records.get(i);
+            assertEquals(game.getSeed(), record.getSeed());
+            assertEquals("Computer 2", record.getName(2));
+            assertFalse(record.isHuman(0));
+
+            List<GameEvent> events = record.events();
+            int draws = 0;
+            int discards = 0;
+            int melds = 0;
+            for (GameEvent event : events) {
+                switch (event.getType()) {
+                    case DRAW, REPLACEMENT_DRAW -> draws++;
+                    case DISCARD -> discards++;
+                    case CHI, PONG, KONG, CONCEALED_KONG -> melds++;
+                    default -> {
+                    }
+                }
+            }
+            // 每次摸牌都有記錄
+            assertEquals(TileCatalog.TOTAL_TILES - game.getRemainingTiles(), draws);
+
+            int expectedDiscards = 0;
+            int expectedMelds = 0;
+            for (Player player : game.getPlayers()) {
+                expectedMelds += player.getMelds().size();
+                expectedDiscards += player.getDiscarded().size();
+                for (Meld meld : player.getMelds()) {
+                    if (meld.getType() != MeldType.CONCEALED_KONG) {
+                        expectedDiscards++;  // 被吃碰槓走的牌
+                    }
+                }
+            }
+            if (game.getEndType() == EndType.WIN
+                    && events.get(events.size() - 2).getWinType() == WinType.DISCARD) {
+                expectedDiscards++;  // 被胡走的牌
+            }
+            assertEquals(expectedMelds, melds);
+            assertEquals(expectedDiscards, discards);
+
+            GameEvent last = events.get(events.size() - 1);
+            assertEquals(GameEventType.GAME_OVER, last.getType());
+            assertEquals(game.getEndType(), last.getEndType());
+        }
+    }
+
+    @Test
+    public void testDealPrecedesGameStarted() throws IOException {
+        Path file = dir.resolve("deal.log");
+        record(file, 1 << 16, 42L);
+        List<GameEvent> events = readAll(file).get(0).events();
+
+        int started = -1;
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i).getType() == GameEventType.GAME_STARTED) {
+                started = i;
+                break;
+            }
+        }
+        // 配牌：每人 16 張加上補花
+        assertTrue(started >= 64);
+        for (int i = 0; i < started; i++) {
+            GameEventType type = events.get(i).getType();
+            assertTrue(type == GameEventType.DRAW || type == GameEventType.REPLACEMENT_DRAW);
+        }
+        assertEquals(GameEventType.TURN, events.get(started + 1).getType());
+        assertEquals(0, events.get(started + 1).getSeat());
+    }
+
+    @Test
+    public void testSmallBufferAndAppend() throws IOException {
+        Path file = dir.resolve("small.log");
+        // 緩衝區比一局記錄還小，每一局都直接寫入
+        record(file, 64, 7L, 8L);
+        // 再次開啟時附加在原檔案之後，不重寫檔頭
+        record(file, 1 << 16, 9L);
+
+        List<RecordedGame> records = readAll(file);
+        assertEquals(3, records.size());
+        assertEquals(7L, records.get(0).getSeed());
+        assertEquals(9L, records.get(2).getSeed());
+    }
+
+    @Test
+    public void testNotAnEventLog() throws IOException {
+        Path file = dir.resolve("bad.log");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6});
+        assertThrows(IOException.class, () -> new EventLogReader(file));
+    }
+
+    @Test
+    public void testDelegateStillReceivesEvents() throws IOException {
+        Path file = dir.resolve("delegate.log");
+        int[] gameOvers = new int[1];
+        try (EventLogWriter writer = new EventLogWriter(file)) {
+            GameRecorder recorder = new GameRecorder(writer, new GameListener() {
+                @Override
+                public void onGameOver(Game game) {
+                    gameOvers[0]++;
+                }
+            });
+            new Game(Game.computerPlayers(), recorder, 3L).startGame();
+        }
+        assertEquals(1, gameOvers[0]);
+        assertEquals(1, readAll(file).size());
+    }
+}
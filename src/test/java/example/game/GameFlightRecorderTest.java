@@ -0,0 +1,75 @@
+package example.game;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class GameFlightRecorderTest {
+
+    // 錄製 play 執行期間的事件，回傳各類型的事件數；整局事件放在 "whole"
+    private static Map<String, Integer> record(Runnable play, Map<String, RecordedEvent> whole) throws Exception {
+        Path file = Files.createTempFile("mahjong", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("example.game.Game");
+            recording.enable("example.game.Turn");
+            recording.enable("example.game.ClaimDecision");
+            recording.enable("example.game.WinCheck");
+            recording.start();
+            play.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        Map<String, Integer> counts = new HashMap<>();
+        for (RecordedEvent event : events) {
+            counts.merge(event.getEventType().getName(), 1, Integer::sum);
+            if (event.getEventType().getName().equals("example.game.Game")) {
+                whole.put("whole", event);
+            }
+        }
+        return counts;
+    }
+
+    @Test
+    public void testEmitsGameEvents() throws Exception {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 11L);
+        Map<String, RecordedEvent> found = new HashMap<>();
+        Map<String, Integer> counts = record(game::startGame, found);
+        RecordedEvent whole = found.get("whole");
+
+        assertEquals(1, counts.getOrDefault("example.game.Game", 0));
+        assertEquals(game.getTurnCount(), counts.getOrDefault("example.game.Turn", 0));
+        assertTrue(counts.getOrDefault("example.game.WinCheck", 0) > 0);
+        assertNotNull(whole);
+        assertEquals(game.getEndType().name(), whole.getString("endType"));
+        assertEquals(game.getTurnCount(), whole.getInt("turns"));
+        assertEquals(11L, whole.getLong("seed"));
+    }
+
+    @Test
+    public void testSearchRolloutsEmitNothing() throws Exception {
+        // 0 號座位用搜尋：模擬對局的回合、胡牌檢查與鳴牌決策都不算在實際的這一局
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 17L);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            IsmctsAgent agent = new IsmctsAgent(20, 16, single);
+            game.setDiscardPolicy(0, agent);
+            game.setClaimPolicy(0, agent);
+            Map<String, Integer> counts = record(game::startGame, new HashMap<>());
+            assertEquals(1, counts.getOrDefault("example.game.Game", 0));
+            assertEquals(game.getTurnCount(), counts.getOrDefault("example.game.Turn", 0));
+        } finally {
+            single.shutdown();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+public class GameIsmctsTest {
+
+    // 推進到 0 號座位第 turns 次需要打牌
+    private Game gameAtSeatZeroDiscard(long seed, int turns) {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed);
+        for (int seat = 0; seat < 4; seat++) {
+            game.setDiscardPolicy(seat, new EfficiencyDiscardPolicy());
+        }
+        game.prepareGame();
+        int seen = 0;
+        while (game.getCurrentState() != GameState.FINISHED) {
+            if (game.getCurrentState() == GameState.DISCARDING && game.getCurrentPlayer() == game.getPlayers()[0]
+                    && ++seen == turns) {
+                return game;
+            }
+            game.step();
+        }
+        fail("game ended before the requested turn");
+        return null;
+    }
+
+    @Test
+    public void testUnknownTilesMatchHiddenCount() {
+        Game game = gameAtSeatZeroDiscard(3L, 3);
+        int[] unknown = IsmctsAgent.unknownTiles(game, 0);
+        int hidden = game.getRemainingTiles();
+        for (int seat = 1; seat < 4; seat++) {
+            hidden += game.getPlayers()[seat].getHand().size();
+        }
+        assertEquals(hidden, unknown.length);
+
+        // 自己的手牌不在看不到的牌裡面超過剩餘張數
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        for (int id : unknown) {
+            counts[id]++;
+        }
+        for (Tile tile : game.getPlayers()[0].getHand()) {
+            assertTrue(counts[tile.getId()] + game.getPlayers()[0].getTileCount(tile.getId())
+                    <= TileCatalog.copiesOf(tile.getId()));
+        }
+    }
+
+    @Test
+    public void testDeterminizedHandsHoldNoFlowers() {
+        Game game = gameAtSeatZeroDiscard(3L, 3);
+        byte[] base = GameCodec.encode(game);
+        int[] tiles = IsmctsAgent.unknownTiles(game, 0);
+        SplittableRandom random = new SplittableRandom(5L);
+        int earlyDraws = 0;
+        for (int i = 0; i < 100; i++) {
+            Game copy = IsmctsAgent.determinize(base, 0, tiles, random, GameListener.NONE);
+            for (Player player : copy.getPlayers()) {
+                for (Tile tile : player.getHand()) {
+                    assertFalse(TileCatalog.isFlower(tile.getId()), player.getName() + " holds " + tile);
+                }
+            }
+            assertEquals(game.getRemainingTiles(), copy.getRemainingTiles());
+            assertEquals(0, copy.getLedger().getViolations());
+
+            // 花牌留在手上時補花迴圈會把牌山摸光，模擬幾乎都以流局提早結束
+            int turn = copy.getTurnCount();
+            copy.run();
+            if (copy.getEndType() == EndType.DRAW && copy.getTurnCount() - turn < 8) {
+                earlyDraws++;
+            }
+        }
+        assertEquals(0, earlyDraws);
+    }
+
+    @Test
+    public void testTreeGrowsBelowRoot() {
+        Game game = gameAtSeatZeroDiscard(8L, 4);
+        Player player = game.getPlayers()[0];
+        int[] actions = EfficiencyDiscardPolicy.rankDiscards(game, player);
+        IsmctsAgent.Node root = IsmctsAgent.grow(GameCodec.encode(game), 0, IsmctsAgent.unknownTiles(game, 0),
+                actions, null, new SplittableRandom(4L), Long.MAX_VALUE, 300);
+
+        // 每次迭代都經過一個根節點動作；之後的決策也在樹內展開
+        int visits = 0;
+        for (IsmctsAgent.Node child : root.children) {
+            visits += child.visits;
+        }
+        assertEquals(300, visits);
+        assertEquals(actions.length, root.children.size());
+        assertTrue(root.depth() >= 3, "depth " + root.depth());
+    }
+
+    // 某個對手已經暗槓之後，0 號座位需要打牌的狀態（電腦玩家不會自己暗槓，以 apply 推進）
+    private Game gameAfterOpponentConcealedKong() {
+        int[] actions = new int[ActionGenerator.MAX_ACTIONS];
+        for (long seed = 1; seed <= 200; seed++) {
+            Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed);
+            game.prepareGame();
+            game.step();
+            SplittableRandom random = new SplittableRandom(seed);
+            boolean konged = false;
+            // 局末看不到的牌太少，抽樣的暗槓只剩實際那一種，只取前 20 回合
+            while (game.getCurrentState() != GameState.FINISHED && game.getTurnCount() <= 20) {
+                if (konged && game.getCurrentState() == GameState.DISCARDING && game.getCurrentPlayerIndex() == 0) {
+                    return game;
+                }
+                int count = ActionGenerator.generate(game, actions);
+                int action = actions[random.nextInt(count)];
+                for (int i = 0; i < count; i++) {
+                    if (GameAction.type(actions[i]) == GameAction.CONCEALED_KONG && GameAction.seat(actions[i]) != 0) {
+                        action = actions[i];
+                        konged = true;
+                    }
+                }
+                game.apply(action);
+            }
+        }
+        fail("no game with an opponent's concealed kong");
+        return null;
+    }
+
+    private static int concealedKongs(Game game, int seat) {
+        int count = 0;
+        for (Meld meld : game.getPlayers()[seat].getMelds()) {
+            if (meld.getType() == MeldType.CONCEALED_KONG) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testOpponentConcealedKongStaysHidden() {
+        Game game = gameAfterOpponentConcealedKong();
+        int[] unknown = IsmctsAgent.unknownTiles(game, 0);
+        int hidden = game.getRemainingTiles();
+        for (int seat = 1; seat < 4; seat++) {
+            hidden += game.getPlayers()[seat].getHand().size() + 4 * concealedKongs(game, seat);
+        }
+        assertEquals(hidden, unknown.length);
+
+        // 抽樣出來的暗槓是四張相同的非花牌，組數不變；牌種不一定是實際的那一種
+        byte[] base = GameCodec.encode(game);
+        SplittableRandom random = new SplittableRandom(9L);
+        boolean differs = false;
+        for (int i = 0; i < 50; i++) {
+            Game copy = IsmctsAgent.determinize(base, 0, unknown, random, GameListener.NONE);
+            assertEquals(0, copy.getLedger().getViolations());
+            for (int seat = 1; seat < 4; seat++) {
+                assertEquals(concealedKongs(game, seat), concealedKongs(copy, seat));
+                List<Meld> real = game.getPlayers()[seat].getMelds();
+                List<Meld> sampled = copy.getPlayers()[seat].getMelds();
+                for (int m = 0; m < sampled.size(); m++) {
+                    if (sampled.get(m).getType() != MeldType.CONCEALED_KONG) {
+                        continue;
+                    }
+                    List<Tile> tiles = sampled.get(m).getTiles();
+                    assertEquals(4, tiles.size());
+                    assertFalse(TileCatalog.isFlower(tiles.get(0).getId()));
+                    for (Tile tile : tiles) {
+                        assertSame(tiles.get(0), tile);
+                    }
+                    differs |= tiles.get(0) != real.get(m).getTiles().get(0);
+                }
+            }
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    public void testDiscardIsValidAndDeterministic() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            IsmctsAgent agent = new IsmctsAgent(60_000, 60, single);
+            Game first = gameAtSeatZeroDiscard(8L, 4);
+            Game second = gameAtSeatZeroDiscard(8L, 4);
+            Player player = first.getPlayers()[0];
+
+            int index = agent.chooseDiscard(first, player, new SplittableRandom(1L));
+            assertTrue(index >= 0 && index < player.getHand().size());
+            assertEquals(index, agent.chooseDiscard(second, second.getPlayers()[0], new SplittableRandom(1L)));
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void testSearchLeavesGameUntouched() {
+        Game game = gameAtSeatZeroDiscard(21L, 2);
+        byte[] before = GameCodec.encode(game);
+        new IsmctsAgent(50, 40, ForkJoinPool.commonPool())
+                .chooseDiscard(game, game.getPlayers()[0], new SplittableRandom(2L));
+        assertArrayEquals(before, GameCodec.encode(game));
+    }
+
+    @Test
+    public void testRespectsTimeBudget() {
+        Game game = gameAtSeatZeroDiscard(5L, 2);
+        long start = System.nanoTime();
+        new IsmctsAgent(100).chooseDiscard(game, game.getPlayers()[0], new SplittableRandom(3L));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        // 最後一次模擬可能超過預算一點點
+        assertTrue(elapsedMillis < 2_000, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void testAgentPlaysFullGame() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 17L);
+        IsmctsAgent agent = new IsmctsAgent(20, 16, ForkJoinPool.commonPool());
+        game.setDiscardPolicy(0, agent);
+        game.setClaimPolicy(0, agent);
+        for (int seat = 1; seat < 4; seat++) {
+            game.setDiscardPolicy(seat, new EfficiencyDiscardPolicy());
+            game.setClaimPolicy(seat, new EfficiencyClaimPolicy());
+        }
+        game.startGame();
+
+        assertEquals(GameState.FINISHED, game.getCurrentState());
+        assertTrue(game.checkTotalTiles().stream().noneMatch(line -> line.startsWith("Error")));
+    }
+
+    @Test
+    public void testEfficiencyClaimPolicy() {
+        // 中中 + 其他孤張：碰中讓向聽數前進
+        Player player = new Player("Test", false);
+        player.addTile(TileCatalog.of(Tile.TileType.DRAGON, 1));
+        player.addTile(TileCatalog.of(Tile.TileType.DRAGON, 1));
+        int[] singles = {1, 4, 7};
+        for (Tile.TileType type : new Tile.TileType[]{Tile.TileType.WAN, Tile.TileType.TONG, Tile.TileType.TIAO}) {
+            for (int n : singles) {
+                player.addTile(TileCatalog.of(type, n));
+            }
+        }
+        for (int n = 1; n <= 4; n++) {
+            player.addTile(TileCatalog.of(Tile.TileType.WIND, n));
+        }
+        player.addTile(TileCatalog.of(Tile.TileType.DRAGON, 2));
+        player.addTile(TileCatalog.of(Tile.TileType.DRAGON, 3));
+        player.sortHand();
+
+        ClaimPolicy policy = new EfficiencyClaimPolicy();
+        assertTrue(policy.shouldClaim(new Game(), player, MeldType.PONG,
+                TileCatalog.of(Tile.TileType.DRAGON, 1), new SplittableRandom(1L)));
+    }
+}
@@ -0,0 +1,68 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameListenerTest {
+
+    @Test
+    public void testHeadlessGameWritesNothing() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        try {
+            Game game = new Game();
+            game.startGame();
+            if (game.getCurrentState() == GameState.DISCARDING) {
+                game.humanDiscard(0);
+            }
+        } finally {
+            System.setOut(original);
+        }
+        assertEquals(0, captured.size(), "Headless game should not print");
+    }
+
+    @Test
+    public void testListenerReceivesEvents() {
+        List<String> events = new ArrayList<>();
+        GameListener listener = new GameListener() {
+            @Override
+            public void onGameStarted(Game game) {
+                events.add("start");
+            }
+
+            @Override
+            public void onTileDrawn(Player player, Tile tile, boolean replacement) {
+                events.add("draw");
+            }
+
+            @Override
+            public void onDiscardRequested(Player player) {
+                events.add("prompt");
+            }
+        };
+
+        Game game = new Game(listener);
+        game.startGame();
+
+        // 發牌至少 64 次摸牌，開局後輪到人類玩家打牌
+        assertTrue(events.stream().filter("draw"::equals).count() >= 64);
+        assertTrue(events.contains("start"));
+        if (game.getCurrentState() == GameState.DISCARDING) {
+            assertEquals("prompt", events.get(events.size() - 1));
+        }
+    }
+
+    @Test
+    public void testConsoleListenerPrintsGameStart() {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        Game game = new Game(new ConsoleGameListener(new PrintStream(captured)));
+        game.startGame();
+        assertTrue(captured.toString().contains("Game started!"));
+    }
+}
@@ -29,4 +29,57 @@ public class GameMeldTest {
         List<List<Integer>> options = player.getChiOptions(new Tile(Tile.TileType.WAN, 3));
         assertFalse(options.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTileCountsFollowHandChanges() {
+        Player player = new Player("Test", true);
+        Tile wan1 = new Tile(Tile.TileType.WAN, 1);
+        player.addTile(wan1);
+        player.addTile(wan1);
+        player.addTile(new Tile(Tile.TileType.WAN, 2));
+        assertEquals(2, player.getTileCount(wan1.getId()));
+
+        // 打牌與直接操作手牌列表都要同步張數
+        player.discardTile(0);
+        assertEquals(1, player.getTileCount(wan1.getId()));
+        player.getHand().remove(player.getHand().size() - 1);
+        assertEquals(0, player.getTileCount(new Tile(Tile.TileType.WAN, 2).getId()));
+        player.getHand().clear();
+        assertEquals(0, player.getTileCount(wan1.getId()));
+    }
+
+    @Test
+    public void testClaimChecksMatchIndices() {
+        Player player = new Player("Test", true);
+        player.addTile(new Tile(Tile.TileType.TONG, 4));
+        player.addTile(new Tile(Tile.TileType.TONG, 6));
+        player.addTile(new Tile(Tile.TileType.TONG, 7));
+        player.addTile(new Tile(Tile.TileType.DRAGON, 1));
+        player.addTile(new Tile(Tile.TileType.DRAGON, 1));
+        player.addTile(new Tile(Tile.TileType.DRAGON, 1));
+
+        // 5筒可以中吃(4-6)與後吃(6-7)
+        Tile tong5 = new Tile(Tile.TileType.TONG, 5);
+        assertTrue(player.canChi(tong5));
+        List<List<Integer>> options = player.getChiOptions(tong5);
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(1, 2)), options);
+
+        Tile red = new Tile(Tile.TileType.DRAGON, 1);
+        assertFalse(player.canChi(red));
+        assertTrue(player.canPong(red));
+        assertTrue(player.canKong(red));
+        assertEquals(Arrays.asList(3, 4, 5), player.getKongIndices(red));
+        assertTrue(player.getPongIndices(new Tile(Tile.TileType.TONG, 9)).isEmpty());
+    }
+
+    @Test
+    public void testConcealedKongOptions() {
+        Player player = new Player("Test", true);
+        for (int i = 0; i < 4; i++) {
+            player.addTile(new Tile(Tile.TileType.WIND, 2));
+        }
+        player.addTile(new Tile(Tile.TileType.WAN, 9));
+        assertTrue(player.hasConcealedKong());
+        assertEquals(List.of(Arrays.asList(0, 1, 2, 3)), player.getConcealedKongOptions());
+    }
+}
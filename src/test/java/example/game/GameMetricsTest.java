@@ -0,0 +1,137 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class GameMetricsTest {
+
+    private static Game play(GameMetrics metrics, long seed) {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed);
+        game.setMetrics(metrics);
+        game.startGame();
+        return game;
+    }
+
+    @Test
+    public void testCountsPhasesAndClaims() {
+        GameMetrics metrics = new GameMetrics(true);
+        long turns = 0;
+        long wins = 0;
+        long[] melds = new long[MeldType.values().length];
+        for (long seed = 1; seed <= 30; seed++) {
+            Game game = play(metrics, seed);
+            turns += game.getTurnCount();
+            if (game.getEndType() == EndType.WIN) {
+                wins++;
+            }
+            for (Player player : game.getPlayers()) {
+                for (Meld meld : player.getMelds()) {
+                    melds[meld.getType().ordinal()]++;
+                }
+            }
+        }
+
+        assertEquals(30, metrics.getGamesStarted());
+        assertEquals(30, metrics.getGamesFinished());
+        assertEquals(wins, metrics.getWins());
+        assertEquals(turns, metrics.getHistogram(GamePhase.TURN).getCount());
+        assertTrue(metrics.getHistogram(GamePhase.DRAW).getCount() >= turns);
+        assertTrue(metrics.getHistogram(GamePhase.WIN_CHECK).getCount() > 0);
+        assertTrue(metrics.getDiscards() > 0);
+        for (MeldType type : MeldType.values()) {
+            assertEquals(melds[type.ordinal()], metrics.getClaims(type), type.name());
+        }
+        assertEquals(metrics.getClaims(MeldType.PONG), metrics.getHistogram(GamePhase.PONG).getCount());
+
+        String dump = metrics.dump();
+        assertTrue(dump.contains("started=30"));
+        assertTrue(dump.contains("WIN_CHECK"));
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        GameMetrics metrics = new GameMetrics(false);
+        play(metrics, 7L);
+        assertEquals(0, metrics.getGamesStarted());
+        assertEquals(0, metrics.getHistogram(GamePhase.TURN).getCount());
+        assertEquals(0, metrics.getDiscards());
+
+        // 啟用與停用對結果沒有影響
+        Game plain = play(metrics, 7L);
+        Game measured = play(new GameMetrics(true), 7L);
+        assertArrayEquals(GameCodec.encode(plain), GameCodec.encode(measured));
+    }
+
+    @Test
+    public void testDecodedAndSimulatedGamesStayOutOfGlobal() {
+        GameMetrics global = GameMetrics.global();
+        boolean wasEnabled = global.isEnabled();
+        global.setEnabled(true);
+        try {
+            Game game = new Game(Game.computerPlayers(), GameListener.NONE, 11L);
+            game.setMetrics(new GameMetrics(false));
+            game.prepareGame();
+            for (int i = 0; i < 12 && game.getCurrentState() != GameState.FINISHED; i++) {
+                game.step();
+            }
+            long started = global.getGamesStarted();
+            long finished = global.getGamesFinished();
+            long discards = global.getDiscards();
+
+            // 解碼後跑完整局，以及搜尋用的模擬對局
+            Game copy = GameCodec.decode(GameCodec.encode(game));
+            assertSame(GameMetrics.disabled(), copy.getMetrics());
+            copy.run();
+            byte[] base = GameCodec.encode(game);
+            int[] tiles = IsmctsAgent.unknownTiles(game, 0);
+            SplittableRandom random = new SplittableRandom(3L);
+            for (int i = 0; i < 20; i++) {
+                IsmctsAgent.determinize(base, 0, tiles, random, GameListener.NONE).run();
+            }
+
+            assertEquals(started, global.getGamesStarted());
+            assertEquals(finished, global.getGamesFinished());
+            assertEquals(discards, global.getDiscards());
+
+            GameMetrics.disabled().setEnabled(true);
+            assertFalse(GameMetrics.disabled().isEnabled());
+        } finally {
+            global.setEnabled(wasEnabled);
+        }
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(1_000_000);
+        assertEquals(100, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        long p50 = histogram.getPercentileNanos(0.5);
+        assertTrue(p50 >= 1_000 && p50 < 2_048, "p50=" + p50);
+        assertEquals(1_000_000, histogram.getPercentileNanos(1.0));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(0.99));
+    }
+
+    @Test
+    public void testRegisteredAsMBean() throws Exception {
+        GameMetrics.registerGlobal();
+        GameMetrics.registerGlobal();  // 重複註冊不會失敗
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(GameMetrics.OBJECT_NAME);
+        assertTrue(server.isRegistered(name));
+        assertEquals(GameMetrics.global().isEnabled(), server.getAttribute(name, "Enabled"));
+        assertNotNull(server.getAttribute(name, "PhaseP99Micros"));
+        assertNotNull(server.invoke(name, "dump", null, null));
+    }
+}
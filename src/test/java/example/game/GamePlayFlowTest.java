@@ -92,4 +92,34 @@ public class GamePlayFlowTest {
         assertTrue(currentRound > 0, "Game should complete at least one round");
         assertTrue(game.getRemainingTiles() < 144, "Some tiles should be used");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStepByStepComputerGame() {
+        // 全電腦對局可以一步一步推進，每一步之間都能暫停
+        Game computerGame = new Game(Game.computerPlayers(), GameListener.NONE, 3L);
+        computerGame.prepareGame();
+        assertEquals(GameState.DRAWING, computerGame.getCurrentState());
+
+        int steps = 0;
+        while (computerGame.step()) {
+            steps++;
+            assertTrue(steps < 10_000, "Game should finish");
+        }
+        assertEquals(GameState.FINISHED, computerGame.getCurrentState());
+
+        // 逐步執行與一次跑完的結果相同
+        Game sameSeed = new Game(Game.computerPlayers(), GameListener.NONE, 3L);
+        sameSeed.startGame();
+        assertEquals(computerGame.getTurnCount(), sameSeed.getTurnCount());
+        assertEquals(computerGame.getWinnerIndex(), sameSeed.getWinnerIndex());
+    }
+
+    @Test
+    public void testWaitsForHumanInput() {
+        // 開局後停在人類玩家打牌（或已自摸結束）
+        if (game.getCurrentState() != GameState.FINISHED) {
+            assertTrue(game.isAwaitingHuman());
+            assertFalse(game.step());
+        }
+    }
+}
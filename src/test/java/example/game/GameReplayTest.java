@@ -0,0 +1,133 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameReplayTest {
+
+    @TempDir
+    Path dir;
+
+    // 錄製一局，同時在每個回合開始時記下引擎的編碼狀態
+    private RecordedGame record(long seed, List<byte[]> turnStates, Game[] played) throws IOException {
+        return record(seed, turnStates, played, DiscardPolicy.RANDOM);
+    }
+
+    private RecordedGame record(long seed, List<byte[]> turnStates, Game[] played,
+                                DiscardPolicy policy) throws IOException {
+        Path file = dir.resolve("game-" + seed + ".log");
+        try (EventLogWriter writer = new EventLogWriter(file)) {
+            GameRecorder recorder = new GameRecorder(writer, new GameListener() {
+                @Override
+                public void onTurnStarted(Game game, Player player) {
+                    turnStates.add(GameCodec.encode(game));
+                }
+            });
+            played[0] = new Game(Game.computerPlayers(), recorder, seed);
+            for (int seat = 0; seat < 4; seat++) {
+                played[0].setDiscardPolicy(seat, policy);
+            }
+            played[0].startGame();
+        }
+        try (EventLogReader reader = new EventLogReader(file)) {
+            return reader.next();
+        }
+    }
+
+    private List<Integer> turnEventIndices(GameReplayer replayer) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < replayer.getEventCount(); i++) {
+            if (replayer.getEvent(i).getType() == GameEventType.TURN) {
+                indices.add(i + 1);  // TURN 事件套用之後
+            }
+        }
+        return indices;
+    }
+
+    @Test
+    public void testFinalStateMatchesEngine() throws IOException {
+        for (long seed = 1; seed <= 20; seed++) {
+            Game[] played = new Game[1];
+            RecordedGame record = record(seed, new ArrayList<>(), played);
+            GameReplayer replayer = new GameReplayer(record);
+            assertArrayEquals(GameCodec.encode(played[0]), GameCodec.encode(replayer.finalGame()),
+                    "seed " + seed);
+        }
+    }
+
+    @Test
+    public void testReplayedWinKeepsWinTypeAndScore() throws IOException {
+        int wins = 0;
+        for (long seed = 1; seed <= 30; seed++) {
+            Game[] played = new Game[1];
+            RecordedGame record = record(seed, new ArrayList<>(), played, new EfficiencyDiscardPolicy());
+            Game replayed = new GameReplayer(record).finalGame();
+            assertEquals(played[0].getWinType(), replayed.getWinType(), "seed " + seed);
+            assertEquals(0, replayed.getLedger().getViolations());
+            assertTrue(replayed.checkTotalTiles().stream().noneMatch(line -> line.startsWith("Error")));
+            if (played[0].getEndType() == EndType.WIN) {
+                wins++;
+                assertEquals(played[0].getScore().getPoints(), replayed.getScore().getPoints(), "seed " + seed);
+            }
+        }
+        assertTrue(wins > 0);
+    }
+
+    @Test
+    public void testEveryTurnMatchesEngine() throws IOException {
+        List<byte[]> turnStates = new ArrayList<>();
+        RecordedGame record = record(77L, turnStates, new Game[1]);
+        GameReplayer replayer = new GameReplayer(record, 8);
+
+        List<Integer> turns = turnEventIndices(replayer);
+        assertEquals(turnStates.size(), turns.size());
+        for (int t = 0; t < turns.size(); t++) {
+            assertArrayEquals(turnStates.get(t), GameCodec.encode(replayer.gameAt(turns.get(t))),
+                    "turn " + (t + 1));
+        }
+    }
+
+    @Test
+    public void testSeekMatchesSequentialReplay() throws IOException {
+        RecordedGame record = record(5L, new ArrayList<>(), new Game[1]);
+        GameReplayer sequential = new GameReplayer(record, Integer.MAX_VALUE);
+        GameReplayer seeking = new GameReplayer(record);
+
+        // 倒著跳，確認與從頭套用的結果相同
+        for (int i = seeking.getEventCount(); i >= 0; i -= 7) {
+            assertArrayEquals(GameCodec.encode(sequential.gameAt(i)), GameCodec.encode(seeking.gameAt(i)),
+                    "event " + i);
+        }
+    }
+
+    @Test
+    public void testStartOfGame() throws IOException {
+        RecordedGame record = record(9L, new ArrayList<>(), new Game[1]);
+        GameReplayer replayer = new GameReplayer(record);
+
+        Game start = replayer.gameAt(0);
+        assertEquals(GameState.WAITING, start.getCurrentState());
+        assertEquals(144, start.getRemainingTiles());
+        assertEquals(9L, start.getSeed());
+        assertThrows(IndexOutOfBoundsException.class, () -> replayer.gameAt(replayer.getEventCount() + 1));
+    }
+
+    @Test
+    public void testReplayedGameCanContinue() throws IOException {
+        RecordedGame record = record(13L, new ArrayList<>(), new Game[1]);
+        GameReplayer replayer = new GameReplayer(record);
+        List<Integer> turns = turnEventIndices(replayer);
+
+        // 從中途的回合開始另一條分支
+        Game branch = replayer.gameAt(turns.get(turns.size() / 2));
+        branch.run();
+        assertEquals(GameState.FINISHED, branch.getCurrentState());
+        assertTrue(branch.checkTotalTiles().stream().noneMatch(line -> line.startsWith("Error")));
+    }
+}
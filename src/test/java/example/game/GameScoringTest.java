@@ -0,0 +1,152 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameScoringTest {
+
+    private static void add(Player player, Tile.TileType type, int... numbers) {
+        for (int n : numbers) {
+            player.addTile(TileCatalog.of(type, n));
+        }
+    }
+
+    private static Meld meld(MeldType type, Tile.TileType tileType, int... numbers) {
+        List<Tile> tiles = new ArrayList<>();
+        for (int n : numbers) {
+            tiles.add(TileCatalog.of(tileType, n));
+        }
+        return new Meld(type, tiles);
+    }
+
+    private static Score score(Player player, int seat, WinType winType) {
+        return ScoreCalculator.score(player.getTileCounts(), player.getMelds(), player.getFlowers(), seat, winType);
+    }
+
+    @Test
+    public void testConcealedSelfDrawAllChows() {
+        // 123 456 789萬 + 234 567筒 + 55條：門清自摸，自摸不算平胡
+        Player player = new Player("Test", false);
+        add(player, Tile.TileType.WAN, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        add(player, Tile.TileType.TONG, 2, 3, 4, 5, 6, 7);
+        add(player, Tile.TileType.TIAO, 5, 5);
+
+        Score selfDrawn = score(player, 1, WinType.SELF_DRAW);
+        assertTrue(selfDrawn.has(ScoringPattern.SELF_DRAW));
+        assertTrue(selfDrawn.has(ScoringPattern.CONCEALED));
+        assertTrue(selfDrawn.has(ScoringPattern.CONCEALED_SELF_DRAW));
+        assertFalse(selfDrawn.has(ScoringPattern.ALL_CHOWS));
+        assertEquals(3, selfDrawn.getTotal());
+
+        // 胡別人打出的牌：門清 + 平胡
+        Score discard = score(player, 1, WinType.DISCARD);
+        assertEquals(1 + 2, discard.getTotal());
+        assertTrue(discard.has(ScoringPattern.ALL_CHOWS));
+    }
+
+    @Test
+    public void testFullFlushAmbiguousBlockAsPongs() {
+        // 111222333 444 777 99萬：111222333 拆成刻子才能胡碰碰胡
+        Player player = new Player("Test", false);
+        add(player, Tile.TileType.WAN, 1, 1, 1, 2, 2, 2, 3, 3, 3, 4, 4, 4, 7, 7, 7, 9, 9);
+
+        Score score = score(player, 2, WinType.DISCARD);
+        assertTrue(score.has(ScoringPattern.FULL_FLUSH));
+        assertTrue(score.has(ScoringPattern.ALL_PONGS));
+        assertFalse(score.has(ScoringPattern.ALL_CHOWS));
+        assertEquals(1 + 8 + 4, score.getTotal());
+    }
+
+    @Test
+    public void testFullFlushAmbiguousBlockAsChows() {
+        // 111222333 456 789 99萬：111222333 拆成三組 123 才能胡平胡
+        Player player = new Player("Test", false);
+        add(player, Tile.TileType.WAN, 1, 1, 1, 2, 2, 2, 3, 3, 3, 4, 5, 6, 7, 8, 9, 9, 9);
+
+        Score score = score(player, 2, WinType.DISCARD);
+        assertTrue(score.has(ScoringPattern.FULL_FLUSH));
+        assertTrue(score.has(ScoringPattern.ALL_CHOWS));
+        assertFalse(score.has(ScoringPattern.ALL_PONGS));
+        assertEquals(1 + 8 + 2, score.getTotal());
+    }
+
+    @Test
+    public void testAllHonors() {
+        // 座位 2（西）：東東東 南南南 西西西 中中中 白白白 + 發發，沒有數牌
+        Player player = new Player("Test", false);
+        add(player, Tile.TileType.WIND, 1, 1, 1, 2, 2, 2, 3, 3, 3);
+        add(player, Tile.TileType.DRAGON, 1, 1, 1, 3, 3, 3, 2, 2);
+
+        Score score = score(player, 2, WinType.DISCARD);
+        assertTrue(score.has(ScoringPattern.ALL_HONORS));
+        assertFalse(score.has(ScoringPattern.HALF_FLUSH));
+        assertFalse(score.has(ScoringPattern.FULL_FLUSH));
+        assertTrue(score.has(ScoringPattern.ALL_PONGS));
+        assertEquals(2, score.getCount(ScoringPattern.DRAGON_TRIPLET));
+        assertEquals(1, score.getCount(ScoringPattern.SEAT_WIND));
+        assertEquals(1, score.getCount(ScoringPattern.ROUND_WIND));
+        assertEquals(1 + 16 + 4 + 2 + 1 + 1, score.getTotal());
+    }
+
+    @Test
+    public void testHalfFlushHonorsAndKongs() {
+        // 座位 1（南）：碰中、明槓南、暗槓東 + 123 789萬 + 發發發 + 白白
+        Player player = new Player("Test", false);
+        player.getMelds().add(meld(MeldType.PONG, Tile.TileType.DRAGON, 1, 1, 1));
+        player.getMelds().add(meld(MeldType.KONG, Tile.TileType.WIND, 2, 2, 2, 2));
+        player.getMelds().add(meld(MeldType.CONCEALED_KONG, Tile.TileType.WIND, 1, 1, 1, 1));
+        add(player, Tile.TileType.WAN, 1, 2, 3, 7, 8, 9);
+        add(player, Tile.TileType.DRAGON, 2, 2, 2, 3, 3);
+
+        Score score = score(player, 1, WinType.KONG_REPLACEMENT);
+        assertEquals(1, score.getCount(ScoringPattern.SELF_DRAW));
+        assertFalse(score.has(ScoringPattern.CONCEALED));
+        assertEquals(1, score.getCount(ScoringPattern.HALF_FLUSH));
+        assertEquals(2, score.getCount(ScoringPattern.DRAGON_TRIPLET));
+        assertEquals(1, score.getCount(ScoringPattern.SEAT_WIND));   // 南
+        assertEquals(1, score.getCount(ScoringPattern.ROUND_WIND));  // 東
+        assertEquals(1, score.getCount(ScoringPattern.KONG));
+        assertEquals(1, score.getCount(ScoringPattern.CONCEALED_KONG));
+        assertFalse(score.has(ScoringPattern.ALL_PONGS));
+        assertEquals(1 + 4 + 2 + 1 + 1 + 1 + 2, score.getTotal());
+    }
+
+    @Test
+    public void testFlowers() {
+        // 座位 0：春、梅為正花；春夏秋冬湊成花槓
+        Player player = new Player("Test", false);
+        for (int i = 0; i < 4; i++) {
+            player.getFlowers().add(TileCatalog.get(TileCatalog.FLOWER_BASE + i));
+        }
+        player.getFlowers().add(TileCatalog.get(TileCatalog.FLOWER_BASE + 4));
+        add(player, Tile.TileType.WAN, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        add(player, Tile.TileType.TONG, 2, 3, 4, 5, 6, 7);
+        add(player, Tile.TileType.TIAO, 5, 5);
+
+        Score score = score(player, 0, WinType.DISCARD);
+        assertEquals(2, score.getCount(ScoringPattern.SEAT_FLOWER));
+        assertEquals(1, score.getCount(ScoringPattern.FLOWER_SET));
+        assertFalse(score.has(ScoringPattern.ALL_CHOWS));  // 有花不算平胡
+        assertEquals(1 + 2 + 2, score.getTotal());
+    }
+
+    @Test
+    public void testGameRecordsScoreOnWin() {
+        for (long seed = 1; seed <= 50; seed++) {
+            Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed);
+            game.run();
+            if (game.getEndType() == EndType.WIN) {
+                Player winner = game.getWinner();
+                assertNotNull(game.getWinType());
+                assertEquals(ScoreCalculator.score(game, winner, game.getWinType()).getTotal(),
+                        game.getScore().getTotal());
+                assertTrue(game.getScore().getTotal() >= 0);
+            } else {
+                assertNull(game.getScore());
+            }
+        }
+    }
+}
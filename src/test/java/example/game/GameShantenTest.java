@@ -0,0 +1,115 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class GameShantenTest {
+
+    @Test
+    public void testCompleteHandIsMinusOne() {
+        // 123 456 789萬 + 123 456筒 + 中中 → 17 張胡牌
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        for (int id = 0; id < 15; id++) {
+            counts[id] = 1;
+        }
+        counts[TileCatalog.DRAGON_BASE] = 2;
+        assertTrue(WinTable.isWinningHand(counts, 0));
+        assertEquals(ShantenCalculator.WIN, ShantenCalculator.shanten(counts, 0));
+
+        // 打掉一張中變成聽牌
+        counts[TileCatalog.DRAGON_BASE] = 1;
+        assertEquals(0, ShantenCalculator.shanten(counts, 0));
+    }
+
+    @Test
+    public void testTenpaiWithMelds() {
+        // 兩組碰 + 手牌 345萬 678筒 白 + 等白單騎
+        Player player = new Player("Test", true);
+        player.getMelds().add(new Meld(MeldType.PONG, List.of(
+                TileCatalog.of(Tile.TileType.WIND, 1), TileCatalog.of(Tile.TileType.WIND, 1),
+                TileCatalog.of(Tile.TileType.WIND, 1))));
+        player.getMelds().add(new Meld(MeldType.PONG, List.of(
+                TileCatalog.of(Tile.TileType.WIND, 2), TileCatalog.of(Tile.TileType.WIND, 2),
+                TileCatalog.of(Tile.TileType.WIND, 2))));
+        for (Tile tile : Arrays.asList(
+                TileCatalog.of(Tile.TileType.WAN, 3), TileCatalog.of(Tile.TileType.WAN, 4),
+                TileCatalog.of(Tile.TileType.WAN, 5), TileCatalog.of(Tile.TileType.TONG, 6),
+                TileCatalog.of(Tile.TileType.TONG, 7), TileCatalog.of(Tile.TileType.TONG, 8),
+                TileCatalog.of(Tile.TileType.TIAO, 2), TileCatalog.of(Tile.TileType.TIAO, 2),
+                TileCatalog.of(Tile.TileType.TIAO, 2), TileCatalog.of(Tile.TileType.DRAGON, 3))) {
+            player.addTile(tile);
+        }
+        assertEquals(0, ShantenCalculator.shanten(player));
+
+        // 換掉單騎後離聽牌一步
+        player.getHand().remove(player.getHand().size() - 1);
+        player.addTile(TileCatalog.of(Tile.TileType.TIAO, 9));
+        player.getHand().remove(0);
+        player.addTile(TileCatalog.of(Tile.TileType.WAN, 9));
+        assertEquals(1, ShantenCalculator.shanten(player));
+    }
+
+    @Test
+    public void testAgreesWithWinAndWaits() {
+        // 3n+2 張：-1 當且僅當胡牌；3n+1 張且無四張相同：0 當且僅當有可胡的牌
+        Random random = new Random(7L);
+        for (int round = 0; round < 20_000; round++) {
+            int meldCount = random.nextInt(WinTable.REQUIRED_SETS + 1);
+            int size = (WinTable.REQUIRED_SETS - meldCount) * 3 + 1 + random.nextInt(2);
+            int[] counts = nearWinningHand(random, meldCount, size);
+            int shanten = ShantenCalculator.shanten(counts, meldCount);
+            assertTrue(shanten >= ShantenCalculator.WIN);
+            if (size % 3 == 2) {
+                assertEquals(WinTable.isWinningHand(counts, meldCount), shanten == ShantenCalculator.WIN);
+            } else if (Arrays.stream(counts).noneMatch(c -> c == 4)) {
+                boolean hasWait = false;
+                for (int id = 0; id < TileCatalog.KIND_COUNT && !hasWait; id++) {
+                    hasWait = WinTable.isWinningHandWith(counts, meldCount, id);
+                }
+                assertEquals(hasWait, shanten == 0, Arrays.toString(counts));
+            }
+        }
+    }
+
+    // 從胡牌牌型隨機換掉幾張牌，讓結果分布在 -1 到數向聽之間
+    private static int[] nearWinningHand(Random random, int meldCount, int size) {
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        int sets = 0;
+        while (sets < WinTable.REQUIRED_SETS - meldCount) {
+            int id = random.nextInt(TileCatalog.KIND_COUNT);
+            if (random.nextBoolean() && TileCatalog.isSuited(id) && id % 9 <= 6) {
+                if (counts[id] < 4 && counts[id + 1] < 4 && counts[id + 2] < 4) {
+                    counts[id]++;
+                    counts[id + 1]++;
+                    counts[id + 2]++;
+                    sets++;
+                }
+            } else if (counts[id] <= 1) {
+                counts[id] += 3;
+                sets++;
+            }
+        }
+        int total = sets * 3;
+        while (total < size) {
+            int id = random.nextInt(TileCatalog.KIND_COUNT);
+            if (counts[id] < 4) {
+                counts[id]++;
+                total++;
+            }
+        }
+        int swaps = random.nextInt(4);
+        for (int i = 0; i < swaps; i++) {
+            int from = random.nextInt(TileCatalog.KIND_COUNT);
+            int to = random.nextInt(TileCatalog.KIND_COUNT);
+            if (counts[from] > 0 && counts[to] < 4) {
+                counts[from]--;
+                counts[to]++;
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,55 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameTileCatalogTest {
+
+    @Test
+    public void testIdsAreDenseAndRoundTrip() {
+        // 每個 ID 都能還原成相同的種類與數字
+        for (int id = 0; id < TileCatalog.ID_COUNT; id++) {
+            Tile tile = TileCatalog.get(id);
+            assertEquals(id, tile.getId());
+            assertEquals(id, TileCatalog.idOf(tile.getType(), tile.getNumber()));
+        }
+        assertEquals(42, TileCatalog.ID_COUNT);
+        assertEquals(34, TileCatalog.KIND_COUNT);
+    }
+
+    @Test
+    public void testSharedInstances() {
+        // 共用實例與新建的牌視為相等
+        Tile shared = TileCatalog.of(Tile.TileType.TONG, 5);
+        assertSame(shared, TileCatalog.of(Tile.TileType.TONG, 5));
+        assertEquals(new Tile(Tile.TileType.TONG, 5), shared);
+        assertEquals(new Tile(Tile.TileType.TONG, 5).hashCode(), shared.hashCode());
+    }
+
+    @Test
+    public void testTileKinds() {
+        assertTrue(TileCatalog.isSuited(TileCatalog.idOf(Tile.TileType.TIAO, 9)));
+        assertFalse(TileCatalog.isSuited(TileCatalog.idOf(Tile.TileType.WIND, 1)));
+        assertTrue(TileCatalog.isFlower(TileCatalog.idOf(Tile.TileType.FLOWER, 8)));
+        assertEquals(4, TileCatalog.copiesOf(TileCatalog.idOf(Tile.TileType.DRAGON, 3)));
+        assertEquals(1, TileCatalog.copiesOf(TileCatalog.idOf(Tile.TileType.FLOWER, 1)));
+    }
+
+    @Test
+    public void testInvalidNumber() {
+        assertThrows(IllegalArgumentException.class, () -> TileCatalog.idOf(Tile.TileType.WIND, 5));
+    }
+
+    @Test
+    public void testWallUsesSharedTiles() {
+        // 開局牌山由共用牌組成，總數不變
+        Game game = new Game();
+        game.startGame();
+        for (Player player : game.getPlayers()) {
+            for (Tile tile : player.getHand()) {
+                assertSame(TileCatalog.get(tile.getId()), tile);
+            }
+        }
+    }
+}
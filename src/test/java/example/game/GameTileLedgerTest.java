@@ -0,0 +1,100 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameTileLedgerTest {
+
+    // 帳本的每個位置與實際狀態一致
+    private static void assertMatchesState(Game game) {
+        TileLedger ledger = game.getLedger();
+        Player[] players = game.getPlayers();
+        int[] wall = new int[TileCatalog.ID_COUNT];
+        for (int i = 0; i < game.getRemainingTiles(); i++) {
+            wall[game.getWall().tileIdAt(i)]++;
+        }
+        for (int id = 0; id < TileCatalog.ID_COUNT; id++) {
+            assertEquals(wall[id], ledger.count(TileLocation.WALL, 0, id));
+            for (int seat = 0; seat < 4; seat++) {
+                Player player = players[seat];
+                int id0 = id;
+                assertEquals(player.getTileCount(id), ledger.count(TileLocation.HAND, seat, id));
+                assertEquals(player.getFlowers().stream().filter(t -> t.getId() == id0).count(),
+                        ledger.count(TileLocation.FLOWER, seat, id));
+                assertEquals(player.getDiscarded().stream().filter(t -> t.getId() == id0).count(),
+                        ledger.count(TileLocation.DISCARD, seat, id));
+                assertEquals(player.getMelds().stream().flatMap(m -> m.getTiles().stream())
+                        .filter(t -> t.getId() == id0).count(), ledger.count(TileLocation.MELD, seat, id));
+            }
+            assertEquals(TileCatalog.copiesOf(id), ledger.total(id));
+        }
+    }
+
+    @Test
+    public void testStrictLedgerFollowsWholeGames() {
+        for (long seed = 1; seed <= 40; seed++) {
+            Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed);
+            game.getLedger().setStrict(true);
+            game.startGame();
+            assertEquals(0, game.getLedger().getViolations());
+            assertMatchesState(game);
+            assertTrue(game.checkTotalTiles().stream().noneMatch(line -> line.startsWith("Error")));
+        }
+    }
+
+    @Test
+    public void testLedgerRebuiltAfterDecode() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 5L);
+        game.prepareGame();
+        for (int i = 0; i < 25; i++) {
+            game.step();
+        }
+        Game copy = GameCodec.decode(GameCodec.encode(game));
+        assertMatchesState(copy);
+        copy.getLedger().setStrict(true);
+        copy.run();
+        assertMatchesState(copy);
+    }
+
+    @Test
+    public void testTotalCountsActualTiles() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 9L);
+        game.prepareGame();
+        assertTrue(game.checkTotalTiles().contains("Total tiles: 144 (should be 144)"));
+
+        // 直接從手牌拿走一張（帳本不知道）：總數反映實際狀態
+        game.getPlayers()[2].getHand().remove(0);
+        assertTrue(game.checkTotalTiles().contains("Total tiles: 143 (should be 144)"));
+    }
+
+    @Test
+    public void testMoveFromEmptyLocationIsReported() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 9L);
+        game.prepareGame();
+        int missing = TileCatalog.FLOWER_BASE;  // 花牌不會在手牌中
+        TileLedger ledger = game.getLedger();
+
+        ledger.move(game, missing, TileLocation.HAND, 0, TileLocation.DISCARD, 0);
+        assertEquals(1, ledger.getViolations());
+        assertTrue(ledger.getFirstViolation().contains("hand[0]"));
+        assertTrue(game.checkTotalTiles().stream().anyMatch(line -> line.startsWith("Error")));
+
+        ledger.setStrict(true);
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> ledger.move(game, missing, TileLocation.HAND, 1, TileLocation.DISCARD, 1));
+        assertTrue(e.getMessage().contains("hand[1]"));
+    }
+
+    @Test
+    public void testStrictModeStopsOnTamperedState() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 3L);
+        game.prepareGame();
+        game.getLedger().setStrict(true);
+        // 直接從手牌拿走一張而不經過帳本：下一次移動同一種牌時立即發現
+        Player player = game.getPlayers()[0];
+        Tile removed = player.getHand().remove(0);
+        assertThrows(IllegalStateException.class, () -> game.getLedger().move(game, removed.getId(),
+                TileLocation.HAND, 0, TileLocation.DISCARD, 0));
+    }
+}
@@ -0,0 +1,82 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class GameTournamentTest {
+
+    @Test
+    public void testComputerOnlyGameRunsToEnd() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE);
+        game.startGame();
+        assertEquals(GameState.FINISHED, game.getCurrentState());
+        assertNotNull(game.getEndType());
+        assertTrue(game.getTurnCount() > 0);
+    }
+
+    @Test
+    public void testPlayersMustBeFour() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Game(new Player[3], GameListener.NONE));
+    }
+
+    @Test
+    public void testTournamentSummaryTotals() {
+        TournamentSummary summary = new TournamentRunner().run(1000);
+        assertEquals(1000, summary.getGames());
+        assertEquals(summary.getGames(), summary.getWins() + summary.getDraws());
+        long seatWins = 0;
+        for (int seat = 0; seat < 4; seat++) {
+            seatWins += summary.getWinsBySeat(seat);
+        }
+        assertEquals(summary.getWins(), seatWins);
+        assertTrue(summary.getMinTurns() <= summary.getMaxTurns());
+    }
+
+    @Test
+    public void testSummaryMerge() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            TournamentRunner runner = new TournamentRunner(pool,
+                    index -> new Game(Game.computerPlayers(), GameListener.NONE));
+            TournamentSummary a = runner.run(50);
+            TournamentSummary b = runner.run(70);
+            long turns = a.getTotalTurns() + b.getTotalTurns();
+            int max = Math.max(a.getMaxTurns(), b.getMaxTurns());
+
+            a.merge(b);
+            assertEquals(120, a.getGames());
+            assertEquals(turns, a.getTotalTurns());
+            assertEquals(max, a.getMaxTurns());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSameSeedReplaysSameGame() {
+        Game first = new Game(Game.computerPlayers(), GameListener.NONE, 42L);
+        Game second = new Game(Game.computerPlayers(), GameListener.NONE, 42L);
+        first.startGame();
+        second.startGame();
+
+        assertEquals(first.getTurnCount(), second.getTurnCount());
+        assertEquals(first.getWinnerIndex(), second.getWinnerIndex());
+        for (int seat = 0; seat < 4; seat++) {
+            Player a = first.getPlayers()[seat];
+            Player b = second.getPlayers()[seat];
+            assertEquals(a.getHand(), b.getHand());
+            assertEquals(a.getDiscarded(), b.getDiscarded());
+        }
+    }
+
+    @Test
+    public void testSeededTournamentIsDeterministic() {
+        TournamentSummary a = new TournamentRunner(7L).run(600);
+        TournamentSummary b = new TournamentRunner(7L).run(600);
+        assertEquals(a.toString(), b.toString());
+        assertNotEquals(TournamentRunner.gameSeed(7L, 0), TournamentRunner.gameSeed(7L, 1));
+    }
+}
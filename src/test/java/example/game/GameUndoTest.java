@@ -0,0 +1,196 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class GameUndoTest {
+    private static final Tile FOUR_WAN = TileCatalog.of(Tile.TileType.WAN, 4);
+
+    private final int[] buffer = new int[ActionGenerator.MAX_ACTIONS];
+
+    // 帳本與目前的牌山、玩家狀態一致
+    private static void assertLedgerMatches(Game game) {
+        TileLedger fresh = new TileLedger();
+        fresh.rebuild(game.getWall(), game.getPlayers());
+        for (TileLocation location : TileLocation.values()) {
+            for (int seat = 0; seat < 4; seat++) {
+                for (int id = 0; id < TileCatalog.ID_COUNT; id++) {
+                    assertEquals(fresh.count(location, seat, id), game.getLedger().count(location, seat, id),
+                            location + "[" + seat + "] " + TileCatalog.get(id));
+                }
+            }
+        }
+        assertEquals(0, game.getLedger().getViolations());
+    }
+
+    @Test
+    public void testEveryActionUndoesExactly() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Game game = new Game(Game.computerPlayers(), GameListener.NONE, seed);
+            game.getLedger().setStrict(true);
+            game.prepareGame();
+            game.step();  // 第一次摸牌
+            byte[] initial = GameCodec.encode(game);
+            SplittableRandom random = new SplittableRandom(seed);
+            Deque<byte[]> history = new ArrayDeque<>();
+
+            while (game.getCurrentState() != GameState.FINISHED) {
+                int count = ActionGenerator.generate(game, buffer);
+                assertTrue(count > 0, "no actions in " + game.getCurrentState());
+                int[] actions = buffer.clone();
+                byte[] before = GameCodec.encode(game);
+                for (int i = 0; i < count; i++) {
+                    game.apply(actions[i]);
+                    game.undo();
+                    assertArrayEquals(before, GameCodec.encode(game), GameAction.toString(actions[i]));
+                    assertNull(game.getScore());
+                    assertNull(game.getWinType());
+                }
+                assertLedgerMatches(game);
+                history.push(before);
+                game.apply(actions[random.nextInt(count)]);
+            }
+            assertEquals(history.size(), game.getUndoDepth());
+            assertLedgerMatches(game);
+
+            // 一路撤銷回開局
+            while (!history.isEmpty()) {
+                game.undo();
+                assertArrayEquals(history.pop(), GameCodec.encode(game));
+            }
+            assertArrayEquals(initial, GameCodec.encode(game));
+            assertEquals(0, game.getUndoDepth());
+            assertLedgerMatches(game);
+        }
+    }
+
+    @Test
+    public void testApplyLeavesListenerAndMetricsUntouched() {
+        List<String> events = new ArrayList<>();
+        GameListener recorder = new GameListener() {
+            @Override
+            public void onTurnStarted(Game game, Player player) {
+                events.add("turn");
+            }
+
+            @Override
+            public void onTileDiscarded(Player player, Tile tile) {
+                events.add("discard");
+            }
+
+            @Override
+            public void onWin(Player player, WinType winType) {
+                events.add("win");
+            }
+
+            @Override
+            public void onGameOver(Game game) {
+                events.add("over");
+            }
+        };
+        GameMetrics metrics = new GameMetrics(true);
+        Game game = new Game(Game.computerPlayers(), recorder, 4L);
+        game.setMetrics(metrics);
+        game.prepareGame();
+        game.step();
+        int eventCount = events.size();
+        long discards = metrics.getDiscards();
+        long winChecks = metrics.getHistogram(GamePhase.WIN_CHECK).getCount();
+
+        // 一路 apply 到結束再全部撤銷
+        SplittableRandom random = new SplittableRandom(4L);
+        while (game.getCurrentState() != GameState.FINISHED) {
+            int count = ActionGenerator.generate(game, buffer);
+            game.apply(buffer[random.nextInt(count)]);
+        }
+        assertEquals(eventCount, events.size(), events.subList(eventCount, events.size()).toString());
+        assertEquals(1, metrics.getGamesStarted());
+        assertEquals(0, metrics.getGamesFinished());
+        assertEquals(discards, metrics.getDiscards());
+        assertEquals(winChecks, metrics.getHistogram(GamePhase.WIN_CHECK).getCount());
+        while (game.getUndoDepth() > 0) {
+            game.undo();
+        }
+        assertEquals(eventCount, events.size());
+        assertEquals(0, metrics.getGamesFinished());
+        assertSame(metrics, game.getMetrics());
+
+        // 撤銷後正常跑完，監聽者與計數器照常運作
+        game.run();
+        assertEquals(1, metrics.getGamesFinished());
+        assertEquals("over", events.get(events.size() - 1));
+    }
+
+    @Test
+    public void testUndoClaimRestoresDiscardPile() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            players[i] = new Player("P" + i, false);
+        }
+        players[1].addTile(TileCatalog.of(Tile.TileType.TIAO, 1));
+        for (int n : new int[]{9, 4, 4, 4}) {
+            players[2].addTile(TileCatalog.of(Tile.TileType.WAN, n));  // 刻意不排序
+        }
+        players[3].addTile(TileCatalog.of(Tile.TileType.TIAO, 9));
+        Game game = new Game(players, GameListener.NONE, 1L);
+        players[0].getDiscarded().add(FOUR_WAN);
+        game.restoreState(0, GameState.RESPONDING, FOUR_WAN, 0, -1, null, 1, false);
+        List<Tile> hand = new ArrayList<>(players[2].getHand());
+
+        game.apply(GameAction.of(GameAction.PONG, 2, FOUR_WAN.getId()));
+        assertEquals(GameState.DISCARDING, game.getCurrentState());
+        assertEquals(2, game.getCurrentPlayerIndex());
+        assertTrue(players[0].getDiscarded().isEmpty());
+        assertEquals(1, players[2].getMelds().size());
+        assertEquals(3, players[2].getMelds().get(0).getTiles().size());
+        assertEquals(1, players[2].getTileCount(FOUR_WAN.getId()));  // 第三張留在手上
+        assertEquals(2, players[2].getHand().size());
+
+        game.undo();
+        assertEquals(GameState.RESPONDING, game.getCurrentState());
+        assertEquals(List.of(FOUR_WAN), players[0].getDiscarded());
+        assertEquals(hand, players[2].getHand());
+        assertEquals(3, players[2].getTileCount(FOUR_WAN.getId()));
+        assertTrue(players[2].getMelds().isEmpty());
+        assertSame(FOUR_WAN, game.getLastDiscardedTile());
+        assertLedgerMatches(game);
+
+        // 沒有人要：換 1 號摸牌
+        int remaining = game.getRemainingTiles();
+        game.apply(GameAction.of(GameAction.PASS, 0, FOUR_WAN.getId()));
+        assertEquals(1, game.getCurrentPlayerIndex());
+        assertEquals(remaining - 1 - players[1].getFlowerCount(), game.getRemainingTiles());
+        game.undo();
+        assertEquals(remaining, game.getRemainingTiles());
+        assertEquals(1, players[1].getHand().size());
+        assertTrue(players[1].getFlowers().isEmpty());
+    }
+
+    @Test
+    public void testRejectsIllegalActions() {
+        Game game = new Game(Game.computerPlayers(), GameListener.NONE, 3L);
+        game.prepareGame();
+        game.step();
+        assertThrows(IllegalStateException.class, game::undo);
+        if (game.getCurrentState() != GameState.DISCARDING) {
+            return;
+        }
+        int seat = game.getCurrentPlayerIndex();
+        int missing = 0;
+        while (game.getCurrentPlayer().getTileCount(missing) > 0) {
+            missing++;
+        }
+        int action = GameAction.of(GameAction.DISCARD, seat, missing);
+        assertThrows(IllegalArgumentException.class, () -> game.apply(action));
+        int other = GameAction.of(GameAction.DISCARD, (seat + 1) % 4,
+                game.getCurrentPlayer().getHand().get(0).getId());
+        assertThrows(IllegalArgumentException.class, () -> game.apply(other));
+        assertEquals(0, game.getUndoDepth());
+    }
+}
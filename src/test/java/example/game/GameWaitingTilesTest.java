@@ -0,0 +1,73 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+
+public class GameWaitingTilesTest {
+
+    private static Player tenpaiPlayer() {
+        // 123 456 789萬 + 東東東 + 中中 + 45條 → 聽 3條、6條
+        Player player = new Player("Test", true);
+        for (int n = 1; n <= 9; n++) {
+            player.addTile(TileCatalog.of(Tile.TileType.WAN, n));
+        }
+        for (int i = 0; i < 3; i++) {
+            player.addTile(TileCatalog.of(Tile.TileType.WIND, 1));
+        }
+        player.addTile(TileCatalog.of(Tile.TileType.DRAGON, 1));
+        player.addTile(TileCatalog.of(Tile.TileType.DRAGON, 1));
+        player.addTile(TileCatalog.of(Tile.TileType.TIAO, 4));
+        player.addTile(TileCatalog.of(Tile.TileType.TIAO, 5));
+        return player;
+    }
+
+    @Test
+    public void testWaitingMask() {
+        Player player = tenpaiPlayer();
+        long expected = 1L << TileCatalog.idOf(Tile.TileType.TIAO, 3)
+                | 1L << TileCatalog.idOf(Tile.TileType.TIAO, 6);
+        assertEquals(expected, WaitingTiles.of(player));
+        assertTrue(WaitingTiles.isWinningTile(player, TileCatalog.of(Tile.TileType.TIAO, 6)));
+        assertFalse(WaitingTiles.isWinningTile(player, TileCatalog.of(Tile.TileType.TIAO, 7)));
+    }
+
+    @Test
+    public void testMaskRecomputedAfterHandChange() {
+        Player player = tenpaiPlayer();
+        assertNotEquals(0L, WaitingTiles.of(player));
+        assertTrue(player.isWaitingMaskCached());
+
+        // 換掉一張 5條後不再聽牌
+        player.getHand().remove(player.getHand().size() - 1);
+        assertFalse(player.isWaitingMaskCached());
+        player.addTile(TileCatalog.of(Tile.TileType.DRAGON, 3));
+        assertEquals(0L, WaitingTiles.of(player));
+
+        // 加入鳴牌組也會讓快取失效
+        player.getMelds().add(new Meld(MeldType.PONG, List.of(
+                TileCatalog.of(Tile.TileType.WIND, 2), TileCatalog.of(Tile.TileType.WIND, 2),
+                TileCatalog.of(Tile.TileType.WIND, 2))));
+        assertFalse(player.isWaitingMaskCached());
+    }
+
+    @Test
+    public void testMaskMatchesWinTable() {
+        Player player = tenpaiPlayer();
+        long mask = WaitingTiles.of(player);
+        for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+            boolean wins = player.getTileCount(id) < 4
+                    && WinTable.isWinningHandWith(player.getTileCounts(), 0, id);
+            assertEquals(wins, (mask >>> id & 1L) != 0, TileCatalog.get(id).toString());
+        }
+    }
+
+    @Test
+    public void testCanWinWithDiscard() {
+        Game game = new Game();
+        Player player = tenpaiPlayer();
+        assertTrue(game.canWinWith(player, TileCatalog.of(Tile.TileType.TIAO, 3)));
+        assertFalse(game.canWinWith(player, TileCatalog.of(Tile.TileType.WAN, 1)));
+    }
+}
@@ -0,0 +1,65 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.SplittableRandom;
+
+public class GameWallTest {
+
+    @Test
+    public void testFullDeck() {
+        Wall wall = new Wall();
+        wall.shuffle(new SplittableRandom(1L));
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        for (int i = 0; i < wall.remaining(); i++) {
+            counts[wall.tileIdAt(i)]++;
+        }
+        assertEquals(144, wall.remaining());
+        for (int id = 0; id < TileCatalog.ID_COUNT; id++) {
+            assertEquals(TileCatalog.copiesOf(id), counts[id]);
+        }
+    }
+
+    @Test
+    public void testDrawAndReplacementEnds() {
+        Wall wall = new Wall();
+        wall.shuffle(new SplittableRandom(2L));
+        int first = wall.tileIdAt(0);
+        int last = wall.tileIdAt(wall.remaining() - 1);
+
+        // 一般摸牌從頭端，補牌從尾端
+        assertEquals(first, wall.draw().getId());
+        assertEquals(last, wall.drawReplacement().getId());
+        assertEquals(142, wall.remaining());
+    }
+
+    @Test
+    public void testResetReusesOrder() {
+        Wall wall = new Wall();
+        wall.shuffle(new SplittableRandom(3L));
+        int first = wall.tileIdAt(0);
+        while (!wall.isEmpty()) {
+            wall.draw();
+        }
+        assertThrows(IllegalStateException.class, wall::draw);
+
+        wall.reset();
+        assertEquals(144, wall.remaining());
+        assertEquals(first, wall.draw().getId());
+    }
+
+    @Test
+    public void testGameReusesWall() {
+        Wall wall = new Wall();
+        Game first = new Game(Game.computerPlayers(), GameListener.NONE, 5L, wall);
+        first.startGame();
+        assertEquals(GameState.FINISHED, first.getCurrentState());
+
+        // 同一個牌山再開一局：重新洗牌並回到 144 張
+        Game second = new Game(Game.computerPlayers(), GameListener.NONE, 5L, wall);
+        assertEquals(144, second.getRemainingTiles());
+        second.startGame();
+        assertEquals(first.getTurnCount(), second.getTurnCount());
+    }
+}
@@ -0,0 +1,120 @@
+package example.game;
+
+import example.model.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+public class GameWinTableTest {
+
+    @Test
+    public void testSingleSuitPatterns() {
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        // 111 23：只能拆成 11 將 + 123
+        counts[0] = 3;
+        counts[1] = 1;
+        counts[2] = 1;
+        assertEquals(WinTable.SETS_WITH_PAIR, WinTable.flags(WinTable.suitKey(counts, 0)));
+        // 1 2 3 4 5 6：兩組順子
+        counts[0] = 1;
+        counts[3] = 1;
+        counts[4] = 1;
+        counts[5] = 1;
+        assertEquals(WinTable.SETS, WinTable.flags(WinTable.suitKey(counts, 0)));
+        // 1 2 4：無法拆解
+        assertEquals(0, WinTable.flags(WinTable.suitKey(new int[]{1, 1, 0, 1, 0, 0, 0, 0, 0}, 0)));
+    }
+
+    @Test
+    public void testHonorsMustBeTripletsOrPair() {
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        for (int n = 0; n < 9; n++) {
+            counts[n] = 1;
+        }
+        counts[TileCatalog.WIND_BASE] = 3;
+        counts[TileCatalog.DRAGON_BASE] = 3;
+        counts[TileCatalog.DRAGON_BASE + 1] = 2;
+        assertTrue(WinTable.isWinningHand(counts, 0));
+
+        // 單張字牌無法成組
+        counts[TileCatalog.DRAGON_BASE + 1] = 1;
+        assertFalse(WinTable.isWinningHand(counts, 0));
+        assertTrue(WinTable.isWinningHandWith(counts, 0, TileCatalog.DRAGON_BASE + 1));
+    }
+
+    @Test
+    public void testAgreesWithBacktrackingDetector() {
+        // 隨機產生手牌（含構造出的胡牌）並與回溯判定比對
+        Random random = new Random(20240601L);
+        int wins = 0;
+        for (int round = 0; round < 200_000; round++) {
+            int meldCount = random.nextInt(WinTable.REQUIRED_SETS + 1);
+            int[] counts = round % 2 == 0
+                    ? randomWinningHand(random, meldCount)
+                    : randomHand(random, (WinTable.REQUIRED_SETS - meldCount) * 3 + 2);
+            if (round % 4 == 0) {
+                // 擾動：換掉一張牌
+                int from = randomHeldTile(random, counts);
+                int to = random.nextInt(TileCatalog.KIND_COUNT);
+                if (counts[to] < 4) {
+                    counts[from]--;
+                    counts[to]++;
+                }
+            }
+            boolean expected = WinDetector.isWinningHand(counts, meldCount);
+            assertEquals(expected, WinTable.isWinningHand(counts, meldCount));
+            if (expected) {
+                wins++;
+            }
+        }
+        assertTrue(wins > 10_000, "Should cover many winning hands");
+    }
+
+    private static int[] randomHand(Random random, int size) {
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        int placed = 0;
+        while (placed < size) {
+            int id = random.nextInt(TileCatalog.KIND_COUNT);
+            if (counts[id] < 4) {
+                counts[id]++;
+                placed++;
+            }
+        }
+        return counts;
+    }
+
+    private static int[] randomWinningHand(Random random, int meldCount) {
+        int[] counts = new int[TileCatalog.ID_COUNT];
+        int sets = 0;
+        while (sets < WinTable.REQUIRED_SETS - meldCount) {
+            int id = random.nextInt(TileCatalog.KIND_COUNT);
+            if (random.nextBoolean() && TileCatalog.isSuited(id) && id % 9 <= 6) {
+                if (counts[id] < 4 && counts[id + 1] < 4 && counts[id + 2] < 4) {
+                    counts[id]++;
+                    counts[id + 1]++;
+                    counts[id + 2]++;
+                    sets++;
+                }
+            } else if (counts[id] <= 1) {
+                counts[id] += 3;
+                sets++;
+            }
+        }
+        while (true) {
+            int id = random.nextInt(TileCatalog.KIND_COUNT);
+            if (counts[id] <= 2) {
+                counts[id] += 2;
+                return counts;
+            }
+        }
+    }
+
+    private static int randomHeldTile(Random random, int[] counts) {
+        while (true) {
+            int id = random.nextInt(TileCatalog.KIND_COUNT);
+            if (counts[id] > 0) {
+                return id;
+            }
+        }
+    }
+}
@@ -332,4 +332,67 @@ public class GameWinTest {
         Game game = new Game();
         assertTrue(game.checkWin(player));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testWinRequiresSplittingTriplet() {
+        // 111萬 + 23萬 必須拆成 11萬(將) + 123萬，先拿刻子的做法會誤判
+        Player player = new Player("Test", true);
+        for (int i = 0; i < 3; i++) {
+            player.addTile(new Tile(Tile.TileType.WAN, 1));
+        }
+        player.addTile(new Tile(Tile.TileType.WAN, 2));
+        player.addTile(new Tile(Tile.TileType.WAN, 3));
+        for (int n = 4; n <= 9; n++) {
+            player.addTile(new Tile(Tile.TileType.TONG, n));
+        }
+        for (int n = 1; n <= 3; n++) {
+            player.addTile(new Tile(Tile.TileType.TIAO, n));
+        }
+        for (int i = 0; i < 3; i++) {
+            player.addTile(new Tile(Tile.TileType.WIND, 1));
+        }
+
+        Game game = new Game();
+        assertTrue(game.checkWin(player));
+    }
+
+    @Test
+    public void testWinWithTwoTripletsAndSequence() {
+        // 11123444萬：正確拆法是 11 將 + 123 + 444
+        Player player = new Player("Test", true);
+        for (int n : new int[]{1, 1, 1, 2, 3, 4, 4, 4}) {
+            player.addTile(new Tile(Tile.TileType.WAN, n));
+        }
+        for (int n = 1; n <= 9; n++) {
+            player.addTile(new Tile(Tile.TileType.TIAO, n));
+        }
+
+        Game game = new Game();
+        assertTrue(game.checkWin(player));
+    }
+
+    @Test
+    public void testWrongTileCountIsNotWin() {
+        // 張數不符 5 組 + 1 對的手牌不能胡
+        Player player = new Player("Test", true);
+        for (int n = 1; n <= 9; n++) {
+            player.addTile(new Tile(Tile.TileType.WAN, n));
+        }
+        player.addTile(new Tile(Tile.TileType.DRAGON, 1));
+        player.addTile(new Tile(Tile.TileType.DRAGON, 1));
+
+        Game game = new Game();
+        assertFalse(game.checkWin(player));
+    }
+
+    @Test
+    public void testWinCheckRestoresCounts() {
+        Player player = new Player("Test", true);
+        for (int n : new int[]{1, 1, 1, 2, 3}) {
+            player.addTile(new Tile(Tile.TileType.WAN, n));
+        }
+        int[] before = player.getTileCounts().clone();
+        WinDetector.isWinningHandWith(player.getTileCounts(), 4, TileCatalog.idOf(Tile.TileType.WAN, 4));
+        assertArrayEquals(before, player.getTileCounts());
+    }
+}
@@ -0,0 +1,87 @@
+package example.game;
+
+import example.model.TileCatalog;
+
+// 回溯式胡牌判定（測試用的參考實作，用來比對 WinTable 的查表結果）
+// 搜尋過程直接在傳入的陣列上增減張數，回傳前一定還原，不配置任何物件
+final class WinDetector {
+    private static final int REQUIRED_SETS = WinTable.REQUIRED_SETS;
+
+    private WinDetector() {
+    }
+
+    // 手牌張數 + 已鳴牌組數是否構成胡牌
+    static boolean isWinningHand(int[] counts, int meldCount) {
+        int setsNeeded = REQUIRED_SETS - meldCount;
+        if (setsNeeded < 0 || countTiles(counts) != setsNeeded * 3 + 2) {
+            return false;
+        }
+
+        // 依序嘗試每一種可當將的牌
+        for (int id = 0; id < TileCatalog.KIND_COUNT; id++) {
+            if (counts[id] >= 2) {
+                counts[id] -= 2;
+                boolean win = canFormSets(counts, 0);
+                counts[id] += 2;
+                if (win) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 加入一張牌後是否胡牌（用於檢查別人打出的牌）
+    static boolean isWinningHandWith(int[] counts, int meldCount, int extraId) {
+        counts[extraId]++;
+        boolean win = isWinningHand(counts, meldCount);
+        counts[extraId]--;
+        return win;
+    }
+
+    // 剩下的牌是否能全部拆成刻子或順子
+    private static boolean canFormSets(int[] counts, int start) {
+        int id = start;
+        while (id < TileCatalog.KIND_COUNT && counts[id] == 0) {
+            id++;
+        }
+        if (id == TileCatalog.KIND_COUNT) {
+            return true;
+        }
+
+        // 最小的一張牌只能當刻子或順子的開頭
+        if (counts[id] >= 3) {
+            counts[id] -= 3;
+            boolean ok = canFormSets(counts, id);
+            counts[id] += 3;
+            if (ok) {
+                return true;
+            }
+        }
+
+        if (TileCatalog.isSuited(id) && id % TileCatalog.SUIT_SIZE <= 6
+                && counts[id + 1] > 0 && counts[id + 2] > 0) {
+            counts[id]--;
+            counts[id + 1]--;
+            counts[id + 2]--;
+            boolean ok = canFormSets(counts, id);
+            counts[id]++;
+            counts[id + 1]++;
+            counts[id + 2]++;
+            return ok;
+        }
+        return false;
+    }
+
+    // 非花牌總張數；手上有花牌時回傳 -1（不可能胡）
+    private static int countTiles(int[] counts) {
+        int total = 0;
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0 && TileCatalog.isFlower(id)) {
+                return -1;
+            }
+            total += counts[id];
+        }
+        return total;
+    }
+}
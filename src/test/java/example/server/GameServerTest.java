@@ -0,0 +1,153 @@
+package example.server;
+
+import example.game.*;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class GameServerTest {
+
+    @Test
+    public void testHostsManyComputerTables() throws Exception {
+        try (TableHost host = new TableHost(2, 5000)) {
+            List<CompletableFuture<Game>> results = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                results.add(host.openComputerTable(i).result());
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get(60, TimeUnit.SECONDS);
+            for (CompletableFuture<Game> result : results) {
+                assertEquals(GameState.FINISHED, result.get().getCurrentState());
+            }
+            assertEquals(0, host.getOpenTables());
+            assertEquals(2000, host.getClosedTables());
+        }
+    }
+
+    @Test
+    public void testSameSeedSameResultAsSingleTable() throws Exception {
+        try (TableHost host = new TableHost(1, 10)) {
+            Game hosted = host.openComputerTable(42L).result().get(10, TimeUnit.SECONDS);
+            Game direct = new Game(Game.computerPlayers(), GameListener.NONE, 42L);
+            direct.startGame();
+            assertArrayEquals(GameCodec.encode(direct), GameCodec.encode(hosted));
+        }
+    }
+
+    @Test
+    public void testRejectsTablesOverLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (TableHost host = new TableHost(1, 1)) {
+            // 第一桌發牌時卡住，佔住唯一的名額
+            Table first = host.open(Game.computerPlayers(), new GameListener() {
+                @Override
+                public void onDealStarted(Game game) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, 1L);
+            assertNotNull(first);
+            assertNull(host.openComputerTable(2L));
+            assertEquals(1, host.getOpenTables());
+
+            release.countDown();
+            first.result().get(10, TimeUnit.SECONDS);
+            assertNotNull(host.openComputerTable(3L).result().get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testPlaysOverTcp() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (GameServer server = new GameServer(0, new TableHost(1, 4))) {
+                server.start();
+                try (Socket socket = new Socket("localhost", server.getPort());
+                     BufferedReader in = new BufferedReader(
+                             new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                     PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                    List<String> lines = new ArrayList<>();
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        lines.add(line);
+                        if (line.startsWith("PROMPT DISCARD")) {
+                            out.print("0\n");
+                        } else if (line.startsWith("PROMPT WIN")) {
+                            out.print("W\n");
+                        } else if (line.startsWith("PROMPT CLAIM")) {
+                            out.print("S\n");
+                        } else if (line.startsWith("OVER")) {
+                            break;
+                        }
+                        out.flush();
+                    }
+                    assertEquals("STARTED 0", lines.get(0));
+                    assertTrue(lines.get(1).startsWith("HAND "));
+                    assertTrue(lines.get(lines.size() - 1).startsWith("OVER"));
+                    assertTrue(lines.contains("TURN 0"));
+
+                    // 遊戲結束後可以再開一局
+                    out.print("NEW\n");
+                    out.flush();
+                    assertEquals("STARTED 0", in.readLine());
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testCloseWhileClientsDisconnect() {
+        // 連線剛斷開就關閉伺服器：selector 執行緒處理斷線時不可以丟出例外
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            for (int i = 0; i < 20; i++) {
+                AtomicReference<Throwable> failure = new AtomicReference<>();
+                GameServer server = new GameServer(0, new TableHost(1, 4));
+                Thread thread = server.start();
+                thread.setUncaughtExceptionHandler((t, e) -> failure.set(e));
+                try (Socket socket = new Socket("localhost", server.getPort());
+                     BufferedReader in = new BufferedReader(
+                             new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                    assertEquals("STARTED 0", in.readLine());
+                }
+                server.close();
+                thread.join();
+                assertNull(failure.get(), () -> "selector thread died: " + failure.get());
+            }
+        });
+    }
+
+    @Test
+    public void testUnansweredClaimsTimeOut() {
+        // 從不回應吃碰槓胡：逾時後視為不要，遊戲仍會結束
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (GameServer server = new GameServer(0, new TableHost(1, 4, 20))) {
+                server.start();
+                try (Socket socket = new Socket("localhost", server.getPort());
+                     BufferedReader in = new BufferedReader(
+                             new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                     PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = in.readLine()) != null && !line.startsWith("OVER")) {
+                        if (line.startsWith("PROMPT DISCARD")) {
+                            out.print("0\n");
+                            out.flush();
+                        }
+                    }
+                    assertNotNull(line);
+                }
+            }
+        });
+    }
+}